@@ -0,0 +1,145 @@
+package com.github.ants280.sudoku.game.solver;
+
+import com.github.ants280.sudoku.game.SectionType;
+import com.github.ants280.sudoku.game.SudokuBoard;
+import com.github.ants280.sudoku.game.SudokuBoardState;
+import com.github.ants280.sudoku.game.SudokuCell;
+import com.github.ants280.sudoku.game.SudokuValue;
+import com.github.ants280.sudoku.game.solver.plugins.LastPossibleValueInSectionSudokuSolverPlugin;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares ways of finding hidden singles. Each operation first resets the
+ * board to the same possible values, which the reset benchmark measures on
+ * its own.
+ *
+ * perCell is the search LastPossibleValueInSectionSudokuSolverPlugin used
+ * before it was built on SudokuCandidateKernel: for each possible value of
+ * each empty cell, the sections of the cell are scanned for another cell
+ * where the value is possible. plugin is the whole cost of a move of the
+ * plugin now, and kernel is the kernel finding every hidden single.
+ *
+ * The empty board has no hidden singles, so perCell scans every cell. The
+ * puzzle has hidden singles, and perCell and plugin stop at the first one,
+ * and set it.
+ *
+ * Run with: mvn -P jmh package && java -jar target/benchmarks.jar
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+public class HiddenSingleBenchmark
+{
+	@Param(
+			{
+				"{000000000000000000000000000000000000000000000000000000000000000000000000000000000}",
+				"{003070600000159020900000005700000010006040900040000006400000002070362000009080700}"
+			})
+	public String boardString;
+
+	private SudokuBoard board;
+	private BiConsumer<SudokuCell, SudokuValue> removeNearbyPossibleValuesConsumer;
+	private SudokuBoardState boardState;
+	private SudokuBoardState initialBoardState;
+	private SudokuSolverPlugin plugin;
+	private SudokuCandidateKernel kernel;
+	private int[] cellHiddenSingles;
+
+	@Setup
+	public void setup()
+	{
+		board = new SudokuBoard(boardString);
+		SudokuLogicSolver logicSolver = new SudokuLogicSolver(board, null);
+		logicSolver.initialize();
+		removeNearbyPossibleValuesConsumer
+				= logicSolver.removeNearbyPossibleValuesConsumer;
+
+		boardState = board.getBoardState();
+		initialBoardState = boardState.copy();
+		plugin = new LastPossibleValueInSectionSudokuSolverPlugin(
+				board,
+				null,
+				removeNearbyPossibleValuesConsumer);
+		kernel = new SudokuCandidateKernel();
+		cellHiddenSingles = new int[boardState.getCellCount()];
+	}
+
+	@Benchmark
+	public SudokuBoardState reset()
+	{
+		boardState.copyFrom(initialBoardState);
+		return boardState;
+	}
+
+	@Benchmark
+	public boolean perCell()
+	{
+		boardState.copyFrom(initialBoardState);
+		return this.makePerCellMove();
+	}
+
+	@Benchmark
+	public boolean plugin()
+	{
+		boardState.copyFrom(initialBoardState);
+		return plugin.makeMove();
+	}
+
+	@Benchmark
+	public boolean kernel()
+	{
+		boardState.copyFrom(initialBoardState);
+		kernel.load(boardState);
+		return kernel.findHiddenSingles(cellHiddenSingles);
+	}
+
+	/**
+	 * The search of the plugin before SudokuCandidateKernel, kept as the
+	 * baseline.
+	 */
+	private boolean makePerCellMove()
+	{
+		for (SudokuCell sudokuCell : board.getAllSudokuCells())
+		{
+			if (sudokuCell.getValue() != null)
+			{
+				continue;
+			}
+
+			for (SudokuValue possibleValue : sudokuCell.getPossibleValues())
+			{
+				boolean onlyPossibleValueInASection = Arrays.stream(SectionType.values())
+						.map(sectionType -> board.getSudokuCells(sectionType, sudokuCell.getIndex(sectionType)))
+						.anyMatch(sudokuCells -> sudokuCells.stream()
+						.allMatch(otherSudokuCell -> otherSudokuCell.equals(sudokuCell)
+						|| otherSudokuCell.getValue() != null
+						|| !otherSudokuCell.hasPossibleValue(possibleValue)));
+
+				if (onlyPossibleValueInASection)
+				{
+					sudokuCell.setValue(possibleValue);
+					removeNearbyPossibleValuesConsumer.accept(sudokuCell, possibleValue);
+					return true;
+				}
+			}
+		}
+
+		return false;
+	}
+}
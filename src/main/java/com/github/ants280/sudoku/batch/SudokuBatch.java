@@ -0,0 +1,142 @@
+package com.github.ants280.sudoku.batch;
+
+import com.github.ants280.sudoku.game.solver.SearchLimits;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Solves a file of puzzles without the user interface.
+ *
+ * Usage: [--threads N] [--timeout SECONDS] [FILE]
+ *
+ * The puzzles are read from the file, or from standard input if there is no
+ * file or it is "-". A line is written to standard output for each puzzle
+ * (see SudokuBatchResult.toString()), and the summary is written to standard
+ * error.
+ */
+public final class SudokuBatch
+{
+	private static final String USAGE
+			= "Usage: [--threads N] [--timeout SECONDS] [FILE]";
+
+	private int threadCount;
+	private long timeoutSeconds;
+	private String fileName;
+
+	public static void main(final String[] args) throws IOException
+	{
+		SudokuBatch sudokuBatch = new SudokuBatch();
+		try
+		{
+			sudokuBatch.parseArgs(args);
+		}
+		catch (IllegalArgumentException ex)
+		{
+			System.err.println(ex.getMessage());
+			System.err.println(USAGE);
+			System.exit(2);
+			return;
+		}
+
+		sudokuBatch.run();
+	}
+
+	private SudokuBatch()
+	{
+		this.threadCount = Runtime.getRuntime().availableProcessors();
+		this.timeoutSeconds = SearchLimits.UNLIMITED;
+		this.fileName = "-";
+	}
+
+	private void parseArgs(String[] args)
+	{
+		for (int i = 0; i < args.length; i++)
+		{
+			switch (args[i])
+			{
+				case "--threads":
+					threadCount = (int) parsePositive(args, ++i);
+					break;
+				case "--timeout":
+					timeoutSeconds = parsePositive(args, ++i);
+					break;
+				default:
+					if (i != args.length - 1)
+					{
+						throw new IllegalArgumentException(
+								"Unexpected argument: " + args[i]);
+					}
+					fileName = args[i];
+					break;
+			}
+		}
+	}
+
+	private static long parsePositive(String[] args, int index)
+	{
+		if (index >= args.length)
+		{
+			throw new IllegalArgumentException(
+					"Missing value for " + args[index - 1]);
+		}
+
+		try
+		{
+			long value = Long.parseLong(args[index]);
+			if (value > 0L && value <= Integer.MAX_VALUE)
+			{
+				return value;
+			}
+		}
+		catch (NumberFormatException ex)
+		{
+			// Reported below.
+		}
+
+		throw new IllegalArgumentException(
+				"Invalid value for " + args[index - 1] + ": " + args[index]);
+	}
+
+	private void run() throws IOException
+	{
+		SearchLimits limits = new SearchLimits(
+				SearchLimits.UNLIMITED,
+				timeoutSeconds,
+				TimeUnit.SECONDS,
+				null);
+		PrintWriter writer = new PrintWriter(new BufferedWriter(
+				new OutputStreamWriter(System.out, StandardCharsets.UTF_8)));
+
+		SudokuBatchSummary summary;
+		try (BufferedReader reader = this.openReader();
+				SudokuBatchSolver batchSolver
+				= new SudokuBatchSolver(threadCount, limits))
+		{
+			summary = batchSolver.solve(reader, writer::println);
+		}
+		finally
+		{
+			writer.flush();
+		}
+
+		System.err.println(summary);
+	}
+
+	private BufferedReader openReader() throws IOException
+	{
+		return "-".equals(fileName)
+				? new BufferedReader(
+						new InputStreamReader(System.in, StandardCharsets.UTF_8))
+				: Files.newBufferedReader(
+						Paths.get(fileName),
+						StandardCharsets.UTF_8);
+	}
+}
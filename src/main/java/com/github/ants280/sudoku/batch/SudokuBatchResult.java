@@ -0,0 +1,113 @@
+package com.github.ants280.sudoku.batch;
+
+import com.github.ants280.sudoku.game.solver.SearchResult;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The outcome of solving one puzzle of a batch.
+ */
+public class SudokuBatchResult
+{
+	public static final String INVALID = "INVALID";
+
+	private final long index;
+	private final String puzzle;
+	private final SearchResult searchResult;
+	private final String solution;
+	private final String error;
+	private final long elapsedNanos;
+
+	/**
+	 * @param index The index of the puzzle in the batch.
+	 * @param puzzle The puzzle as it was read.
+	 * @param searchResult Null if the puzzle could not be read.
+	 * @param solution Null if the puzzle was not solved.
+	 * @param error Why the puzzle could not be read, or null.
+	 * @param elapsedNanos How long reading and solving the puzzle took.
+	 */
+	SudokuBatchResult(
+			long index,
+			String puzzle,
+			SearchResult searchResult,
+			String solution,
+			String error,
+			long elapsedNanos)
+	{
+		this.index = index;
+		this.puzzle = puzzle;
+		this.searchResult = searchResult;
+		this.solution = solution;
+		this.error = error;
+		this.elapsedNanos = elapsedNanos;
+	}
+
+	public long getIndex()
+	{
+		return index;
+	}
+
+	public String getPuzzle()
+	{
+		return puzzle;
+	}
+
+	/**
+	 * @return The result of the search, or null if the puzzle could not be
+	 * read.
+	 */
+	public SearchResult getSearchResult()
+	{
+		return searchResult;
+	}
+
+	/**
+	 * @return The cells of the solution in board order, or null if the
+	 * puzzle was not solved.
+	 */
+	public String getSolution()
+	{
+		return solution;
+	}
+
+	/**
+	 * @return Why the puzzle could not be read, or null if it was read.
+	 */
+	public String getError()
+	{
+		return error;
+	}
+
+	public long getElapsedNanos()
+	{
+		return elapsedNanos;
+	}
+
+	/**
+	 * @return The search result, or INVALID if the puzzle could not be read.
+	 */
+	public String getStatus()
+	{
+		return searchResult == null ? INVALID : searchResult.name();
+	}
+
+	/**
+	 * @return A tab separated line: the status, the solution (or the puzzle
+	 * if it was not solved), and the elapsed time in microseconds. The error
+	 * of an invalid puzzle is added at the end.
+	 */
+	@Override
+	public String toString()
+	{
+		StringBuilder sb = new StringBuilder()
+				.append(this.getStatus())
+				.append('\t')
+				.append(solution == null ? puzzle : solution)
+				.append('\t')
+				.append(TimeUnit.NANOSECONDS.toMicros(elapsedNanos));
+		if (error != null)
+		{
+			sb.append('\t').append(error);
+		}
+		return sb.toString();
+	}
+}
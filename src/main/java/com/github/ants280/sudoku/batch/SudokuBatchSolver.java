@@ -0,0 +1,285 @@
+package com.github.ants280.sudoku.batch;
+
+import com.github.ants280.sudoku.game.SudokuBoardParser;
+import com.github.ants280.sudoku.game.SudokuGeometry;
+import com.github.ants280.sudoku.game.solver.SearchLimits;
+import com.github.ants280.sudoku.game.solver.SearchResult;
+import com.github.ants280.sudoku.game.solver.SudokuBitmaskSearch;
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Solves puzzles, one for each line of text, on a fixed pool of worker
+ * threads. Each worker keeps its own SudokuBitmaskSearch and value arrays
+ * for each board size, so solving a puzzle only allocates its result.
+ *
+ * Lines are read only as fast as the workers keep up, and the results are
+ * passed on in the order the puzzles were read.
+ */
+public class SudokuBatchSolver implements Closeable
+{
+	/**
+	 * How many puzzles each worker may have queued or in progress.
+	 */
+	private static final int PENDING_PER_THREAD = 4;
+
+	private final int threadCount;
+	private final SearchLimits limits;
+	private final ExecutorService executorService;
+	private final ThreadLocal<SolverContext> solverContexts;
+
+	/**
+	 * @param threadCount The number of worker threads.
+	 * @param limits The limits of the search for each puzzle.
+	 */
+	public SudokuBatchSolver(int threadCount, SearchLimits limits)
+	{
+		if (threadCount <= 0)
+		{
+			throw new IllegalArgumentException(
+					"Invalid thread count: " + threadCount);
+		}
+
+		AtomicInteger threadNumber = new AtomicInteger();
+		this.threadCount = threadCount;
+		this.limits = limits;
+		this.executorService = Executors.newFixedThreadPool(
+				threadCount,
+				runnable ->
+				{
+					Thread thread = new Thread(
+							runnable,
+							"sudoku-batch-" + threadNumber.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				});
+		this.solverContexts = ThreadLocal.withInitial(SolverContext::new);
+	}
+
+	public int getThreadCount()
+	{
+		return threadCount;
+	}
+
+	/**
+	 * Solves the puzzle on each line of the reader. Blank lines and lines
+	 * starting with '#' are skipped. A puzzle is in any format read by
+	 * SudokuBoardParser, and its size is given by its number of cells.
+	 *
+	 * @param resultConsumer Called with the result of each puzzle, in input
+	 * order, on the calling thread.
+	 * @return The throughput and latencies of the batch.
+	 * @throws IOException If the reader fails, or the calling thread is
+	 * interrupted.
+	 */
+	public SudokuBatchSummary solve(
+			BufferedReader reader,
+			Consumer<SudokuBatchResult> resultConsumer)
+			throws IOException
+	{
+		long startNanos = System.nanoTime();
+		Deque<Future<SudokuBatchResult>> pendingResults = new ArrayDeque<>();
+		int maxPendingCount = threadCount * PENDING_PER_THREAD;
+		Statistics statistics = new Statistics();
+		long index = 0L;
+		String line;
+		while ((line = reader.readLine()) != null)
+		{
+			String puzzle = line.trim();
+			if (puzzle.isEmpty() || puzzle.charAt(0) == '#')
+			{
+				continue;
+			}
+
+			if (pendingResults.size() >= maxPendingCount)
+			{
+				statistics.add(
+						takeResult(pendingResults.removeFirst()),
+						resultConsumer);
+			}
+
+			long puzzleIndex = index++;
+			pendingResults.addLast(executorService.submit(
+					() -> solverContexts.get().solve(puzzleIndex, puzzle)));
+		}
+
+		while (!pendingResults.isEmpty())
+		{
+			statistics.add(
+					takeResult(pendingResults.removeFirst()),
+					resultConsumer);
+		}
+
+		return statistics.createSummary(System.nanoTime() - startNanos);
+	}
+
+	private static SudokuBatchResult takeResult(
+			Future<SudokuBatchResult> pendingResult)
+			throws IOException
+	{
+		try
+		{
+			return pendingResult.get();
+		}
+		catch (InterruptedException ex)
+		{
+			Thread.currentThread().interrupt();
+			InterruptedIOException interruptedException
+					= new InterruptedIOException("Batch interrupted.");
+			interruptedException.initCause(ex);
+			throw interruptedException;
+		}
+		catch (ExecutionException ex)
+		{
+			throw new IllegalStateException(
+					"Could not solve puzzle.",
+					ex.getCause());
+		}
+	}
+
+	/**
+	 * Stops the worker threads. Puzzles in progress are finished first.
+	 */
+	@Override
+	public void close()
+	{
+		executorService.shutdown();
+	}
+
+	/**
+	 * The search and arrays of one worker thread, created for each board size
+	 * as it is first needed.
+	 */
+	private class SolverContext
+	{
+		private final SudokuBitmaskSearch[] searches;
+		private final int[][] values;
+
+		private SolverContext()
+		{
+			this.searches
+					= new SudokuBitmaskSearch[SudokuGeometry.MAX_BOX_SIZE + 1];
+			this.values = new int[SudokuGeometry.MAX_BOX_SIZE + 1][];
+		}
+
+		private SudokuBatchResult solve(long index, String puzzle)
+		{
+			long startNanos = System.nanoTime();
+			SudokuGeometry geometry;
+			int[] puzzleValues;
+			try
+			{
+				boolean braces = puzzle.charAt(0) == '{';
+				geometry = SudokuGeometry.forCellCount(
+						puzzle.length() - (braces ? 2 : 0));
+				int boxSize = geometry.getBoxSize();
+				if (searches[boxSize] == null)
+				{
+					searches[boxSize] = new SudokuBitmaskSearch(geometry);
+					values[boxSize] = new int[geometry.getCellCount()];
+				}
+				puzzleValues = values[boxSize];
+				SudokuBoardParser.parse(puzzle, geometry, puzzleValues);
+			}
+			catch (IllegalArgumentException ex)
+			{
+				return new SudokuBatchResult(
+						index,
+						puzzle,
+						null,
+						null,
+						ex.getMessage(),
+						System.nanoTime() - startNanos);
+			}
+
+			SearchResult searchResult = searches[geometry.getBoxSize()]
+					.solve(puzzleValues, puzzleValues, limits);
+			String solution = null;
+			if (searchResult == SearchResult.SOLVED)
+			{
+				char[] chars = new char[puzzleValues.length];
+				for (int i = 0; i < chars.length; i++)
+				{
+					chars[i] = SudokuGeometry.getValueChar(puzzleValues[i]);
+				}
+				solution = new String(chars);
+			}
+
+			return new SudokuBatchResult(
+					index,
+					puzzle,
+					searchResult,
+					solution,
+					null,
+					System.nanoTime() - startNanos);
+		}
+	}
+
+	/**
+	 * Counts the results as they are passed on.
+	 */
+	private static class Statistics
+	{
+		private long[] latencies = new long[1024];
+		private int count = 0;
+		private long solvedCount = 0L;
+		private long unsolvableCount = 0L;
+		private long abortedCount = 0L;
+		private long invalidCount = 0L;
+
+		private void add(
+				SudokuBatchResult result,
+				Consumer<SudokuBatchResult> resultConsumer)
+		{
+			if (count == latencies.length)
+			{
+				latencies = Arrays.copyOf(latencies, count * 2);
+			}
+			latencies[count++] = result.getElapsedNanos();
+
+			if (result.getSearchResult() == null)
+			{
+				invalidCount++;
+			}
+			else
+			{
+				switch (result.getSearchResult())
+				{
+					case SOLVED:
+						solvedCount++;
+						break;
+					case UNSOLVABLE:
+						unsolvableCount++;
+						break;
+					default:
+						abortedCount++;
+						break;
+				}
+			}
+
+			resultConsumer.accept(result);
+		}
+
+		private SudokuBatchSummary createSummary(long elapsedNanos)
+		{
+			return new SudokuBatchSummary(
+					Arrays.copyOf(latencies, count),
+					elapsedNanos,
+					solvedCount,
+					unsolvableCount,
+					abortedCount,
+					invalidCount);
+		}
+	}
+}
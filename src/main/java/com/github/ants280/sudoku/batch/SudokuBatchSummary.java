@@ -0,0 +1,128 @@
+package com.github.ants280.sudoku.batch;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The throughput and latencies of a batch. The latency of a puzzle is the
+ * time its worker spent reading and solving it, not the time it waited in
+ * the queue.
+ */
+public class SudokuBatchSummary
+{
+	private final long[] sortedLatencies;
+	private final long elapsedNanos;
+	private final long solvedCount;
+	private final long unsolvableCount;
+	private final long abortedCount;
+	private final long invalidCount;
+
+	/**
+	 * @param latencies The latencies of the puzzles in nanoseconds. The array
+	 * is sorted.
+	 * @param elapsedNanos The wall clock time of the whole batch.
+	 */
+	SudokuBatchSummary(
+			long[] latencies,
+			long elapsedNanos,
+			long solvedCount,
+			long unsolvableCount,
+			long abortedCount,
+			long invalidCount)
+	{
+		Arrays.sort(latencies);
+
+		this.sortedLatencies = latencies;
+		this.elapsedNanos = elapsedNanos;
+		this.solvedCount = solvedCount;
+		this.unsolvableCount = unsolvableCount;
+		this.abortedCount = abortedCount;
+		this.invalidCount = invalidCount;
+	}
+
+	public long getPuzzleCount()
+	{
+		return sortedLatencies.length;
+	}
+
+	public long getSolvedCount()
+	{
+		return solvedCount;
+	}
+
+	public long getUnsolvableCount()
+	{
+		return unsolvableCount;
+	}
+
+	public long getAbortedCount()
+	{
+		return abortedCount;
+	}
+
+	public long getInvalidCount()
+	{
+		return invalidCount;
+	}
+
+	public long getElapsedNanos()
+	{
+		return elapsedNanos;
+	}
+
+	public double getPuzzlesPerSecond()
+	{
+		return elapsedNanos == 0L
+				? 0d
+				: sortedLatencies.length * 1e9d / elapsedNanos;
+	}
+
+	/**
+	 * @param percentile Between 0 (exclusive) and 100 (inclusive).
+	 * @return The nearest rank percentile of the latencies in nanoseconds, or
+	 * 0 if there were no puzzles.
+	 */
+	public long getLatencyPercentileNanos(double percentile)
+	{
+		if (percentile <= 0d || percentile > 100d)
+		{
+			throw new IllegalArgumentException(
+					"Invalid percentile: " + percentile);
+		}
+		if (sortedLatencies.length == 0)
+		{
+			return 0L;
+		}
+
+		int rank = (int) Math.ceil(percentile / 100d * sortedLatencies.length);
+		return sortedLatencies[Math.max(rank, 1) - 1];
+	}
+
+	public long getMaxLatencyNanos()
+	{
+		return sortedLatencies.length == 0
+				? 0L
+				: sortedLatencies[sortedLatencies.length - 1];
+	}
+
+	@Override
+	public String toString()
+	{
+		return String.format(
+				"%d puzzles in %.3f s (%.1f puzzles/s): %d solved, "
+				+ "%d unsolvable, %d aborted, %d invalid%n"
+				+ "latency p50 %d us, p99 %d us, max %d us",
+				sortedLatencies.length,
+				elapsedNanos / 1e9d,
+				this.getPuzzlesPerSecond(),
+				solvedCount,
+				unsolvableCount,
+				abortedCount,
+				invalidCount,
+				TimeUnit.NANOSECONDS.toMicros(
+						this.getLatencyPercentileNanos(50d)),
+				TimeUnit.NANOSECONDS.toMicros(
+						this.getLatencyPercentileNanos(99d)),
+				TimeUnit.NANOSECONDS.toMicros(this.getMaxLatencyNanos()));
+	}
+}
@@ -0,0 +1,214 @@
+package com.github.ants280.sudoku.game;
+
+/**
+ * A SudokuBoardState for any SudokuGeometry, with an int possible values
+ * mask for each cell. 9x9 boards should use PackedSudokuBoardState, which is
+ * smaller and faster.
+ *
+ * Forks share their arrays with the state they were forked from until either
+ * of them is changed.
+ */
+public class GenericSudokuBoardState implements SudokuBoardState
+{
+	private final SudokuGeometry geometry;
+	private int[] values;
+	private int[] possibleValues;
+	private boolean[] locked;
+	private int[] sectionValueCounts;
+	private int[] sectionValues;
+	private int completeSectionCount;
+	private boolean shared;
+
+	public GenericSudokuBoardState(SudokuGeometry geometry)
+	{
+		this.geometry = geometry;
+		this.values = new int[geometry.getCellCount()];
+		this.possibleValues = new int[geometry.getCellCount()];
+		this.locked = new boolean[geometry.getCellCount()];
+		this.sectionValueCounts
+				= new int[geometry.getSectionCount() * geometry.getSize()];
+		this.sectionValues = new int[geometry.getSectionCount()];
+		this.completeSectionCount = 0;
+		this.shared = false;
+	}
+
+	private GenericSudokuBoardState(
+			GenericSudokuBoardState other,
+			boolean shared)
+	{
+		this.geometry = other.geometry;
+		this.values = shared ? other.values : other.values.clone();
+		this.possibleValues = shared
+				? other.possibleValues
+				: other.possibleValues.clone();
+		this.locked = shared ? other.locked : other.locked.clone();
+		this.sectionValueCounts = shared
+				? other.sectionValueCounts
+				: other.sectionValueCounts.clone();
+		this.sectionValues = shared
+				? other.sectionValues
+				: other.sectionValues.clone();
+		this.completeSectionCount = other.completeSectionCount;
+		this.shared = shared;
+	}
+
+	@Override
+	public SudokuGeometry getGeometry()
+	{
+		return geometry;
+	}
+
+	@Override
+	public int getCellCount()
+	{
+		return values.length;
+	}
+
+	@Override
+	public int getValue(int cellIndex)
+	{
+		return values[cellIndex];
+	}
+
+	@Override
+	public void setValue(int cellIndex, int value)
+	{
+		int previousValue = values[cellIndex];
+		if (previousValue == value)
+		{
+			return;
+		}
+
+		this.unshare();
+
+		values[cellIndex] = value;
+
+		for (int sectionIndex : geometry.getCellSections(cellIndex))
+		{
+			this.updateSection(sectionIndex, previousValue, value);
+		}
+	}
+
+	private void updateSection(int sectionIndex, int previousValue, int value)
+	{
+		int allValues = geometry.getAllValues();
+		int size = geometry.getSize();
+		boolean previousComplete = sectionValues[sectionIndex] == allValues;
+
+		if (previousValue != 0
+				&& --sectionValueCounts[sectionIndex * size + previousValue - 1] == 0)
+		{
+			sectionValues[sectionIndex] &= ~(1 << (previousValue - 1));
+		}
+
+		if (value != 0
+				&& sectionValueCounts[sectionIndex * size + value - 1]++ == 0)
+		{
+			sectionValues[sectionIndex] |= 1 << (value - 1);
+		}
+
+		boolean complete = sectionValues[sectionIndex] == allValues;
+		if (complete != previousComplete)
+		{
+			completeSectionCount += complete ? 1 : -1;
+		}
+	}
+
+	@Override
+	public int getPossibleValues(int cellIndex)
+	{
+		return possibleValues[cellIndex];
+	}
+
+	@Override
+	public void setPossibleValues(int cellIndex, int possibleValues)
+	{
+		if (this.possibleValues[cellIndex] != possibleValues)
+		{
+			this.unshare();
+			this.possibleValues[cellIndex] = possibleValues;
+		}
+	}
+
+	@Override
+	public boolean isLocked(int cellIndex)
+	{
+		return locked[cellIndex];
+	}
+
+	@Override
+	public void setLocked(int cellIndex, boolean locked)
+	{
+		if (this.locked[cellIndex] != locked)
+		{
+			this.unshare();
+			this.locked[cellIndex] = locked;
+		}
+	}
+
+	@Override
+	public int getSectionValues(int sectionIndex)
+	{
+		return sectionValues[sectionIndex];
+	}
+
+	@Override
+	public int getCompleteSectionCount()
+	{
+		return completeSectionCount;
+	}
+
+	@Override
+	public boolean isSolved()
+	{
+		return completeSectionCount == geometry.getSectionCount();
+	}
+
+	@Override
+	public GenericSudokuBoardState copy()
+	{
+		return new GenericSudokuBoardState(this, false);
+	}
+
+	@Override
+	public GenericSudokuBoardState fork()
+	{
+		shared = true;
+
+		return new GenericSudokuBoardState(this, true);
+	}
+
+	@Override
+	public void copyFrom(SudokuBoardState other)
+	{
+		if (other == this)
+		{
+			return;
+		}
+		if (other.getGeometry() != geometry)
+		{
+			throw new IllegalArgumentException(
+					"Cannot copy " + other.getGeometry() + " to " + geometry);
+		}
+
+		for (int i = 0; i < values.length; i++)
+		{
+			this.setValue(i, other.getValue(i));
+			this.setPossibleValues(i, other.getPossibleValues(i));
+			this.setLocked(i, other.isLocked(i));
+		}
+	}
+
+	private void unshare()
+	{
+		if (shared)
+		{
+			values = values.clone();
+			possibleValues = possibleValues.clone();
+			locked = locked.clone();
+			sectionValueCounts = sectionValueCounts.clone();
+			sectionValues = sectionValues.clone();
+			shared = false;
+		}
+	}
+}
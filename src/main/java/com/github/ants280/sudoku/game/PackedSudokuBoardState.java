@@ -0,0 +1,250 @@
+package com.github.ants280.sudoku.game;
+
+/**
+ * A SudokuBoardState which keeps the cells in primitive arrays: a byte for
+ * each value and a short for each nine-bit possible values mask.
+ *
+ * The values in each section are counted as they are set, so checking if the
+ * board is solved does not have to look at the cells.
+ *
+ * Forks share their arrays with the state they were forked from until either
+ * of them is changed. A state and its forks must only be changed by one
+ * thread at a time.
+ */
+public class PackedSudokuBoardState implements SudokuBoardState
+{
+	public static final int CELL_COUNT = SudokuSections.CELL_COUNT;
+	public static final int SECTION_COUNT = SudokuSections.SECTION_COUNT;
+	private static final int ALL_VALUES = (1 << 9) - 1;
+
+	private byte[] values;
+	private short[] possibleValues;
+	private boolean[] locked;
+	private byte[] sectionValueCounts;
+	private short[] sectionValues;
+	private int completeSectionCount;
+	private boolean valuesShared;
+	private boolean possibleValuesShared;
+	private boolean lockedShared;
+
+	public PackedSudokuBoardState()
+	{
+		this.values = new byte[CELL_COUNT];
+		this.possibleValues = new short[CELL_COUNT];
+		this.locked = new boolean[CELL_COUNT];
+		this.sectionValueCounts = new byte[SECTION_COUNT * 9];
+		this.sectionValues = new short[SECTION_COUNT];
+		this.completeSectionCount = 0;
+		this.valuesShared = false;
+		this.possibleValuesShared = false;
+		this.lockedShared = false;
+	}
+
+	private PackedSudokuBoardState(PackedSudokuBoardState other, boolean shared)
+	{
+		this.values = shared ? other.values : other.values.clone();
+		this.possibleValues = shared
+				? other.possibleValues
+				: other.possibleValues.clone();
+		this.locked = shared ? other.locked : other.locked.clone();
+		this.sectionValueCounts = shared
+				? other.sectionValueCounts
+				: other.sectionValueCounts.clone();
+		this.sectionValues = shared
+				? other.sectionValues
+				: other.sectionValues.clone();
+		this.completeSectionCount = other.completeSectionCount;
+		this.valuesShared = shared;
+		this.possibleValuesShared = shared;
+		this.lockedShared = shared;
+	}
+
+	@Override
+	public SudokuGeometry getGeometry()
+	{
+		return SudokuGeometry.NINE;
+	}
+
+	@Override
+	public int getCellCount()
+	{
+		return CELL_COUNT;
+	}
+
+	@Override
+	public int getValue(int cellIndex)
+	{
+		return values[cellIndex];
+	}
+
+	@Override
+	public void setValue(int cellIndex, int value)
+	{
+		int previousValue = values[cellIndex];
+		if (previousValue == value)
+		{
+			return;
+		}
+
+		if (valuesShared)
+		{
+			values = values.clone();
+			sectionValueCounts = sectionValueCounts.clone();
+			sectionValues = sectionValues.clone();
+			valuesShared = false;
+		}
+
+		values[cellIndex] = (byte) value;
+
+		for (int sectionIndex : SudokuSections.getCellSections(cellIndex))
+		{
+			this.updateSection(sectionIndex, previousValue, value);
+		}
+	}
+
+	private void updateSection(int sectionIndex, int previousValue, int value)
+	{
+		boolean previousComplete = sectionValues[sectionIndex] == ALL_VALUES;
+
+		if (previousValue != 0)
+		{
+			int countIndex = sectionIndex * 9 + previousValue - 1;
+			if (--sectionValueCounts[countIndex] == 0)
+			{
+				sectionValues[sectionIndex] &= ~(1 << (previousValue - 1));
+			}
+		}
+
+		if (value != 0)
+		{
+			int countIndex = sectionIndex * 9 + value - 1;
+			if (sectionValueCounts[countIndex]++ == 0)
+			{
+				sectionValues[sectionIndex] |= 1 << (value - 1);
+			}
+		}
+
+		boolean complete = sectionValues[sectionIndex] == ALL_VALUES;
+		if (complete != previousComplete)
+		{
+			completeSectionCount += complete ? 1 : -1;
+		}
+	}
+
+	@Override
+	public int getPossibleValues(int cellIndex)
+	{
+		return possibleValues[cellIndex];
+	}
+
+	@Override
+	public void setPossibleValues(int cellIndex, int possibleValues)
+	{
+		if (possibleValuesShared)
+		{
+			if (this.possibleValues[cellIndex] == possibleValues)
+			{
+				return;
+			}
+
+			this.possibleValues = this.possibleValues.clone();
+			possibleValuesShared = false;
+		}
+
+		this.possibleValues[cellIndex] = (short) possibleValues;
+	}
+
+	@Override
+	public boolean isLocked(int cellIndex)
+	{
+		return locked[cellIndex];
+	}
+
+	@Override
+	public void setLocked(int cellIndex, boolean locked)
+	{
+		if (lockedShared)
+		{
+			if (this.locked[cellIndex] == locked)
+			{
+				return;
+			}
+
+			this.locked = this.locked.clone();
+			lockedShared = false;
+		}
+
+		this.locked[cellIndex] = locked;
+	}
+
+	@Override
+	public int getSectionValues(int sectionIndex)
+	{
+		return sectionValues[sectionIndex];
+	}
+
+	@Override
+	public int getCompleteSectionCount()
+	{
+		return completeSectionCount;
+	}
+
+	@Override
+	public boolean isSolved()
+	{
+		return completeSectionCount == SECTION_COUNT;
+	}
+
+	@Override
+	public PackedSudokuBoardState copy()
+	{
+		return new PackedSudokuBoardState(this, false);
+	}
+
+	@Override
+	public PackedSudokuBoardState fork()
+	{
+		valuesShared = true;
+		possibleValuesShared = true;
+		lockedShared = true;
+
+		return new PackedSudokuBoardState(this, true);
+	}
+
+	@Override
+	public void copyFrom(SudokuBoardState other)
+	{
+		if (other == this)
+		{
+			return;
+		}
+
+		if (other instanceof PackedSudokuBoardState)
+		{
+			PackedSudokuBoardState otherPacked = (PackedSudokuBoardState) other;
+			this.values = otherPacked.values.clone();
+			this.possibleValues = otherPacked.possibleValues.clone();
+			this.locked = otherPacked.locked.clone();
+			this.sectionValueCounts = otherPacked.sectionValueCounts.clone();
+			this.sectionValues = otherPacked.sectionValues.clone();
+			this.completeSectionCount = otherPacked.completeSectionCount;
+			this.valuesShared = false;
+			this.possibleValuesShared = false;
+			this.lockedShared = false;
+			return;
+		}
+
+		if (other.getGeometry() != SudokuGeometry.NINE)
+		{
+			throw new IllegalArgumentException(
+					"Cannot copy " + other.getGeometry() + " to 9x9 board.");
+		}
+
+		for (int i = 0; i < CELL_COUNT; i++)
+		{
+			this.setValue(i, other.getValue(i));
+			this.setPossibleValues(i, other.getPossibleValues(i));
+			this.setLocked(i, other.isLocked(i));
+		}
+	}
+}
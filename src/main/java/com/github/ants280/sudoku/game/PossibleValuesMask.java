@@ -0,0 +1,57 @@
+package com.github.ants280.sudoku.game;
+
+import java.util.function.IntConsumer;
+
+/**
+ * Helpers for bitmasks of possible values, where bit (value - 1) is set for
+ * each possible value.
+ */
+public final class PossibleValuesMask
+{
+	public static final int NONE = 0;
+	public static final int ALL = (1 << 9) - 1;
+
+	private PossibleValuesMask()
+	{
+	}
+
+	public static int of(SudokuValue value)
+	{
+		return 1 << (value.getValue() - 1);
+	}
+
+	public static boolean contains(int possibleValues, SudokuValue value)
+	{
+		return (possibleValues & of(value)) != 0;
+	}
+
+	public static int count(int possibleValues)
+	{
+		return Integer.bitCount(possibleValues);
+	}
+
+	/**
+	 * @return The value (1-9) if the mask has exactly one possible value, 0
+	 * otherwise.
+	 */
+	public static int getOnlyValue(int possibleValues)
+	{
+		return possibleValues != 0 && (possibleValues & (possibleValues - 1)) == 0
+				? Integer.numberOfTrailingZeros(possibleValues) + 1
+				: 0;
+	}
+
+	/**
+	 * Passes each value (1-9) in the mask to the consumer, lowest first.
+	 */
+	public static void forEach(int possibleValues, IntConsumer valueConsumer)
+	{
+		int remainingPossibleValues = possibleValues;
+		while (remainingPossibleValues != 0)
+		{
+			int lowestBit = remainingPossibleValues & -remainingPossibleValues;
+			remainingPossibleValues ^= lowestBit;
+			valueConsumer.accept(Integer.numberOfTrailingZeros(lowestBit) + 1);
+		}
+	}
+}
@@ -0,0 +1,99 @@
+package com.github.ants280.sudoku.game;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * The cell changes made to a SudokuBoard between beginBatch() and commit(),
+ * in the order they were made.
+ */
+public class SudokuBatchEvent
+{
+	private final SudokuBoard source;
+	private final List<SudokuEvent<SudokuCell, SudokuValue>> cellValueChangedEvents;
+	private final List<SudokuEvent<SudokuCell, SudokuValue>> cellPossibleValueChangedEvents;
+
+	public SudokuBatchEvent(
+			SudokuBoard source,
+			List<SudokuEvent<SudokuCell, SudokuValue>> cellValueChangedEvents,
+			List<SudokuEvent<SudokuCell, SudokuValue>> cellPossibleValueChangedEvents)
+	{
+		this.source = source;
+		this.cellValueChangedEvents
+				= Collections.unmodifiableList(cellValueChangedEvents);
+		this.cellPossibleValueChangedEvents
+				= Collections.unmodifiableList(cellPossibleValueChangedEvents);
+	}
+
+	public SudokuBoard getSource()
+	{
+		return source;
+	}
+
+	public List<SudokuEvent<SudokuCell, SudokuValue>> getCellValueChangedEvents()
+	{
+		return cellValueChangedEvents;
+	}
+
+	public List<SudokuEvent<SudokuCell, SudokuValue>> getCellPossibleValueChangedEvents()
+	{
+		return cellPossibleValueChangedEvents;
+	}
+
+	/**
+	 * @return The cells which had their value changed, then the cells which
+	 * only had their possible values changed.
+	 */
+	public List<SudokuCell> getChangedCells()
+	{
+		Set<SudokuCell> changedCells = Collections.newSetFromMap(
+				new IdentityHashMap<>());
+		List<SudokuCell> changedCellsList = new ArrayList<>();
+
+		for (SudokuEvent<SudokuCell, SudokuValue> cellValueChangedEvent
+				: cellValueChangedEvents)
+		{
+			if (changedCells.add(cellValueChangedEvent.getSource()))
+			{
+				changedCellsList.add(cellValueChangedEvent.getSource());
+			}
+		}
+		for (SudokuEvent<SudokuCell, SudokuValue> cellPossibleValueChangedEvent
+				: cellPossibleValueChangedEvents)
+		{
+			if (changedCells.add(cellPossibleValueChangedEvent.getSource()))
+			{
+				changedCellsList.add(cellPossibleValueChangedEvent.getSource());
+			}
+		}
+
+		return changedCellsList;
+	}
+
+	@Override
+	public int hashCode()
+	{
+		int hash = 7;
+		hash = 41 * hash + Objects.hashCode(this.source);
+		hash = 41 * hash + Objects.hashCode(this.cellValueChangedEvents);
+		hash = 41 * hash + Objects.hashCode(this.cellPossibleValueChangedEvents);
+		return hash;
+	}
+
+	@Override
+	public boolean equals(Object obj)
+	{
+		return this == obj
+				|| obj != null
+				&& this.getClass() == obj.getClass()
+				&& Objects.equals(this.source, ((SudokuBatchEvent) obj).source)
+				&& Objects.equals(this.cellValueChangedEvents,
+						((SudokuBatchEvent) obj).cellValueChangedEvents)
+				&& Objects.equals(this.cellPossibleValueChangedEvents,
+						((SudokuBatchEvent) obj).cellPossibleValueChangedEvents);
+	}
+}
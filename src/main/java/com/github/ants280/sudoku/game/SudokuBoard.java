@@ -1,47 +1,71 @@
 package com.github.ants280.sudoku.game;
 
-import static com.github.ants280.sudoku.game.SectionType.*;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collection;
 import java.util.Collections;
-import java.util.EnumMap;
-import java.util.EnumSet;
 import java.util.List;
-import java.util.Map;
-import java.util.Objects;
 import java.util.function.Consumer;
-import java.util.function.Predicate;
 import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 
 public class SudokuBoard
 {
+	private final SudokuBoardState boardState;
 	private final List<SudokuCell> allSudokuCells;
 	private final List<SudokuCell> allSudokuCellsView;
-	private final Map<SectionType, Map<Integer, List<SudokuCell>>> sectionTypeCells;
-	private static final Collection<SudokuValue> ALL_SUDOKU_VALUES
-			= EnumSet.allOf(SudokuValue.class);
-	private static final Predicate<List<SudokuCell>> CELL_SECTION_HAS_ALL_VALUES
-			= sudokuCells -> sudokuCells.stream()
-					.map(SudokuCell::getValue)
-					.filter(Objects::nonNull)
-					.collect(Collectors.toSet())
-					.equals(ALL_SUDOKU_VALUES);
+	private final List<List<SudokuCell>> sectionCells;
+	private final SudokuCellChangeDispatcher valueChangeDispatcher;
+	private final SudokuCellChangeDispatcher possibleValuesChangeDispatcher;
 	private final List<Consumer<SudokuEvent<SudokuBoard, Boolean>>> solvedChangedConsumers;
+	private final List<Consumer<SudokuEvent<SudokuCell, SudokuValue>>> cellValueChangedConsumers;
+	private final List<Consumer<SudokuEvent<SudokuCell, SudokuValue>>> cellPossibleValueChangedConsumers;
+	private final List<Consumer<SudokuBatchEvent>> batchCommittedConsumers;
+	private List<SudokuEvent<SudokuCell, SudokuValue>> batchCellValueChangedEvents;
+	private List<SudokuEvent<SudokuCell, SudokuValue>> batchCellPossibleValueChangedEvents;
+	private SudokuSubscription valueChangeSubscription;
+	private SudokuSubscription possibleValuesChangeSubscription;
+	private int batchDepth;
+	private boolean batchValuesChanged;
 	private boolean previousSolved;
 	private boolean listenersEnabled;
 
 	public SudokuBoard(String boardString)
 	{
-		this.allSudokuCells = getAllSudokuCells(boardString);
+		this(createBoardState(boardString));
+	}
+
+	/**
+	 * Creates a board backed by the state. SudokuCells only have the values
+	 * 1-9, so the state must be a 9x9 state.
+	 */
+	public SudokuBoard(SudokuBoardState boardState)
+	{
+		if (boardState.getGeometry() != SudokuGeometry.NINE)
+		{
+			throw new IllegalArgumentException(
+					"Illegal board: " + boardState.getGeometry());
+		}
+
+		this.boardState = boardState;
+		this.valueChangeDispatcher = new SudokuCellChangeDispatcher();
+		this.possibleValuesChangeDispatcher = new SudokuCellChangeDispatcher();
+		this.allSudokuCells = createSudokuCells(
+				boardState,
+				valueChangeDispatcher,
+				possibleValuesChangeDispatcher);
 		this.allSudokuCellsView = Collections.unmodifiableList(allSudokuCells);
-		this.sectionTypeCells = new EnumMap<>(SectionType.class);
+		this.sectionCells = createSectionCells(allSudokuCells);
 		this.solvedChangedConsumers = new ArrayList<>();
+		this.cellValueChangedConsumers = new ArrayList<>();
+		this.cellPossibleValueChangedConsumers = new ArrayList<>();
+		this.batchCommittedConsumers = new ArrayList<>();
+		this.batchCellValueChangedEvents = new ArrayList<>();
+		this.batchCellPossibleValueChangedEvents = new ArrayList<>();
+		this.valueChangeSubscription = null;
+		this.possibleValuesChangeSubscription = null;
+		this.batchDepth = 0;
+		this.batchValuesChanged = false;
 		this.previousSolved = false;
 		this.listenersEnabled = true;
-
-		this.init();
 	}
 
 	public SudokuBoard()
@@ -51,20 +75,16 @@ public class SudokuBoard
 
 	public SudokuBoard(SudokuBoard other)
 	{
-		this(other.toString());
+		this(other.boardState.copy());
 	}
 
-	private void init()
+	/**
+	 * @return A new board which shares the cells of this board until either
+	 * board is changed.
+	 */
+	public SudokuBoard fork()
 	{
-		sectionTypeCells.put(ROW, allSudokuCells.stream().collect(Collectors
-				.groupingBy(sudokuCell -> sudokuCell.getIndex(ROW))));
-		sectionTypeCells.put(COLUMN, allSudokuCells.stream().collect(Collectors
-				.groupingBy(sudokuCell -> sudokuCell.getIndex(COLUMN))));
-		sectionTypeCells.put(GROUP, allSudokuCells.stream().collect(Collectors
-				.groupingBy(sudokuCell -> sudokuCell.getIndex(GROUP))));
-
-		this.addCellValueChangedConsumer(
-				cellValueChangedEvent -> this.handleCellValueChanged());
+		return new SudokuBoard(boardState.fork());
 	}
 
 	@Override
@@ -77,37 +97,64 @@ public class SudokuBoard
 						.collect(Collectors.joining()));
 	}
 
-	private static List<SudokuCell> getAllSudokuCells(String boardString)
+	private static SudokuBoardState createBoardState(String boardString)
 	{
-		if (!isValidSavedBoard(boardString))
+		if (boardString == null)
 		{
-			throw new IllegalArgumentException(
-					"Illegal board: " + boardString);
+			throw new IllegalArgumentException("Illegal board: null");
 		}
 
-		SudokuCell[] allSudokuCellsArray = new SudokuCell[81];
+		SudokuBoardState boardState = new PackedSudokuBoardState();
+		SudokuBoardParser.parse(boardString, boardState);
+		return boardState;
+	}
+
+	private static List<SudokuCell> createSudokuCells(
+			SudokuBoardState boardState,
+			SudokuCellChangeDispatcher valueChangeDispatcher,
+			SudokuCellChangeDispatcher possibleValuesChangeDispatcher)
+	{
+		SudokuCell[] allSudokuCellsArray
+				= new SudokuCell[boardState.getCellCount()];
 		for (int i = 0; i < allSudokuCellsArray.length; i++)
 		{
-			char valueChar = boardString.charAt(i + 1);
-			SudokuValue cellValue = SudokuValue.fromChar(valueChar);
 			int rowIndex = i / 9;
 			int columnIndex = i % 9;
-			int groupIndex = (rowIndex / 3) * 3 + columnIndex / 3;
+			int groupIndex = SudokuSections.getGroupIndex(rowIndex, columnIndex);
 			allSudokuCellsArray[i] = new SudokuCell(
+					boardState,
+					i,
 					rowIndex,
 					columnIndex,
 					groupIndex,
-					cellValue,
-					cellValue != null);
+					valueChangeDispatcher,
+					possibleValuesChangeDispatcher);
 		}
 		return Arrays.asList(allSudokuCellsArray);
 	}
 
+	private static List<List<SudokuCell>> createSectionCells(
+			List<SudokuCell> allSudokuCells)
+	{
+		List<List<SudokuCell>> sectionCells
+				= new ArrayList<>(SudokuSections.SECTION_COUNT);
+		for (int i = 0; i < SudokuSections.SECTION_COUNT; i++)
+		{
+			int[] cellIndices = SudokuSections.getSectionCells(i);
+			SudokuCell[] sudokuCells = new SudokuCell[cellIndices.length];
+			for (int j = 0; j < cellIndices.length; j++)
+			{
+				sudokuCells[j] = allSudokuCells.get(cellIndices[j]);
+			}
+			sectionCells.add(
+					Collections.unmodifiableList(Arrays.asList(sudokuCells)));
+		}
+		return sectionCells;
+	}
+
 	public void resetFrom(SudokuBoard other)
 	{
-		IntStream.range(0, 81)
-				.forEach(i -> allSudokuCells.get(i)
-				.resetFrom(other.getAllSudokuCells().get(i)));
+		boardState.copyFrom(other.boardState);
 
 		if (listenersEnabled)
 		{
@@ -120,6 +167,16 @@ public class SudokuBoard
 		previousSolved = false;
 	}
 
+	public SudokuBoardState getBoardState()
+	{
+		return boardState;
+	}
+
+	public SudokuGeometry getGeometry()
+	{
+		return boardState.getGeometry();
+	}
+
 	// Returning unmodifiable view of list
 	@SuppressWarnings("squid:S4275")
 	public List<SudokuCell> getAllSudokuCells()
@@ -131,16 +188,174 @@ public class SudokuBoard
 			SectionType sectionType,
 			int sectionIndex)
 	{
-		if (sectionIndex < 0 || sectionIndex >= 9)
+		if (sectionIndex < 0 || sectionIndex >= this.getGeometry().getSize())
 		{
 			throw new IllegalArgumentException(
 					"Invalid index: " + sectionIndex);
 		}
 
-		return sectionTypeCells.get(sectionType).get(sectionIndex);
+		return sectionCells.get(
+				SudokuSections.getSectionIndex(sectionType, sectionIndex));
+	}
+
+	/**
+	 * Starts queuing the cell changes of the board. Until the matching call to
+	 * commit(), the cell changed consumers of the board are not called and
+	 * the solved state is not checked. Batches can be nested.
+	 */
+	public void beginBatch()
+	{
+		batchDepth++;
+	}
+
+	/**
+	 * Ends the batch started by the last call to beginBatch(). When the
+	 * outermost batch ends, the solved state is checked once and all the
+	 * queued cell changes are passed to the batch committed consumers as one
+	 * SudokuBatchEvent.
+	 */
+	public void commit()
+	{
+		if (batchDepth == 0)
+		{
+			throw new IllegalArgumentException(
+					"Cannot commit without a batch.");
+		}
+
+		batchDepth--;
+
+		if (batchDepth != 0)
+		{
+			return;
+		}
+
+		if (batchValuesChanged)
+		{
+			batchValuesChanged = false;
+			this.updateSolved();
+		}
+
+		if (!batchCellValueChangedEvents.isEmpty()
+				|| !batchCellPossibleValueChangedEvents.isEmpty())
+		{
+			SudokuBatchEvent batchEvent = new SudokuBatchEvent(
+					this,
+					batchCellValueChangedEvents,
+					batchCellPossibleValueChangedEvents);
+			batchCellValueChangedEvents = new ArrayList<>();
+			batchCellPossibleValueChangedEvents = new ArrayList<>();
+
+			batchCommittedConsumers
+					.forEach(consumer -> consumer.accept(batchEvent));
+		}
+	}
+
+	public boolean isBatching()
+	{
+		return batchDepth != 0;
+	}
+
+	private void handleCellValueChanged(
+			int cellIndex,
+			int oldValue,
+			int newValue)
+	{
+		if (batchDepth != 0)
+		{
+			batchValuesChanged = true;
+
+			if (!batchCommittedConsumers.isEmpty())
+			{
+				batchCellValueChangedEvents.add(new SudokuEvent<>(
+						allSudokuCells.get(cellIndex),
+						SudokuValue.fromValue(oldValue),
+						SudokuValue.fromValue(newValue)));
+			}
+			return;
+		}
+
+		this.updateSolved();
+
+		if (!cellValueChangedConsumers.isEmpty())
+		{
+			SudokuEvent<SudokuCell, SudokuValue> cellValueChangedEvent
+					= new SudokuEvent<>(
+							allSudokuCells.get(cellIndex),
+							SudokuValue.fromValue(oldValue),
+							SudokuValue.fromValue(newValue));
+			cellValueChangedConsumers
+					.forEach(consumer -> consumer.accept(cellValueChangedEvent));
+		}
+	}
+
+	private void handleCellPossibleValuesChanged(
+			int cellIndex,
+			int oldPossibleValues,
+			int newPossibleValues)
+	{
+		if (batchDepth != 0 && batchCommittedConsumers.isEmpty())
+		{
+			return;
+		}
+
+		// Possible values are changed by toggling a single value.
+		SudokuValue value = SudokuValue.fromValue(Integer.numberOfTrailingZeros(
+				oldPossibleValues ^ newPossibleValues) + 1);
+		SudokuEvent<SudokuCell, SudokuValue> cellPossibleValueChangedEvent
+				= new SudokuEvent<>(allSudokuCells.get(cellIndex), value, value);
+
+		if (batchDepth != 0)
+		{
+			batchCellPossibleValueChangedEvents
+					.add(cellPossibleValueChangedEvent);
+			return;
+		}
+
+		cellPossibleValueChangedConsumers
+				.forEach(consumer -> consumer.accept(cellPossibleValueChangedEvent));
+	}
+
+	/**
+	 * Subscribes the board to the changes of its cells only while it has
+	 * consumers to pass them to.
+	 */
+	private void updateSubscriptions()
+	{
+		boolean valueChangesNeeded = !solvedChangedConsumers.isEmpty()
+				|| !cellValueChangedConsumers.isEmpty()
+				|| !batchCommittedConsumers.isEmpty();
+		boolean possibleValuesChangesNeeded
+				= !cellPossibleValueChangedConsumers.isEmpty()
+				|| !batchCommittedConsumers.isEmpty();
+
+		if (valueChangesNeeded && valueChangeSubscription == null)
+		{
+			// Values changed without a subscription do not update it:
+			previousSolved = this.isSolved();
+			valueChangeSubscription = valueChangeDispatcher
+					.subscribe(this::handleCellValueChanged);
+		}
+		else if (!valueChangesNeeded && valueChangeSubscription != null)
+		{
+			valueChangeSubscription.unsubscribe();
+			valueChangeSubscription = null;
+		}
+
+		if (possibleValuesChangesNeeded
+				&& possibleValuesChangeSubscription == null)
+		{
+			possibleValuesChangeSubscription = possibleValuesChangeDispatcher
+					.subscribe(this::handleCellPossibleValuesChanged);
+		}
+		else if (!possibleValuesChangesNeeded
+				&& possibleValuesChangeSubscription != null)
+		{
+			possibleValuesChangeSubscription.unsubscribe();
+			possibleValuesChangeSubscription = null;
+		}
 	}
 
-	private void handleCellValueChanged()
+	private void updateSolved()
 	{
 		boolean currentSolved = this.isSolved();
 
@@ -158,41 +373,100 @@ public class SudokuBoard
 	public boolean addSolvedChangedConsumer(
 			Consumer<SudokuEvent<SudokuBoard, Boolean>> boardSolvedChangedConsumer)
 	{
-		return solvedChangedConsumers.add(boardSolvedChangedConsumer);
+		boolean added = solvedChangedConsumers.add(boardSolvedChangedConsumer);
+		this.updateSubscriptions();
+		return added;
 	}
 
 	public boolean removeSolvedChangedConsumer(
 			Consumer<SudokuEvent<SudokuBoard, Boolean>> boardSolvedChangedConsumer)
 	{
-		return solvedChangedConsumers.remove(boardSolvedChangedConsumer);
+		boolean removed
+				= solvedChangedConsumers.remove(boardSolvedChangedConsumer);
+		this.updateSubscriptions();
+		return removed;
 	}
 
 	public void addCellValueChangedConsumer(
 			Consumer<SudokuEvent<SudokuCell, SudokuValue>> cellValueChangedConsumer)
 	{
-		allSudokuCells.forEach(sudokuCell -> sudokuCell
-				.addCellValueChangedConsumer(cellValueChangedConsumer));
+		cellValueChangedConsumers.add(cellValueChangedConsumer);
+		this.updateSubscriptions();
+	}
+
+	public boolean removeCellValueChangedConsumer(
+			Consumer<SudokuEvent<SudokuCell, SudokuValue>> cellValueChangedConsumer)
+	{
+		boolean removed
+				= cellValueChangedConsumers.remove(cellValueChangedConsumer);
+		this.updateSubscriptions();
+		return removed;
 	}
 
 	public void addCellPossibleValueChangedConsumer(
 			Consumer<SudokuEvent<SudokuCell, SudokuValue>> cellPossibleValueChangedConsumer)
 	{
-		allSudokuCells.forEach(sudokuCell -> sudokuCell
-				.addCellPossibleValueChangedConsumer(cellPossibleValueChangedConsumer));
+		cellPossibleValueChangedConsumers.add(cellPossibleValueChangedConsumer);
+		this.updateSubscriptions();
+	}
+
+	public boolean removeCellPossibleValueChangedConsumer(
+			Consumer<SudokuEvent<SudokuCell, SudokuValue>> cellPossibleValueChangedConsumer)
+	{
+		boolean removed = cellPossibleValueChangedConsumers
+				.remove(cellPossibleValueChangedConsumer);
+		this.updateSubscriptions();
+		return removed;
+	}
+
+	public void addBatchCommittedConsumer(
+			Consumer<SudokuBatchEvent> batchCommittedConsumer)
+	{
+		batchCommittedConsumers.add(batchCommittedConsumer);
+		this.updateSubscriptions();
+	}
+
+	public boolean removeBatchCommittedConsumer(
+			Consumer<SudokuBatchEvent> batchCommittedConsumer)
+	{
+		boolean removed
+				= batchCommittedConsumers.remove(batchCommittedConsumer);
+		this.updateSubscriptions();
+		return removed;
+	}
+
+	/**
+	 * Adds a listener which is passed the cell index, old value and new value
+	 * (0 for no value) of each cell value change. Unlike the consumers, the
+	 * listener is called right away during batches.
+	 */
+	public SudokuSubscription addCellValueChangedListener(
+			SudokuCellChangeListener cellValueChangedListener)
+	{
+		return valueChangeDispatcher.subscribe(cellValueChangedListener);
+	}
+
+	/**
+	 * Adds a listener which is passed the cell index, old possible values
+	 * mask and new possible values mask each time a possible value of a cell
+	 * is toggled. Unlike the consumers, the listener is called right away
+	 * during batches.
+	 */
+	public SudokuSubscription addCellPossibleValuesChangedListener(
+			SudokuCellChangeListener cellPossibleValuesChangedListener)
+	{
+		return possibleValuesChangeDispatcher
+				.subscribe(cellPossibleValuesChangedListener);
 	}
 
 	public boolean isSolved()
 	{
-		return sectionTypeCells.values()
-				.stream()
-				.map(Map::values)
-				.flatMap(Collection::stream)
-				.allMatch(CELL_SECTION_HAS_ALL_VALUES);
+		return boardState.isSolved();
 	}
 
 	public static boolean isValidSavedBoard(String boardString)
 	{
-		return boardString != null && boardString.matches("^\\{\\d{81}}$");
+		return SudokuBoardParser.isValidSavedBoard(boardString);
 	}
 
 	public void setListenersEnabled(boolean enabled)
@@ -0,0 +1,25 @@
+package com.github.ants280.sudoku.game;
+
+/**
+ * Thrown when text cannot be read as a board.
+ */
+public class SudokuBoardFormatException extends IllegalArgumentException
+{
+	private static final long serialVersionUID = 1L;
+	private final int offset;
+
+	public SudokuBoardFormatException(String message, int offset)
+	{
+		super(String.format("%s at offset %d", message, offset));
+		this.offset = offset;
+	}
+
+	/**
+	 * @return The index of the invalid character in the input, or the index
+	 * where a character was expected if the input is too short.
+	 */
+	public int getOffset()
+	{
+		return offset;
+	}
+}
@@ -0,0 +1,320 @@
+package com.github.ants280.sudoku.game;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Reads boards from text without creating intermediate Strings.
+ *
+ * A board is 81 cells in board order, optionally surrounded by braces (the
+ * saved board format). Each cell is a digit, with '0' or '.' for an empty
+ * cell.
+ *
+ * Boards of other sizes have one cell for each cell of their SudokuGeometry,
+ * with letters for the values after 9 ('A' for 10 and so on).
+ */
+public final class SudokuBoardParser
+{
+	public static final int CELL_COUNT = SudokuSections.CELL_COUNT;
+	public static final int SAVED_BOARD_LENGTH = CELL_COUNT + 2;
+	private static final byte INVALID = -1;
+	private static final byte[] CELL_VALUES = createCellValues();
+
+	private SudokuBoardParser()
+	{
+	}
+
+	private static byte[] createCellValues()
+	{
+		byte[] cellValues = new byte[256];
+		Arrays.fill(cellValues, INVALID);
+		cellValues['0'] = 0;
+		cellValues['.'] = 0;
+		for (int value = 1; value <= 9; value++)
+		{
+			cellValues['0' + value] = (byte) value;
+		}
+		return cellValues;
+	}
+
+	/**
+	 * @return True if the text is in the saved board format: 81 digits
+	 * surrounded by braces.
+	 */
+	public static boolean isValidSavedBoard(CharSequence text)
+	{
+		if (text == null
+				|| text.length() != SAVED_BOARD_LENGTH
+				|| text.charAt(0) != '{'
+				|| text.charAt(SAVED_BOARD_LENGTH - 1) != '}')
+		{
+			return false;
+		}
+
+		for (int i = 1; i <= CELL_COUNT; i++)
+		{
+			char ch = text.charAt(i);
+			if (ch < '0' || ch > '9')
+			{
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Reads the board in the text into the values, which must have room for
+	 * 81 cells.
+	 *
+	 * @throws SudokuBoardFormatException If the text is not a board.
+	 */
+	public static void parse(CharSequence text, byte[] values)
+	{
+		int length = text.length();
+		int start = getStart(
+				length == 0 ? 0 : text.charAt(0),
+				length == 0 ? 0 : text.charAt(length - 1),
+				length,
+				0);
+
+		for (int i = 0; i < CELL_COUNT; i++)
+		{
+			int offset = start + i;
+			if (offset >= length)
+			{
+				throw new SudokuBoardFormatException("Board too short", offset);
+			}
+			values[i] = getCellValue(text.charAt(offset), offset);
+		}
+	}
+
+	/**
+	 * Reads the board in the bytes from offset (inclusive) to offset + length
+	 * (exclusive) into the values, which must have room for 81 cells.
+	 *
+	 * @throws SudokuBoardFormatException If the bytes are not a board. The
+	 * offset of the exception is an index of the bytes array.
+	 */
+	public static void parse(byte[] bytes, int offset, int length, byte[] values)
+	{
+		int end = offset + length;
+		int start = getStart(
+				length == 0 ? 0 : (char) (bytes[offset] & 0xFF),
+				length == 0 ? 0 : (char) (bytes[end - 1] & 0xFF),
+				length,
+				offset);
+
+		for (int i = 0; i < CELL_COUNT; i++)
+		{
+			int index = start + i;
+			if (index >= end)
+			{
+				throw new SudokuBoardFormatException("Board too short", index);
+			}
+			values[i] = getCellValue((char) (bytes[index] & 0xFF), index);
+		}
+	}
+
+	/**
+	 * Reads the next line of the buffer into the values, which must have room
+	 * for 81 cells. The line ends at a '\n' (which may be preceded by a '\r')
+	 * or at the limit of the buffer. The position of the buffer is moved past
+	 * the end of the line.
+	 *
+	 * @throws SudokuBoardFormatException If the line is not a board. The
+	 * offset of the exception is an absolute index of the buffer.
+	 */
+	public static void parseLine(ByteBuffer buffer, byte[] values)
+	{
+		int lineStart = buffer.position();
+		int limit = buffer.limit();
+		int lineEnd = lineStart;
+		while (lineEnd < limit && buffer.get(lineEnd) != '\n')
+		{
+			lineEnd++;
+		}
+		buffer.position(lineEnd < limit ? lineEnd + 1 : limit);
+		if (lineEnd > lineStart && buffer.get(lineEnd - 1) == '\r')
+		{
+			lineEnd--;
+		}
+
+		int length = lineEnd - lineStart;
+		int start = getStart(
+				length == 0 ? 0 : (char) (buffer.get(lineStart) & 0xFF),
+				length == 0 ? 0 : (char) (buffer.get(lineEnd - 1) & 0xFF),
+				length,
+				lineStart);
+
+		for (int i = 0; i < CELL_COUNT; i++)
+		{
+			int index = start + i;
+			if (index >= lineEnd)
+			{
+				throw new SudokuBoardFormatException("Board too short", index);
+			}
+			values[i] = getCellValue((char) (buffer.get(index) & 0xFF), index);
+		}
+	}
+
+	/**
+	 * Reads the board in the text into the board state. Cells with values are
+	 * locked, and all possible values are cleared.
+	 *
+	 * @throws SudokuBoardFormatException If the text is not a board.
+	 */
+	public static void parse(CharSequence text, SudokuBoardState boardState)
+	{
+		SudokuGeometry geometry = boardState.getGeometry();
+		if (geometry == SudokuGeometry.NINE)
+		{
+			byte[] values = new byte[CELL_COUNT];
+			parse(text, values);
+			setValues(values, boardState);
+		}
+		else
+		{
+			int[] values = new int[geometry.getCellCount()];
+			parse(text, geometry, values);
+			setValues(values, boardState);
+		}
+	}
+
+	/**
+	 * Reads the board of the geometry in the text into the values, which must
+	 * have room for all the cells of the geometry.
+	 *
+	 * @throws SudokuBoardFormatException If the text is not a board.
+	 */
+	public static void parse(
+			CharSequence text,
+			SudokuGeometry geometry,
+			int[] values)
+	{
+		int cellCount = geometry.getCellCount();
+		int length = text.length();
+		int start = 0;
+		int end = length;
+		if (length != 0 && text.charAt(0) == '{')
+		{
+			if (text.charAt(length - 1) != '}')
+			{
+				throw new SudokuBoardFormatException("Expected '}'", length - 1);
+			}
+			start = 1;
+			end = length - 1;
+		}
+
+		if (end - start < cellCount)
+		{
+			throw new SudokuBoardFormatException("Board too short", end);
+		}
+		if (end - start > cellCount)
+		{
+			throw new SudokuBoardFormatException(
+					"Board too long",
+					start + cellCount);
+		}
+
+		for (int i = 0; i < cellCount; i++)
+		{
+			char ch = text.charAt(start + i);
+			int value = geometry.getCharValue(ch);
+			if (value < 0)
+			{
+				throw new SudokuBoardFormatException(
+						"Invalid cell '" + ch + "'",
+						start + i);
+			}
+			values[i] = value;
+		}
+	}
+
+	/**
+	 * Sets the values of the board state. Cells with values are locked, and
+	 * all possible values are cleared.
+	 */
+	public static void setValues(byte[] values, SudokuBoardState boardState)
+	{
+		for (int i = 0; i < CELL_COUNT; i++)
+		{
+			boardState.setValue(i, values[i]);
+			boardState.setPossibleValues(i, PossibleValuesMask.NONE);
+			boardState.setLocked(i, values[i] != 0);
+		}
+	}
+
+	/**
+	 * Sets the values of the board state, which may be of any size. Cells
+	 * with values are locked, and all possible values are cleared.
+	 */
+	public static void setValues(int[] values, SudokuBoardState boardState)
+	{
+		for (int i = 0; i < values.length; i++)
+		{
+			boardState.setValue(i, values[i]);
+			boardState.setPossibleValues(i, PossibleValuesMask.NONE);
+			boardState.setLocked(i, values[i] != 0);
+		}
+	}
+
+	/**
+	 * @return The cells of the board state in board order, with the
+	 * characters read by the parser and '0' for an empty cell.
+	 */
+	public static String format(SudokuBoardState boardState)
+	{
+		char[] chars = new char[boardState.getCellCount()];
+		for (int i = 0; i < chars.length; i++)
+		{
+			chars[i] = SudokuGeometry.getValueChar(boardState.getValue(i));
+		}
+		return new String(chars);
+	}
+
+	/**
+	 * @param offset The offset of the board, which is added to the offsets
+	 * of the exceptions.
+	 * @return The offset of the first cell.
+	 */
+	private static int getStart(char first, char last, int length, int offset)
+	{
+		if (first == '{')
+		{
+			if (length < SAVED_BOARD_LENGTH)
+			{
+				throw new SudokuBoardFormatException(
+						"Board too short",
+						offset + length);
+			}
+			if (length > SAVED_BOARD_LENGTH || last != '}')
+			{
+				throw new SudokuBoardFormatException(
+						"Expected '}'",
+						offset + SAVED_BOARD_LENGTH - 1);
+			}
+			return offset + 1;
+		}
+
+		if (length > CELL_COUNT)
+		{
+			throw new SudokuBoardFormatException(
+					"Board too long",
+					offset + CELL_COUNT);
+		}
+		return offset;
+	}
+
+	private static byte getCellValue(char ch, int offset)
+	{
+		byte cellValue = ch < CELL_VALUES.length ? CELL_VALUES[ch] : INVALID;
+		if (cellValue == INVALID)
+		{
+			throw new SudokuBoardFormatException(
+					"Invalid cell '" + ch + "'",
+					offset);
+		}
+		return cellValue;
+	}
+}
@@ -0,0 +1,62 @@
+package com.github.ants280.sudoku.game;
+
+/**
+ * The values, possible values, and locked flags of the cells of a board.
+ *
+ * Cells are addressed by their index on the board (row * 9 + column for 9x9
+ * boards). Values are 1-9, or 0 if the cell has no value. Possible values are
+ * bitmasks where bit (value - 1) is set if the value is possible.
+ *
+ * Sections are addressed by SectionType.ordinal() * 9 + the index of the
+ * section: rows are 0-8, columns are 9-17, and groups are 18-26.
+ *
+ * Boards of other sizes use the indices and values of their SudokuGeometry.
+ */
+public interface SudokuBoardState
+{
+	SudokuGeometry getGeometry();
+
+	int getCellCount();
+
+	int getValue(int cellIndex);
+
+	void setValue(int cellIndex, int value);
+
+	int getPossibleValues(int cellIndex);
+
+	void setPossibleValues(int cellIndex, int possibleValues);
+
+	boolean isLocked(int cellIndex);
+
+	void setLocked(int cellIndex, boolean locked);
+
+	/**
+	 * @return A bitmask of the values in the section, with the same bits as
+	 * possible values.
+	 */
+	int getSectionValues(int sectionIndex);
+
+	/**
+	 * @return The number of sections which have all nine values.
+	 */
+	int getCompleteSectionCount();
+
+	boolean isSolved();
+
+	/**
+	 * @return A new state with the same cells which does not share anything
+	 * with this state.
+	 */
+	SudokuBoardState copy();
+
+	/**
+	 * @return A new state with the same cells which shares storage with this
+	 * state until either of them is changed.
+	 */
+	SudokuBoardState fork();
+
+	/**
+	 * Sets all the cells to the cells of the other state.
+	 */
+	void copyFrom(SudokuBoardState other);
+}
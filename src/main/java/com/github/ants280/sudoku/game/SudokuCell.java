@@ -1,28 +1,31 @@
 package com.github.ants280.sudoku.game;
 
+import java.util.AbstractSet;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collection;
-import java.util.Collections;
-import java.util.EnumMap;
-import java.util.EnumSet;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Objects;
-import java.util.Set;
 import java.util.function.Consumer;
-import java.util.stream.Collectors;
+import java.util.function.IntConsumer;
 
+/**
+ * A view of a single cell in a SudokuBoardState.
+ */
 public class SudokuCell
 {
-	private final Map<SectionType, Integer> sectionTypeIndices;
-	private SudokuValue value;
-	private boolean locked;
-	private final Set<SudokuValue> possibleValues;
-	private final Set<SudokuValue> possibleValuesView;
-	private final List<Consumer<SudokuEvent<SudokuCell, SudokuValue>>> cellValueChangedConsumers;
-	private final List<Consumer<SudokuEvent<SudokuCell, SudokuValue>>> cellPossibleValueChangedConsumers;
+	private final SudokuBoardState boardState;
+	private final int cellIndex;
+	private final int rowIndex;
+	private final int columnIndex;
+	private final int groupIndex;
+	private final SudokuCellChangeDispatcher valueChangeDispatcher;
+	private final SudokuCellChangeDispatcher possibleValuesChangeDispatcher;
+	private List<Consumer<SudokuEvent<SudokuCell, SudokuValue>>> cellValueChangedConsumers;
+	private List<Consumer<SudokuEvent<SudokuCell, SudokuValue>>> cellPossibleValueChangedConsumers;
 	private boolean listenersEnabled;
+	private Collection<SudokuValue> possibleValuesView;
 
 	public SudokuCell(
 			int rowIndex,
@@ -31,102 +34,192 @@ public class SudokuCell
 			SudokuValue value,
 			boolean locked)
 	{
+		// A cell that is not on a board is backed by its own state.
+		this(new PackedSudokuBoardState(),
+				0,
+				rowIndex,
+				columnIndex,
+				groupIndex,
+				null,
+				null);
+
 		if (locked && value == null)
 		{
 			throw new IllegalArgumentException(
 					"Cannot lock an empty SudokuCell.");
 		}
 
-		this.sectionTypeIndices = new EnumMap<>(SectionType.class);
-		sectionTypeIndices.put(SectionType.ROW, rowIndex);
-		sectionTypeIndices.put(SectionType.COLUMN, columnIndex);
-		sectionTypeIndices.put(SectionType.GROUP, groupIndex);
-
-		this.value = value;
-		this.locked = locked;
-		this.possibleValues = EnumSet.noneOf(SudokuValue.class);
-		this.possibleValuesView = Collections.unmodifiableSet(possibleValues);
+		boardState.setValue(cellIndex, getValue(value));
+		boardState.setLocked(cellIndex, locked);
+	}
 
-		this.cellValueChangedConsumers = new ArrayList<>();
-		this.cellPossibleValueChangedConsumers = new ArrayList<>();
+	SudokuCell(
+			SudokuBoardState boardState,
+			int cellIndex,
+			int rowIndex,
+			int columnIndex,
+			int groupIndex,
+			SudokuCellChangeDispatcher valueChangeDispatcher,
+			SudokuCellChangeDispatcher possibleValuesChangeDispatcher)
+	{
+		this.boardState = boardState;
+		this.cellIndex = cellIndex;
+		this.rowIndex = rowIndex;
+		this.columnIndex = columnIndex;
+		this.groupIndex = groupIndex;
+		this.valueChangeDispatcher = valueChangeDispatcher;
+		this.possibleValuesChangeDispatcher = possibleValuesChangeDispatcher;
+
+		// The consumer lists are only created when a consumer is added.
+		this.cellValueChangedConsumers = null;
+		this.cellPossibleValueChangedConsumers = null;
 		this.listenersEnabled = true;
+		this.possibleValuesView = null;
 	}
 
 	public int getIndex(SectionType sectionType)
 	{
-		return sectionTypeIndices.get(sectionType);
+		switch (sectionType)
+		{
+			case ROW:
+				return rowIndex;
+			case COLUMN:
+				return columnIndex;
+			case GROUP:
+				return groupIndex;
+			default:
+				throw new IllegalArgumentException(
+						"Unknown SectionType: " + sectionType);
+		}
 	}
 
 	public SudokuValue getValue()
 	{
-		return value;
+		return SudokuValue.fromValue(boardState.getValue(cellIndex));
 	}
 
-	// Returning unmodifiable view of list
-	@SuppressWarnings("squid:S4275")
 	public Collection<SudokuValue> getPossibleValues()
 	{
+		if (possibleValuesView == null)
+		{
+			possibleValuesView = new PossibleValuesView();
+		}
+
 		return possibleValuesView;
 	}
 
+	/**
+	 * @return The possible values of the cell as a PossibleValuesMask.
+	 */
+	public int getPossibleValuesMask()
+	{
+		return boardState.getPossibleValues(cellIndex);
+	}
+
+	public int getPossibleValueCount()
+	{
+		return PossibleValuesMask.count(boardState.getPossibleValues(cellIndex));
+	}
+
+	/**
+	 * @return The possible value if the cell has exactly one, null otherwise.
+	 */
+	public SudokuValue getOnlyPossibleValue()
+	{
+		return SudokuValue.fromValue(PossibleValuesMask.getOnlyValue(
+				boardState.getPossibleValues(cellIndex)));
+	}
+
+	/**
+	 * Passes the number of each possible value (1-9) to the consumer, lowest
+	 * first.
+	 */
+	public void forEachPossibleValue(IntConsumer possibleValueConsumer)
+	{
+		PossibleValuesMask.forEach(
+				boardState.getPossibleValues(cellIndex),
+				possibleValueConsumer);
+	}
+
 	public boolean hasPossibleValue(SudokuValue value)
 	{
-		return possibleValues.contains(value);
+		return PossibleValuesMask.contains(
+				boardState.getPossibleValues(cellIndex),
+				value);
 	}
 
 	public boolean isLocked()
 	{
-		return locked;
+		return boardState.isLocked(cellIndex);
 	}
 
 	public void setValue(SudokuValue value)
 	{
-		if (locked)
+		if (this.isLocked())
 		{
 			throw new IllegalArgumentException(
 					"Cannot set value of locked SudokuCell.");
 		}
 
-		SudokuValue previousValue = this.value;
+		int previousValue = boardState.getValue(cellIndex);
+		int newValue = getValue(value);
 
-		this.value = value;
+		boardState.setValue(cellIndex, newValue);
 
-		if (listenersEnabled && previousValue != value)
+		if (listenersEnabled && previousValue != newValue)
 		{
-			SudokuEvent<SudokuCell, SudokuValue> cellValueChangedEvent
-					= new SudokuEvent<>(this, previousValue, value);
-			cellValueChangedConsumers
-					.forEach(consumer -> consumer.accept(cellValueChangedEvent));
+			if (valueChangeDispatcher != null)
+			{
+				valueChangeDispatcher.fireCellChanged(
+						cellIndex,
+						previousValue,
+						newValue);
+			}
+
+			if (cellValueChangedConsumers != null)
+			{
+				SudokuEvent<SudokuCell, SudokuValue> cellValueChangedEvent
+						= new SudokuEvent<>(
+								this,
+								SudokuValue.fromValue(previousValue),
+								value);
+				cellValueChangedConsumers
+						.forEach(consumer -> consumer.accept(cellValueChangedEvent));
+			}
 		}
 	}
 
 	public void clearPossibleValues()
 	{
-		if (locked)
+		if (this.isLocked())
 		{
 			throw new IllegalArgumentException(
 					"Reset possible values of a locked SudokuCell.");
 		}
 
-		possibleValues.clear();
+		boardState.setPossibleValues(cellIndex, PossibleValuesMask.NONE);
 	}
 
 	public void restoreAllPossibleValues()
 	{
-		if (locked)
+		if (this.isLocked())
 		{
 			throw new IllegalArgumentException(
 					"Restoring possible values of a locked SudokuCell.");
 		}
 
-		Arrays.stream(SudokuValue.values())
-				.filter(v -> !this.hasPossibleValue(v))
-				.forEach(this::togglePossibleValue);
+		for (SudokuValue possibleValue : SudokuValue.values())
+		{
+			if (!this.hasPossibleValue(possibleValue))
+			{
+				this.togglePossibleValue(possibleValue);
+			}
+		}
 	}
 
 	public void togglePossibleValue(SudokuValue value)
 	{
-		if (locked)
+		if (this.isLocked())
 		{
 			throw new IllegalArgumentException(
 					"Cannot toggle possible values of locked SudokuCell.");
@@ -137,56 +230,79 @@ public class SudokuCell
 					"Cannot toggle null possible value on SudokuCell.");
 		}
 
-		if (this.hasPossibleValue(value))
-		{
-			possibleValues.remove(value);
-		}
-		else
-		{
-			possibleValues.add(value);
-		}
+		int previousPossibleValues = boardState.getPossibleValues(cellIndex);
+		int newPossibleValues
+				= previousPossibleValues ^ PossibleValuesMask.of(value);
+
+		boardState.setPossibleValues(cellIndex, newPossibleValues);
 
 		if (listenersEnabled)
 		{
-			SudokuEvent<SudokuCell, SudokuValue> cellPossibleValueChangedEvent
-					= new SudokuEvent<>(this, value, value);
-			cellPossibleValueChangedConsumers
-					.forEach(consumer -> consumer.accept(cellPossibleValueChangedEvent));
+			if (possibleValuesChangeDispatcher != null)
+			{
+				possibleValuesChangeDispatcher.fireCellChanged(
+						cellIndex,
+						previousPossibleValues,
+						newPossibleValues);
+			}
+
+			if (cellPossibleValueChangedConsumers != null)
+			{
+				SudokuEvent<SudokuCell, SudokuValue> cellPossibleValueChangedEvent
+						= new SudokuEvent<>(this, value, value);
+				cellPossibleValueChangedConsumers
+						.forEach(consumer -> consumer.accept(cellPossibleValueChangedEvent));
+			}
 		}
 	}
 
 	public void setLocked(boolean locked)
 	{
-		if (locked && value == null)
+		if (locked && boardState.getValue(cellIndex) == 0)
 		{
 			throw new IllegalArgumentException(
 					"Cannot lock an empty SudokuCell.");
 		}
 
-		this.locked = locked;
-
-		this.possibleValues.clear();
+		boardState.setLocked(cellIndex, locked);
+		boardState.setPossibleValues(cellIndex, PossibleValuesMask.NONE);
 	}
 
 	public void resetFrom(SudokuCell otherSudokuCell)
 	{
-		value = otherSudokuCell.getValue();
-
-		possibleValues.clear();
-		possibleValues.addAll(otherSudokuCell.getPossibleValues());
-
-		locked = otherSudokuCell.isLocked();
+		SudokuBoardState otherBoardState = otherSudokuCell.boardState;
+		int otherCellIndex = otherSudokuCell.cellIndex;
+
+		boardState.setValue(
+				cellIndex,
+				otherBoardState.getValue(otherCellIndex));
+		boardState.setPossibleValues(
+				cellIndex,
+				otherBoardState.getPossibleValues(otherCellIndex));
+		boardState.setLocked(
+				cellIndex,
+				otherBoardState.isLocked(otherCellIndex));
 	}
 
 	public void addCellValueChangedConsumer(
 			Consumer<SudokuEvent<SudokuCell, SudokuValue>> cellValueChangedConsumer)
 	{
+		if (cellValueChangedConsumers == null)
+		{
+			cellValueChangedConsumers = new ArrayList<>();
+		}
+
 		cellValueChangedConsumers.add(cellValueChangedConsumer);
 	}
 
 	public void addCellPossibleValueChangedConsumer(
 			Consumer<SudokuEvent<SudokuCell, SudokuValue>> cellPossibleValueChangedConsumer)
 	{
+		if (cellPossibleValueChangedConsumers == null)
+		{
+			cellPossibleValueChangedConsumers = new ArrayList<>();
+		}
+
 		cellPossibleValueChangedConsumers.add(cellPossibleValueChangedConsumer);
 	}
 
@@ -195,31 +311,38 @@ public class SudokuCell
 		listenersEnabled = enabled;
 	}
 
+	private static int getValue(SudokuValue value)
+	{
+		return value == null ? 0 : value.getValue();
+	}
+
 	@Override
 	public String toString()
 	{
+		StringBuilder possibleValuesText = new StringBuilder();
+		this.forEachPossibleValue(possibleValuesText::append);
+
 		return String.format(
 				"SudokuCell{r%d,c%d,g%d,v=%d,possibleValues=[%s],locked=%s}",
-				this.getIndex(SectionType.ROW),
-				this.getIndex(SectionType.COLUMN),
-				this.getIndex(SectionType.GROUP),
-				value == null ? 0 : value.getValue(),
-				possibleValues.stream()
-						.mapToInt(SudokuValue::getValue)
-						.mapToObj(String::valueOf)
-						.collect(Collectors.joining()),
-				locked ? "Y" : "N");
+				rowIndex,
+				columnIndex,
+				groupIndex,
+				boardState.getValue(cellIndex),
+				possibleValuesText,
+				this.isLocked() ? "Y" : "N");
 	}
 
 	@Override
 	public int hashCode()
 	{
 		int hash = 7;
-		hash = 17 * hash + Objects.hashCode(this.sectionTypeIndices);
-		hash = 17 * hash + Objects.hashCode(this.value);
-		hash = 17 * hash + (this.locked ? 1 : 0);
+		hash = 17 * hash + this.rowIndex;
+		hash = 17 * hash + this.columnIndex;
+		hash = 17 * hash + this.groupIndex;
+		hash = 17 * hash + boardState.getValue(cellIndex);
+		hash = 17 * hash + (this.isLocked() ? 1 : 0);
 		hash = 17 * hash + (this.listenersEnabled ? 1 : 0);
-		hash = 17 * hash + Objects.hashCode(this.possibleValues);
+		hash = 17 * hash + boardState.getPossibleValues(cellIndex);
 		hash = 17 * hash + Objects.hashCode(this.cellValueChangedConsumers);
 		hash = 17 * hash + Objects.hashCode(this.cellPossibleValueChangedConsumers);
 		return hash;
@@ -231,20 +354,83 @@ public class SudokuCell
 		return this == obj
 				|| obj != null
 				&& this.getClass() == obj.getClass()
-				&& this.locked == ((SudokuCell) obj).locked
+				&& this.isLocked() == ((SudokuCell) obj).isLocked()
 				&& this.listenersEnabled == ((SudokuCell) obj).listenersEnabled
-				&& Objects.equals(
-						this.sectionTypeIndices,
-						((SudokuCell) obj).sectionTypeIndices)
-				&& Objects.equals(
-						this.value,
-						((SudokuCell) obj).value)
-				&& Objects.equals(
-						this.possibleValues,
-						((SudokuCell) obj).possibleValues)
+				&& this.rowIndex == ((SudokuCell) obj).rowIndex
+				&& this.columnIndex == ((SudokuCell) obj).columnIndex
+				&& this.groupIndex == ((SudokuCell) obj).groupIndex
+				&& boardState.getValue(cellIndex)
+				== ((SudokuCell) obj).boardState.getValue(((SudokuCell) obj).cellIndex)
+				&& boardState.getPossibleValues(cellIndex)
+				== ((SudokuCell) obj).boardState.getPossibleValues(((SudokuCell) obj).cellIndex)
 				&& Objects.equals(cellValueChangedConsumers,
 						((SudokuCell) obj).cellValueChangedConsumers)
 				&& Objects.equals(cellPossibleValueChangedConsumers,
 						((SudokuCell) obj).cellPossibleValueChangedConsumers);
 	}
+
+	/**
+	 * An unmodifiable view of the possible values of the cell. Iterators see
+	 * the possible values the cell had when they were created.
+	 */
+	private class PossibleValuesView extends AbstractSet<SudokuValue>
+	{
+		@Override
+		public Iterator<SudokuValue> iterator()
+		{
+			return new PossibleValuesViewIterator(
+					boardState.getPossibleValues(cellIndex));
+		}
+
+		@Override
+		public int size()
+		{
+			return getPossibleValueCount();
+		}
+
+		@Override
+		public boolean isEmpty()
+		{
+			return boardState.getPossibleValues(cellIndex) == 0;
+		}
+
+		@Override
+		public boolean contains(Object o)
+		{
+			return o instanceof SudokuValue
+					&& hasPossibleValue((SudokuValue) o);
+		}
+	}
+
+	private static class PossibleValuesViewIterator
+			implements Iterator<SudokuValue>
+	{
+		private int remainingPossibleValues;
+
+		PossibleValuesViewIterator(int possibleValues)
+		{
+			this.remainingPossibleValues = possibleValues & PossibleValuesMask.ALL;
+		}
+
+		@Override
+		public boolean hasNext()
+		{
+			return remainingPossibleValues != 0;
+		}
+
+		@Override
+		public SudokuValue next()
+		{
+			if (!this.hasNext())
+			{
+				throw new NoSuchElementException();
+			}
+
+			int lowestBit = Integer.lowestOneBit(remainingPossibleValues);
+			remainingPossibleValues ^= lowestBit;
+
+			return SudokuValue.fromValue(
+					Integer.numberOfTrailingZeros(lowestBit) + 1);
+		}
+	}
 }
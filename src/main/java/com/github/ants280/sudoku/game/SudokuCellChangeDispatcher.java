@@ -0,0 +1,90 @@
+package com.github.ants280.sudoku.game;
+
+/**
+ * Passes cell changes to SudokuCellChangeListeners. The listeners are kept in
+ * an array which is replaced when a listener is added or removed, so firing a
+ * change does not allocate and listeners can unsubscribe while being called.
+ */
+public class SudokuCellChangeDispatcher
+{
+	private static final SudokuCellChangeListener[] NO_LISTENERS
+			= new SudokuCellChangeListener[0];
+
+	private SudokuCellChangeListener[] listeners;
+
+	public SudokuCellChangeDispatcher()
+	{
+		this.listeners = NO_LISTENERS;
+	}
+
+	public SudokuSubscription subscribe(SudokuCellChangeListener listener)
+	{
+		if (listener == null)
+		{
+			throw new IllegalArgumentException("Cannot subscribe null listener.");
+		}
+
+		SudokuCellChangeListener[] newListeners
+				= new SudokuCellChangeListener[listeners.length + 1];
+		System.arraycopy(listeners, 0, newListeners, 0, listeners.length);
+		newListeners[listeners.length] = listener;
+		listeners = newListeners;
+
+		return new Subscription(listener);
+	}
+
+	private void unsubscribe(SudokuCellChangeListener listener)
+	{
+		for (int i = 0; i < listeners.length; i++)
+		{
+			if (listeners[i] == listener)
+			{
+				SudokuCellChangeListener[] newListeners = listeners.length == 1
+						? NO_LISTENERS
+						: new SudokuCellChangeListener[listeners.length - 1];
+				System.arraycopy(listeners, 0, newListeners, 0, i);
+				System.arraycopy(
+						listeners,
+						i + 1,
+						newListeners,
+						i,
+						listeners.length - i - 1);
+				listeners = newListeners;
+				return;
+			}
+		}
+	}
+
+	public boolean hasListeners()
+	{
+		return listeners.length != 0;
+	}
+
+	public void fireCellChanged(int cellIndex, int oldValue, int newValue)
+	{
+		for (SudokuCellChangeListener listener : listeners)
+		{
+			listener.cellChanged(cellIndex, oldValue, newValue);
+		}
+	}
+
+	private class Subscription implements SudokuSubscription
+	{
+		private SudokuCellChangeListener listener;
+
+		Subscription(SudokuCellChangeListener listener)
+		{
+			this.listener = listener;
+		}
+
+		@Override
+		public void unsubscribe()
+		{
+			if (listener != null)
+			{
+				SudokuCellChangeDispatcher.this.unsubscribe(listener);
+				listener = null;
+			}
+		}
+	}
+}
@@ -0,0 +1,15 @@
+package com.github.ants280.sudoku.game;
+
+/**
+ * Listens for changes to the cells of a SudokuBoard without creating events.
+ */
+@FunctionalInterface
+public interface SudokuCellChangeListener
+{
+	/**
+	 * @param cellIndex The index of the cell on the board (row * 9 + column).
+	 * @param oldValue The value (or possible values mask) before the change.
+	 * @param newValue The value (or possible values mask) after the change.
+	 */
+	void cellChanged(int cellIndex, int oldValue, int newValue);
+}
@@ -0,0 +1,271 @@
+package com.github.ants280.sudoku.game;
+
+import java.util.Arrays;
+
+/**
+ * The shape of a board with square groups: a box size of 3 gives the usual
+ * 9x9 board, 2 gives 4x4, 4 gives 16x16 and 5 gives 25x25.
+ *
+ * Cells are indexed by row * size + column. Sections are indexed by
+ * SectionType.ordinal() * size + the index of the section. Possible values
+ * are int masks where bit (value - 1) is set if the value is possible.
+ *
+ * The arrays returned by this class are shared and must not be modified.
+ */
+public final class SudokuGeometry
+{
+	public static final int MIN_BOX_SIZE = 2;
+	public static final int MAX_BOX_SIZE = 5;
+	private static final SudokuGeometry[] GEOMETRIES = createGeometries();
+	public static final SudokuGeometry NINE = of(3);
+
+	private final int boxSize;
+	private final int size;
+	private final int cellCount;
+	private final int sectionCount;
+	private final int allValues;
+	private final int[][] sectionCells;
+	private final int[][] cellSections;
+	private final int[][] cellPeers;
+
+	private SudokuGeometry(int boxSize)
+	{
+		this.boxSize = boxSize;
+		this.size = boxSize * boxSize;
+		this.cellCount = size * size;
+		this.sectionCount = SectionType.values().length * size;
+		this.allValues = (1 << size) - 1;
+		this.cellSections = createCellSections();
+		this.sectionCells = createSectionCells();
+		this.cellPeers = createCellPeers();
+	}
+
+	private static SudokuGeometry[] createGeometries()
+	{
+		SudokuGeometry[] geometries = new SudokuGeometry[MAX_BOX_SIZE + 1];
+		for (int boxSize = MIN_BOX_SIZE; boxSize <= MAX_BOX_SIZE; boxSize++)
+		{
+			geometries[boxSize] = new SudokuGeometry(boxSize);
+		}
+		return geometries;
+	}
+
+	public static SudokuGeometry of(int boxSize)
+	{
+		if (boxSize < MIN_BOX_SIZE || boxSize > MAX_BOX_SIZE)
+		{
+			throw new IllegalArgumentException(
+					"Invalid box size: " + boxSize);
+		}
+
+		return GEOMETRIES[boxSize];
+	}
+
+	/**
+	 * @return The geometry of a board with the number of cells.
+	 */
+	public static SudokuGeometry forCellCount(int cellCount)
+	{
+		for (int boxSize = MIN_BOX_SIZE; boxSize <= MAX_BOX_SIZE; boxSize++)
+		{
+			if (GEOMETRIES[boxSize].cellCount == cellCount)
+			{
+				return GEOMETRIES[boxSize];
+			}
+		}
+
+		throw new IllegalArgumentException(
+				"Invalid cell count: " + cellCount);
+	}
+
+	/**
+	 * @return A new empty board state. 9x9 boards use the packed state.
+	 */
+	public SudokuBoardState createBoardState()
+	{
+		return this == NINE
+				? new PackedSudokuBoardState()
+				: new GenericSudokuBoardState(this);
+	}
+
+	public int getBoxSize()
+	{
+		return boxSize;
+	}
+
+	/**
+	 * @return The number of cells in each section, which is also the highest
+	 * value.
+	 */
+	public int getSize()
+	{
+		return size;
+	}
+
+	public int getCellCount()
+	{
+		return cellCount;
+	}
+
+	public int getSectionCount()
+	{
+		return sectionCount;
+	}
+
+	public int getPeerCount()
+	{
+		return cellPeers[0].length;
+	}
+
+	/**
+	 * @return The possible values mask with every value.
+	 */
+	public int getAllValues()
+	{
+		return allValues;
+	}
+
+	public int getCellIndex(int rowIndex, int columnIndex)
+	{
+		return rowIndex * size + columnIndex;
+	}
+
+	public int getGroupIndex(int rowIndex, int columnIndex)
+	{
+		return (rowIndex / boxSize) * boxSize + columnIndex / boxSize;
+	}
+
+	public int getSectionIndex(SectionType sectionType, int index)
+	{
+		return sectionType.ordinal() * size + index;
+	}
+
+	/**
+	 * @return The indices of the cells in the section, in board order.
+	 */
+	public int[] getSectionCells(int sectionIndex)
+	{
+		return sectionCells[sectionIndex];
+	}
+
+	/**
+	 * @return The row, column and group section indices of the cell.
+	 */
+	public int[] getCellSections(int cellIndex)
+	{
+		return cellSections[cellIndex];
+	}
+
+	/**
+	 * @return The indices of the other cells which share a section with the
+	 * cell, in board order.
+	 */
+	public int[] getCellPeers(int cellIndex)
+	{
+		return cellPeers[cellIndex];
+	}
+
+	/**
+	 * @return The character for the value: '0' for no value, then '1'-'9',
+	 * then 'A' for 10 and so on.
+	 */
+	public static char getValueChar(int value)
+	{
+		return (char) (value < 10 ? '0' + value : 'A' + value - 10);
+	}
+
+	/**
+	 * @return The value of the character ('0' or '.' for no value), or -1 if
+	 * the character is not a value of this geometry.
+	 */
+	public int getCharValue(char ch)
+	{
+		int value;
+		if (ch == '.' || ch >= '0' && ch <= '9')
+		{
+			value = ch == '.' ? 0 : ch - '0';
+		}
+		else if (ch >= 'A' && ch <= 'Z')
+		{
+			value = ch - 'A' + 10;
+		}
+		else if (ch >= 'a' && ch <= 'z')
+		{
+			value = ch - 'a' + 10;
+		}
+		else
+		{
+			value = -1;
+		}
+
+		return value <= size ? value : -1;
+	}
+
+	private int[][] createCellSections()
+	{
+		int[][] newCellSections = new int[cellCount][];
+		for (int cellIndex = 0; cellIndex < cellCount; cellIndex++)
+		{
+			int rowIndex = cellIndex / size;
+			int columnIndex = cellIndex % size;
+			newCellSections[cellIndex] = new int[]
+			{
+				this.getSectionIndex(SectionType.ROW, rowIndex),
+				this.getSectionIndex(SectionType.COLUMN, columnIndex),
+				this.getSectionIndex(
+						SectionType.GROUP,
+						this.getGroupIndex(rowIndex, columnIndex))
+			};
+		}
+		return newCellSections;
+	}
+
+	private int[][] createSectionCells()
+	{
+		int[][] newSectionCells = new int[sectionCount][size];
+		int[] sectionSizes = new int[sectionCount];
+		for (int cellIndex = 0; cellIndex < cellCount; cellIndex++)
+		{
+			for (int sectionIndex : cellSections[cellIndex])
+			{
+				newSectionCells[sectionIndex][sectionSizes[sectionIndex]++]
+						= cellIndex;
+			}
+		}
+		return newSectionCells;
+	}
+
+	private int[][] createCellPeers()
+	{
+		int[][] newCellPeers = new int[cellCount][];
+		for (int cellIndex = 0; cellIndex < cellCount; cellIndex++)
+		{
+			boolean[] peers = new boolean[cellCount];
+			for (int sectionIndex : cellSections[cellIndex])
+			{
+				for (int peerIndex : sectionCells[sectionIndex])
+				{
+					peers[peerIndex] = peerIndex != cellIndex;
+				}
+			}
+
+			int[] peerIndices = new int[cellCount];
+			int peerCount = 0;
+			for (int peerIndex = 0; peerIndex < cellCount; peerIndex++)
+			{
+				if (peers[peerIndex])
+				{
+					peerIndices[peerCount++] = peerIndex;
+				}
+			}
+			newCellPeers[cellIndex] = Arrays.copyOf(peerIndices, peerCount);
+		}
+		return newCellPeers;
+	}
+
+	@Override
+	public String toString()
+	{
+		return String.format("SudokuGeometry{%dx%d}", size, size);
+	}
+}
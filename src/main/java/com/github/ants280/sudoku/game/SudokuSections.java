@@ -0,0 +1,65 @@
+package com.github.ants280.sudoku.game;
+
+/**
+ * Index tables for the cells and sections of a board, shared by all boards.
+ *
+ * Cells are indexed by row * 9 + column. Sections are indexed by
+ * SectionType.ordinal() * 9 + the index of the section, so rows are 0-8,
+ * columns are 9-17 and groups are 18-26.
+ *
+ * This is the 9x9 SudokuGeometry with the arithmetic written for nine
+ * values, for the code which only handles 9x9 boards.
+ *
+ * The arrays returned by this class are shared and must not be modified.
+ */
+public final class SudokuSections
+{
+	public static final int CELL_COUNT = 81;
+	public static final int SECTION_COUNT = 27;
+	public static final int PEER_COUNT = 20;
+	private static final SudokuGeometry GEOMETRY = SudokuGeometry.NINE;
+
+	private SudokuSections()
+	{
+	}
+
+	public static int getCellIndex(int rowIndex, int columnIndex)
+	{
+		return rowIndex * 9 + columnIndex;
+	}
+
+	public static int getGroupIndex(int rowIndex, int columnIndex)
+	{
+		return (rowIndex / 3) * 3 + columnIndex / 3;
+	}
+
+	public static int getSectionIndex(SectionType sectionType, int index)
+	{
+		return sectionType.ordinal() * 9 + index;
+	}
+
+	/**
+	 * @return The indices of the nine cells in the section, in board order.
+	 */
+	public static int[] getSectionCells(int sectionIndex)
+	{
+		return GEOMETRY.getSectionCells(sectionIndex);
+	}
+
+	/**
+	 * @return The row, column and group section indices of the cell.
+	 */
+	public static int[] getCellSections(int cellIndex)
+	{
+		return GEOMETRY.getCellSections(cellIndex);
+	}
+
+	/**
+	 * @return The indices of the twenty other cells which share a section
+	 * with the cell, in board order.
+	 */
+	public static int[] getCellPeers(int cellIndex)
+	{
+		return GEOMETRY.getCellPeers(cellIndex);
+	}
+}
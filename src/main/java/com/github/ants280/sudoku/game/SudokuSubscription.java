@@ -0,0 +1,13 @@
+package com.github.ants280.sudoku.game;
+
+/**
+ * A handle to a listener which was added to a SudokuBoard.
+ */
+@FunctionalInterface
+public interface SudokuSubscription
+{
+	/**
+	 * Removes the listener. Calling this more than once has no effect.
+	 */
+	void unsubscribe();
+}
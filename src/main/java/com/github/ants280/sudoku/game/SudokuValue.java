@@ -12,6 +12,7 @@ public enum SudokuValue
 	VALUE_8(8),
 	VALUE_9(9),;
 
+	private static final SudokuValue[] VALUES = SudokuValue.values();
 	private final int value;
 	private final String displayValue;
 
@@ -31,18 +32,13 @@ public enum SudokuValue
 		return displayValue;
 	}
 
-	public static SudokuValue fromChar(char ch)
+	public static SudokuValue fromValue(int value)
 	{
-		int chValue = ch - '0';
-
-		for (SudokuValue sudokuValue : SudokuValue.values())
-		{
-			if (sudokuValue.getValue() == chValue)
-			{
-				return sudokuValue;
-			}
-		}
+		return value < 1 || value > VALUES.length ? null : VALUES[value - 1];
+	}
 
-		return null;
+	public static SudokuValue fromChar(char ch)
+	{
+		return ch >= '1' && ch <= '9' ? VALUES[ch - '1'] : null;
 	}
 }
@@ -0,0 +1,34 @@
+package com.github.ants280.sudoku.game.solver;
+
+/**
+ * Asks searches to stop. Searches check the token as they go, so a search
+ * may place a few more values after cancel() is called from another thread.
+ *
+ * A token with a parent is also cancelled when its parent is.
+ */
+public class CancellationToken
+{
+	private final CancellationToken parent;
+	private volatile boolean cancelled;
+
+	public CancellationToken()
+	{
+		this(null);
+	}
+
+	public CancellationToken(CancellationToken parent)
+	{
+		this.parent = parent;
+		this.cancelled = false;
+	}
+
+	public void cancel()
+	{
+		cancelled = true;
+	}
+
+	public boolean isCancelled()
+	{
+		return cancelled || parent != null && parent.isCancelled();
+	}
+}
@@ -0,0 +1,19 @@
+package com.github.ants280.sudoku.game.solver;
+
+/**
+ * The order SudokuLogicSolver tries its plugins in for each move.
+ */
+public enum PluginSchedule
+{
+	/**
+	 * The fixed order, from the simplest deduction to the most advanced.
+	 * Each move is the one a person would be shown as a hint.
+	 */
+	STRICT,
+	/**
+	 * The plugins which have recently made moves most cheaply first, skipping
+	 * plugins which cannot make a move on the board. The moves may differ
+	 * from STRICT, but solving reaches the same board.
+	 */
+	ADAPTIVE;
+}
@@ -0,0 +1,67 @@
+package com.github.ants280.sudoku.game.solver;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * When a search should give up: after trying a number of values (nodes),
+ * after a timeout, or when its cancellation token is cancelled. A search
+ * which gives up returns SearchResult.ABORTED.
+ */
+public class SearchLimits
+{
+	public static final long UNLIMITED = Long.MAX_VALUE;
+	public static final SearchLimits NONE
+			= new SearchLimits(UNLIMITED, UNLIMITED, TimeUnit.NANOSECONDS, null);
+
+	private final long maxNodes;
+	private final long timeoutNanos;
+	private final CancellationToken cancellationToken;
+
+	/**
+	 * @param maxNodes The most values a search may try, or UNLIMITED.
+	 * @param timeout How long a search may run for, or UNLIMITED.
+	 * @param cancellationToken May be null.
+	 */
+	public SearchLimits(
+			long maxNodes,
+			long timeout,
+			TimeUnit unit,
+			CancellationToken cancellationToken)
+	{
+		if (maxNodes < 0 || timeout < 0)
+		{
+			throw new IllegalArgumentException(
+					"Invalid limits: " + maxNodes + " nodes, " + timeout
+					+ " " + unit);
+		}
+
+		this.maxNodes = maxNodes;
+		this.timeoutNanos = timeout == UNLIMITED
+				? UNLIMITED
+				: unit.toNanos(timeout);
+		this.cancellationToken = cancellationToken;
+	}
+
+	public long getMaxNodes()
+	{
+		return maxNodes;
+	}
+
+	/**
+	 * @return The timeout in nanoseconds, or UNLIMITED.
+	 */
+	public long getTimeoutNanos()
+	{
+		return timeoutNanos;
+	}
+
+	public CancellationToken getCancellationToken()
+	{
+		return cancellationToken;
+	}
+
+	public boolean isCancelled()
+	{
+		return cancellationToken != null && cancellationToken.isCancelled();
+	}
+}
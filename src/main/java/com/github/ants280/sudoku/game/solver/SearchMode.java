@@ -0,0 +1,22 @@
+package com.github.ants280.sudoku.game.solver;
+
+/**
+ * How SudokuBruteForceSolver picks the next cell to try values in.
+ */
+public enum SearchMode
+{
+	/**
+	 * The next empty cell in board order.
+	 */
+	CELL_ORDER,
+	/**
+	 * The empty cell with the fewest candidates, after placing all naked and
+	 * hidden singles (see SudokuBitmaskSearch).
+	 */
+	MOST_CONSTRAINED,
+	/**
+	 * MOST_CONSTRAINED, with the first branches searched in parallel on the
+	 * common ForkJoinPool (see SudokuParallelSearch).
+	 */
+	PARALLEL;
+}
@@ -0,0 +1,15 @@
+package com.github.ants280.sudoku.game.solver;
+
+/**
+ * Told how far a search has got, every few thousand values. It is called on
+ * the thread running the search, so it must be quick.
+ */
+@FunctionalInterface
+public interface SearchProgressListener
+{
+	/**
+	 * @param nodeCount The number of values tried so far.
+	 * @param depth The number of branches in progress.
+	 */
+	void searchProgressed(long nodeCount, int depth);
+}
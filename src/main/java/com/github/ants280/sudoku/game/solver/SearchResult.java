@@ -0,0 +1,12 @@
+package com.github.ants280.sudoku.game.solver;
+
+public enum SearchResult
+{
+	SOLVED,
+	UNSOLVABLE,
+	/**
+	 * The search stopped at a limit (see SearchLimits) before it could tell
+	 * whether the board can be solved.
+	 */
+	ABORTED;
+}
@@ -0,0 +1,683 @@
+package com.github.ants280.sudoku.game.solver;
+
+import com.github.ants280.sudoku.game.SudokuGeometry;
+
+/**
+ * A backtracking search which always branches on the empty cell with the
+ * fewest candidates.
+ *
+ * The values used in each section are kept as possible values masks, and the
+ * candidates of a cell are the values not used in any of its sections. Before
+ * each branch, naked singles (cells with one candidate) and hidden singles
+ * (values with one cell left in a section) are placed until there are no
+ * more. Branches are undone by restoring the section masks saved before them
+ * and emptying the cells placed since.
+ *
+ * The search is a loop over an explicit stack of branches rather than
+ * recursion, and can be stopped by SearchLimits. All the arrays are allocated
+ * by the constructor, so an instance can search any number of boards of its
+ * geometry without allocating. An instance must only be used by one thread at
+ * a time.
+ */
+public class SudokuBitmaskSearch
+{
+	/**
+	 * How many values are tried between checks of the clock.
+	 */
+	private static final int CLOCK_CHECK_INTERVAL = 1024;
+	/**
+	 * How many values are tried between calls to the progress listener.
+	 */
+	private static final int PROGRESS_INTERVAL = 4096;
+	static final int NO_EMPTY_CELL = -1;
+	static final int NO_SOLUTION = -2;
+
+	private final SudokuGeometry geometry;
+	private final int cellCount;
+	private final int sectionCount;
+	private final int allValues;
+	private final int[] values;
+	private final int[] sectionValues;
+	private final int[] placedCells;
+	private int placedCount;
+	private final int[] savedSectionValues;
+	private final int[] savedPlacedCounts;
+	private final int[] branchCells;
+	private final int[] branchCandidates;
+	private int bestCell;
+	private int depth;
+	private boolean exhausted;
+	private boolean pendingSolution;
+	private boolean atSolution;
+	private int splitCell;
+	private int splitCandidates;
+	private long nodeCount;
+	private int solutionCount;
+	private SearchProgressListener progressListener;
+
+	public SudokuBitmaskSearch(SudokuGeometry geometry)
+	{
+		this.geometry = geometry;
+		this.cellCount = geometry.getCellCount();
+		this.sectionCount = geometry.getSectionCount();
+		this.allValues = geometry.getAllValues();
+		this.values = new int[cellCount];
+		this.sectionValues = new int[sectionCount];
+		this.placedCells = new int[cellCount];
+		this.placedCount = 0;
+		// Every branch places at least one value, so there are at most
+		// cellCount branches at a time:
+		this.savedSectionValues = new int[cellCount * sectionCount];
+		this.savedPlacedCounts = new int[cellCount];
+		this.branchCells = new int[cellCount];
+		this.branchCandidates = new int[cellCount];
+		this.bestCell = -1;
+		this.depth = 0;
+		this.exhausted = true;
+		this.pendingSolution = false;
+		this.atSolution = false;
+		this.splitCell = -1;
+		this.splitCandidates = 0;
+		this.nodeCount = 0L;
+		this.solutionCount = 0;
+		this.progressListener = null;
+	}
+
+	/**
+	 * @param progressListener Called every PROGRESS_INTERVAL values during
+	 * searches, or null.
+	 */
+	public void setProgressListener(SearchProgressListener progressListener)
+	{
+		this.progressListener = progressListener;
+	}
+
+	public SudokuGeometry getGeometry()
+	{
+		return geometry;
+	}
+
+	/**
+	 * @return The number of values tried by the last search.
+	 */
+	public long getNodeCount()
+	{
+		return nodeCount;
+	}
+
+	/**
+	 * Searches for a solution of the board, without limits.
+	 *
+	 * @see #solve(int[], int[], SearchLimits)
+	 * @return True if a solution was found.
+	 */
+	public boolean solve(int[] values, int[] solution)
+	{
+		return this.solve(values, solution, SearchLimits.NONE)
+				== SearchResult.SOLVED;
+	}
+
+	/**
+	 * Searches for a solution of the board.
+	 *
+	 * @param values The values of the cells, 0 for an empty cell. Not changed.
+	 * @param solution The solution is written to it if one is found. It may
+	 * be the values array.
+	 * @return SOLVED, UNSOLVABLE (boards with conflicting values have no
+	 * solutions) or ABORTED if a limit was reached first.
+	 */
+	public SearchResult solve(
+			int[] values,
+			int[] solution,
+			SearchLimits limits)
+	{
+		return this.search(values, solution, 1, limits);
+	}
+
+	/**
+	 * Counts the solutions of the board, without limits.
+	 *
+	 * @param limit The counting stops at this many solutions.
+	 * @return The number of solutions, up to the limit.
+	 */
+	public int countSolutions(int[] values, int limit)
+	{
+		this.search(values, null, limit, SearchLimits.NONE);
+		return solutionCount;
+	}
+
+	/**
+	 * @return True if the board has exactly one solution. The search stops
+	 * at the second solution.
+	 */
+	public boolean hasUniqueSolution(int[] values)
+	{
+		return this.countSolutions(values, 2) == 1;
+	}
+
+	/**
+	 * Searches for solutions of the board until solutionLimit are found or
+	 * there are no more. The number found is then given by
+	 * getSolutionCount(), even if the search was aborted.
+	 *
+	 * @param values The values of the cells, 0 for an empty cell. Not changed.
+	 * @param solution If not null, the first solution found is written to it.
+	 * It may be the values array.
+	 * @return SOLVED if at least one solution was found before the search
+	 * ended, UNSOLVABLE if the board has no solutions, or ABORTED if a limit
+	 * was reached first.
+	 */
+	public SearchResult search(
+			int[] values,
+			int[] solution,
+			int solutionLimit,
+			SearchLimits limits)
+	{
+		if (solutionLimit <= 0)
+		{
+			throw new IllegalArgumentException(
+					"Invalid solution limit: " + solutionLimit);
+		}
+
+		this.start(values, -1, allValues);
+
+		boolean hasDeadline
+				= limits.getTimeoutNanos() != SearchLimits.UNLIMITED;
+		long deadline = hasDeadline
+				? System.nanoTime() + limits.getTimeoutNanos()
+				: 0L;
+		while (true)
+		{
+			SearchResult result = this.advance(limits, hasDeadline, deadline);
+			if (result != SearchResult.SOLVED)
+			{
+				return result == SearchResult.UNSOLVABLE && solutionCount != 0
+						? SearchResult.SOLVED
+						: result;
+			}
+
+			if (solutionCount == 1 && solution != null)
+			{
+				System.arraycopy(this.values, 0, solution, 0, cellCount);
+			}
+			if (solutionCount >= solutionLimit)
+			{
+				return SearchResult.SOLVED;
+			}
+		}
+	}
+
+	/**
+	 * @return The number of solutions found by the last search.
+	 */
+	public int getSolutionCount()
+	{
+		return solutionCount;
+	}
+
+	/**
+	 * @return False if the values conflict.
+	 */
+	private boolean load(int[] values)
+	{
+		if (values.length != cellCount)
+		{
+			throw new IllegalArgumentException(
+					"Expected " + cellCount + " values, got " + values.length);
+		}
+
+		for (int sectionIndex = 0; sectionIndex < sectionCount; sectionIndex++)
+		{
+			sectionValues[sectionIndex] = 0;
+		}
+		placedCount = 0;
+
+		for (int cellIndex = 0; cellIndex < cellCount; cellIndex++)
+		{
+			int value = values[cellIndex];
+			if (value < 0 || value > geometry.getSize())
+			{
+				throw new IllegalArgumentException(
+						"Invalid value at cell " + cellIndex + ": " + value);
+			}
+
+			this.values[cellIndex] = 0;
+			if (value != 0)
+			{
+				int valueMask = 1 << (value - 1);
+				if ((this.getCandidates(cellIndex) & valueMask) == 0)
+				{
+					return false;
+				}
+				this.place(cellIndex, valueMask);
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Loads the board and places its singles, ready for nextSolution().
+	 *
+	 * @param branchCell If not -1, the cell to branch on first instead of the
+	 * one with the fewest candidates. It must be empty after the singles are
+	 * placed.
+	 * @param candidateFilter Only these values are tried in the first
+	 * branch.
+	 */
+	void start(int[] values, int branchCell, int candidateFilter)
+	{
+		nodeCount = 0L;
+		solutionCount = 0;
+		depth = 0;
+		pendingSolution = false;
+		atSolution = false;
+		exhausted = !this.load(values) || !this.propagate();
+		if (exhausted)
+		{
+			return;
+		}
+
+		if (bestCell < 0)
+		{
+			pendingSolution = true;
+		}
+		else
+		{
+			if (branchCell >= 0)
+			{
+				bestCell = branchCell;
+			}
+			this.pushBranch();
+			branchCandidates[0] &= candidateFilter;
+		}
+	}
+
+	/**
+	 * Finds the next solution of the board given to start(), which can then
+	 * be read with copyValues().
+	 *
+	 * @return False if there are no more solutions.
+	 */
+	boolean nextSolution()
+	{
+		return this.advance(SearchLimits.NONE, false, 0L)
+				== SearchResult.SOLVED;
+	}
+
+	/**
+	 * Copies the values of the board, which is a solution after
+	 * nextSolution() returns true.
+	 */
+	void copyValues(int[] target)
+	{
+		System.arraycopy(values, 0, target, 0, cellCount);
+	}
+
+	/**
+	 * Moves to the next solution. The branches below depth are in progress:
+	 * a value of their cell is being tried. Unless the search is at a
+	 * solution, the branch at depth is waiting for its next value to be
+	 * tried. An aborted search can be advanced again.
+	 *
+	 * @return SOLVED at the next solution, UNSOLVABLE if there are no more
+	 * solutions, or ABORTED.
+	 */
+	private SearchResult advance(
+			SearchLimits limits,
+			boolean hasDeadline,
+			long deadline)
+	{
+		if (exhausted)
+		{
+			return SearchResult.UNSOLVABLE;
+		}
+		if (pendingSolution)
+		{
+			pendingSolution = false;
+			return this.reachSolution();
+		}
+		if (atSolution)
+		{
+			atSolution = false;
+			if (!this.backtrack())
+			{
+				return SearchResult.UNSOLVABLE;
+			}
+		}
+
+		while (true)
+		{
+			int candidates = branchCandidates[depth];
+			if (candidates == 0)
+			{
+				if (!this.backtrack())
+				{
+					return SearchResult.UNSOLVABLE;
+				}
+				continue;
+			}
+
+			if (this.isAborted(limits, hasDeadline, deadline))
+			{
+				return SearchResult.ABORTED;
+			}
+
+			int valueMask = candidates & -candidates;
+			branchCandidates[depth] = candidates & ~valueMask;
+			nodeCount++;
+			if (progressListener != null
+					&& nodeCount % PROGRESS_INTERVAL == 0)
+			{
+				progressListener.searchProgressed(nodeCount, depth);
+			}
+			this.place(branchCells[depth], valueMask);
+
+			if (!this.propagate())
+			{
+				this.restore(depth);
+			}
+			else
+			{
+				depth++;
+				if (bestCell < 0)
+				{
+					return this.reachSolution();
+				}
+				this.pushBranch();
+			}
+		}
+	}
+
+	private SearchResult reachSolution()
+	{
+		atSolution = true;
+		solutionCount++;
+		return SearchResult.SOLVED;
+	}
+
+	/**
+	 * Undoes the branch in progress below depth.
+	 *
+	 * @return False (and the search is exhausted) if there is none.
+	 */
+	private boolean backtrack()
+	{
+		if (depth == 0)
+		{
+			exhausted = true;
+			return false;
+		}
+
+		depth--;
+		this.restore(depth);
+		return true;
+	}
+
+	private void pushBranch()
+	{
+		this.save(depth);
+		branchCells[depth] = bestCell;
+		branchCandidates[depth] = this.getCandidates(bestCell);
+	}
+
+	/**
+	 * Takes the untried values of a branch away from the search, so another
+	 * search can try them: all the untried values of the lowest branch in
+	 * progress, or else half the values of the waiting branch. The board of
+	 * that branch is written to values, and its cell and the values taken are
+	 * given by getSplitCell() and getSplitCandidates().
+	 *
+	 * @return False if there are no values to take.
+	 */
+	boolean split(int[] values)
+	{
+		if (exhausted || pendingSolution)
+		{
+			return false;
+		}
+
+		int splitDepth = -1;
+		for (int i = 0; i < depth && splitDepth < 0; i++)
+		{
+			if (branchCandidates[i] != 0)
+			{
+				splitDepth = i;
+				splitCandidates = branchCandidates[i];
+			}
+		}
+
+		if (splitDepth < 0 && !atSolution)
+		{
+			int candidates = branchCandidates[depth];
+			int count = Integer.bitCount(candidates);
+			if (count >= 2)
+			{
+				// Take the highest half, which would be tried last:
+				int highestCandidates = candidates;
+				for (int i = count - count / 2; i > 0; i--)
+				{
+					highestCandidates &= highestCandidates - 1;
+				}
+				splitDepth = depth;
+				splitCandidates = highestCandidates;
+			}
+		}
+
+		if (splitDepth < 0)
+		{
+			return false;
+		}
+
+		branchCandidates[splitDepth] &= ~splitCandidates;
+		splitCell = branchCells[splitDepth];
+		for (int cellIndex = 0; cellIndex < cellCount; cellIndex++)
+		{
+			values[cellIndex] = 0;
+		}
+		for (int i = 0; i < savedPlacedCounts[splitDepth]; i++)
+		{
+			int cellIndex = placedCells[i];
+			values[cellIndex] = this.values[cellIndex];
+		}
+		return true;
+	}
+
+	int getSplitCell()
+	{
+		return splitCell;
+	}
+
+	int getSplitCandidates()
+	{
+		return splitCandidates;
+	}
+
+	/**
+	 * Places the naked and hidden singles of the board in the values, and
+	 * leaves the board loaded so getCandidates() can be called. This is the
+	 * work done before the first branch, for splitting a search.
+	 *
+	 * @return The empty cell with the fewest candidates, NO_EMPTY_CELL if the
+	 * board is full or NO_SOLUTION if the board cannot be solved.
+	 */
+	int expand(int[] values)
+	{
+		if (!this.load(values) || !this.propagate())
+		{
+			return NO_SOLUTION;
+		}
+
+		System.arraycopy(this.values, 0, values, 0, cellCount);
+		return bestCell < 0 ? NO_EMPTY_CELL : bestCell;
+	}
+
+	private boolean isAborted(
+			SearchLimits limits,
+			boolean hasDeadline,
+			long deadline)
+	{
+		return nodeCount >= limits.getMaxNodes()
+				|| limits.isCancelled()
+				|| hasDeadline
+				&& nodeCount % CLOCK_CHECK_INTERVAL == 0
+				&& System.nanoTime() - deadline >= 0;
+	}
+
+	/**
+	 * Places naked and hidden singles until there are none left, and finds
+	 * the empty cell with the fewest candidates (bestCell, or -1 if the board
+	 * is full).
+	 *
+	 * @return False if a cell has no candidates or a value has no cell left
+	 * in a section.
+	 */
+	private boolean propagate()
+	{
+		boolean changed = true;
+		while (changed)
+		{
+			changed = false;
+			bestCell = -1;
+			int bestCount = Integer.MAX_VALUE;
+
+			for (int cellIndex = 0; cellIndex < cellCount; cellIndex++)
+			{
+				if (values[cellIndex] != 0)
+				{
+					continue;
+				}
+
+				int candidates = this.getCandidates(cellIndex);
+				int count = Integer.bitCount(candidates);
+				if (count == 0)
+				{
+					return false;
+				}
+				if (count == 1)
+				{
+					this.place(cellIndex, candidates);
+					changed = true;
+				}
+				else if (count < bestCount)
+				{
+					bestCell = cellIndex;
+					bestCount = count;
+				}
+			}
+
+			for (int sectionIndex = 0; sectionIndex < sectionCount; sectionIndex++)
+			{
+				int hiddenSingles = this.getHiddenSingles(sectionIndex);
+				if (hiddenSingles < 0)
+				{
+					return false;
+				}
+				if (hiddenSingles != 0)
+				{
+					if (!this.placeHiddenSingles(sectionIndex, hiddenSingles))
+					{
+						return false;
+					}
+					changed = true;
+				}
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * @return The values which can only go in one empty cell of the section,
+	 * or -1 if a value cannot go in any cell of the section.
+	 */
+	private int getHiddenSingles(int sectionIndex)
+	{
+		int once = 0;
+		int twice = 0;
+		for (int cellIndex : geometry.getSectionCells(sectionIndex))
+		{
+			if (values[cellIndex] == 0)
+			{
+				int candidates = this.getCandidates(cellIndex);
+				twice |= once & candidates;
+				once |= candidates;
+			}
+		}
+
+		int used = sectionValues[sectionIndex];
+		if ((once | used) != allValues)
+		{
+			return -1;
+		}
+		return once & ~twice & ~used;
+	}
+
+	/**
+	 * @return False if two of the values must go in the same cell.
+	 */
+	private boolean placeHiddenSingles(int sectionIndex, int hiddenSingles)
+	{
+		for (int cellIndex : geometry.getSectionCells(sectionIndex))
+		{
+			if (values[cellIndex] == 0)
+			{
+				int cellHiddenSingles
+						= this.getCandidates(cellIndex) & hiddenSingles;
+				if (cellHiddenSingles != 0)
+				{
+					if (Integer.bitCount(cellHiddenSingles) != 1)
+					{
+						return false;
+					}
+					this.place(cellIndex, cellHiddenSingles);
+				}
+			}
+		}
+		return true;
+	}
+
+	int getCandidates(int cellIndex)
+	{
+		int[] cellSections = geometry.getCellSections(cellIndex);
+		return allValues & ~(sectionValues[cellSections[0]]
+				| sectionValues[cellSections[1]]
+				| sectionValues[cellSections[2]]);
+	}
+
+	private void place(int cellIndex, int valueMask)
+	{
+		values[cellIndex] = Integer.numberOfTrailingZeros(valueMask) + 1;
+		for (int sectionIndex : geometry.getCellSections(cellIndex))
+		{
+			sectionValues[sectionIndex] |= valueMask;
+		}
+		placedCells[placedCount++] = cellIndex;
+	}
+
+	private void save(int depth)
+	{
+		System.arraycopy(
+				sectionValues,
+				0,
+				savedSectionValues,
+				depth * sectionCount,
+				sectionCount);
+		savedPlacedCounts[depth] = placedCount;
+	}
+
+	private void restore(int depth)
+	{
+		System.arraycopy(
+				savedSectionValues,
+				depth * sectionCount,
+				sectionValues,
+				0,
+				sectionCount);
+		int savedPlacedCount = savedPlacedCounts[depth];
+		while (placedCount > savedPlacedCount)
+		{
+			values[placedCells[--placedCount]] = 0;
+		}
+	}
+}
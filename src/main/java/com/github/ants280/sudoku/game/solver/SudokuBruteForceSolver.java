@@ -2,6 +2,7 @@ package com.github.ants280.sudoku.game.solver;
 
 import com.github.ants280.sudoku.game.SectionType;
 import com.github.ants280.sudoku.game.SudokuBoard;
+import com.github.ants280.sudoku.game.SudokuBoardState;
 import com.github.ants280.sudoku.game.SudokuCell;
 import com.github.ants280.sudoku.game.SudokuValue;
 import java.util.Arrays;
@@ -18,10 +19,36 @@ public class SudokuBruteForceSolver extends SudokuSolver
 					sectionType,
 					sudokuCell.getIndex(sectionType)))
 					.noneMatch(this::hasDuplicateValues);
+	private final SearchMode searchMode;
+	private SearchProgressListener progressListener;
 
 	public SudokuBruteForceSolver(SudokuBoard sudokuBoard)
+	{
+		this(sudokuBoard, SearchMode.CELL_ORDER);
+	}
+
+	public SudokuBruteForceSolver(
+			SudokuBoard sudokuBoard,
+			SearchMode searchMode)
 	{
 		super(sudokuBoard);
+
+		this.searchMode = searchMode;
+		this.progressListener = null;
+	}
+
+	public SearchMode getSearchMode()
+	{
+		return searchMode;
+	}
+
+	/**
+	 * @param progressListener Told the progress of solve(), or null. It is
+	 * not called in the PARALLEL search mode.
+	 */
+	public void setProgressListener(SearchProgressListener progressListener)
+	{
+		this.progressListener = progressListener;
 	}
 
 	@Override
@@ -32,12 +59,66 @@ public class SudokuBruteForceSolver extends SudokuSolver
 
 	@Override
 	public void solveFast()
+	{
+		if (searchMode != SearchMode.CELL_ORDER)
+		{
+			this.solve(SearchLimits.NONE);
+		}
+		else
+		{
+			super.initialize();
+
+			sudokuBoard.setListenersEnabled(false);
+			this.canBruteForceSolve(0);
+			sudokuBoard.setListenersEnabled(true);
+		}
+	}
+
+	/**
+	 * Solves the board with SudokuParallelSearch in the PARALLEL search mode,
+	 * and SudokuBitmaskSearch otherwise, since the cell order search cannot
+	 * be stopped. The board is only changed if it is solved.
+	 */
+	public SearchResult solve(SearchLimits limits)
 	{
 		super.initialize();
 
-		sudokuBoard.setListenersEnabled(false);
-		this.canBruteForceSolve(0);
-		sudokuBoard.setListenersEnabled(true);
+		SudokuBoardState boardState = sudokuBoard.getBoardState();
+		int[] values = new int[boardState.getCellCount()];
+		for (int i = 0; i < values.length; i++)
+		{
+			values[i] = boardState.getValue(i);
+		}
+
+		int[] solution = new int[values.length];
+		SearchResult result;
+		if (searchMode == SearchMode.PARALLEL)
+		{
+			result = new SudokuParallelSearch(boardState.getGeometry())
+					.solve(values, solution, limits);
+		}
+		else
+		{
+			SudokuBitmaskSearch search
+					= new SudokuBitmaskSearch(boardState.getGeometry());
+			search.setProgressListener(progressListener);
+			result = search.solve(values, solution, limits);
+		}
+		if (result == SearchResult.SOLVED)
+		{
+			sudokuBoard.setListenersEnabled(false);
+			List<SudokuCell> allSudokuCells = sudokuBoard.getAllSudokuCells();
+			for (int i = 0; i < values.length; i++)
+			{
+				if (values[i] == 0)
+				{
+					allSudokuCells.get(i)
+							.setValue(SudokuValue.fromValue(solution[i]));
+				}
+			}
+			sudokuBoard.setListenersEnabled(true);
+		}
+		return result;
 	}
 
 	private boolean canBruteForceSolve(int index)
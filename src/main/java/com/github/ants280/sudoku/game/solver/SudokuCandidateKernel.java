@@ -0,0 +1,189 @@
+package com.github.ants280.sudoku.game.solver;
+
+import com.github.ants280.sudoku.game.PossibleValuesMask;
+import com.github.ants280.sudoku.game.SudokuBoardState;
+import com.github.ants280.sudoku.game.SudokuSections;
+
+/**
+ * The possible values of the sections of a 9x9 board, packed so the facts
+ * about a whole section come from a few operations on longs rather than a
+ * loop over its cells.
+ *
+ * Each section is three words of four 16 bit lanes. Lane i of the section
+ * (word i / 4, bits 16 * (i % 4) and up) holds the possible values of the
+ * i-th cell of SudokuSections.getSectionCells(), or 0 if the cell has a
+ * value. The top seven bits of each lane are always 0, so lanes never carry
+ * into each other.
+ *
+ * An instance is loaded from a board state and then read, and must only be
+ * used by one thread at a time.
+ */
+public class SudokuCandidateKernel
+{
+	public static final int WORDS_PER_SECTION = 3;
+	private static final int LANE_BITS = 16;
+	private static final int LANES_PER_WORD = 4;
+	private static final long LOW_LANE_BITS = 0x0001_0001_0001_0001L;
+	/**
+	 * Multiplying the low bits of the four lanes by this moves the bit of
+	 * lane i to bit 48 + i. The other partial products land on distinct bits
+	 * below 48 or at 64 and above, so nothing carries into bits 48-51.
+	 */
+	private static final long GATHER_LANES = 0x0001_0002_0004_0008L;
+
+	private final long[] words;
+
+	public SudokuCandidateKernel()
+	{
+		this.words = new long[SudokuSections.SECTION_COUNT * WORDS_PER_SECTION];
+	}
+
+	/**
+	 * Packs the possible values of the empty cells of the board state.
+	 */
+	public void load(SudokuBoardState boardState)
+	{
+		for (int sectionIndex = 0;
+				sectionIndex < SudokuSections.SECTION_COUNT;
+				sectionIndex++)
+		{
+			int[] sectionCells = SudokuSections.getSectionCells(sectionIndex);
+			int wordIndex = sectionIndex * WORDS_PER_SECTION;
+			long word = 0L;
+			for (int i = 0; i < sectionCells.length; i++)
+			{
+				int cellIndex = sectionCells[i];
+				if (boardState.getValue(cellIndex) == 0)
+				{
+					word |= (long) boardState.getPossibleValues(cellIndex)
+							<< (LANE_BITS * (i % LANES_PER_WORD));
+				}
+
+				if (i % LANES_PER_WORD == LANES_PER_WORD - 1
+						|| i == sectionCells.length - 1)
+				{
+					words[wordIndex++] = word;
+					word = 0L;
+				}
+			}
+		}
+	}
+
+	/**
+	 * @return The values possible in at least one cell of the section.
+	 */
+	public int getPossibleValues(int sectionIndex)
+	{
+		int wordIndex = sectionIndex * WORDS_PER_SECTION;
+		long union = words[wordIndex]
+				| words[wordIndex + 1]
+				| words[wordIndex + 2];
+		union |= union >>> 32;
+		union |= union >>> 16;
+		return (int) union & PossibleValuesMask.ALL;
+	}
+
+	/**
+	 * @return The values possible in exactly one cell of the section.
+	 */
+	public int getHiddenSingles(int sectionIndex)
+	{
+		int wordIndex = sectionIndex * WORDS_PER_SECTION;
+		// Across the words, lane by lane:
+		long once = words[wordIndex];
+		long twice = once & words[wordIndex + 1];
+		once |= words[wordIndex + 1];
+		twice |= once & words[wordIndex + 2];
+		once |= words[wordIndex + 2];
+
+		// Then across the lanes, halving them each time:
+		long high = once >>> 32;
+		twice |= (twice >>> 32) | (once & high);
+		once |= high;
+		high = once >>> 16;
+		twice |= (twice >>> 16) | (once & high);
+		once |= high;
+
+		return (int) (once & ~twice) & PossibleValuesMask.ALL;
+	}
+
+	/**
+	 * @param value 1-9.
+	 * @return The positions of the cells of the section where the value is
+	 * possible: bit i is set for the i-th cell of
+	 * SudokuSections.getSectionCells().
+	 */
+	public int getPositions(int sectionIndex, int value)
+	{
+		int wordIndex = sectionIndex * WORDS_PER_SECTION;
+		int shift = value - 1;
+		int positions = 0;
+		for (int i = 0; i < WORDS_PER_SECTION; i++)
+		{
+			long lanes = (words[wordIndex + i] >>> shift) & LOW_LANE_BITS;
+			positions |= (int) ((lanes * GATHER_LANES) >>> 48)
+					<< (LANES_PER_WORD * i);
+		}
+		return positions;
+	}
+
+	/**
+	 * Finds the hidden singles of all the sections.
+	 *
+	 * @param cellHiddenSingles For each cell, set to the values which are
+	 * possible in no other cell of at least one of its sections.
+	 * @return True if there are any hidden singles.
+	 */
+	public boolean findHiddenSingles(int[] cellHiddenSingles)
+	{
+		return this.findHiddenSingles(
+				cellHiddenSingles,
+				SudokuSolverPlugin.ALL_SECTIONS);
+	}
+
+	/**
+	 * Finds the hidden singles of the sections of the mask.
+	 *
+	 * @param cellHiddenSingles For each cell, set to the values which are
+	 * possible in no other cell of at least one of its sections in the mask.
+	 * @param sectionMask Bit i is set for section index i.
+	 * @return True if there are any hidden singles.
+	 */
+	public boolean findHiddenSingles(int[] cellHiddenSingles, int sectionMask)
+	{
+		for (int i = 0; i < SudokuSections.CELL_COUNT; i++)
+		{
+			cellHiddenSingles[i] = PossibleValuesMask.NONE;
+		}
+
+		boolean found = false;
+		for (int sectionIndex = 0;
+				sectionIndex < SudokuSections.SECTION_COUNT;
+				sectionIndex++)
+		{
+			if ((sectionMask & (1 << sectionIndex)) == 0)
+			{
+				continue;
+			}
+
+			int hiddenSingles = this.getHiddenSingles(sectionIndex);
+			if (hiddenSingles == 0)
+			{
+				continue;
+			}
+
+			found = true;
+			int[] sectionCells = SudokuSections.getSectionCells(sectionIndex);
+			while (hiddenSingles != 0)
+			{
+				int valueBit = hiddenSingles & -hiddenSingles;
+				hiddenSingles ^= valueBit;
+				int position = Integer.numberOfTrailingZeros(this.getPositions(
+						sectionIndex,
+						Integer.numberOfTrailingZeros(valueBit) + 1));
+				cellHiddenSingles[sectionCells[position]] |= valueBit;
+			}
+		}
+		return found;
+	}
+}
@@ -0,0 +1,563 @@
+package com.github.ants280.sudoku.game.solver;
+
+import com.github.ants280.sudoku.game.SudokuGeometry;
+import java.util.Arrays;
+
+/**
+ * Solves boards as a satisfiability problem with conflict driven clause
+ * learning.
+ *
+ * There is a variable for each value of each cell (729 for a 9x9 board),
+ * which is true if the cell has the value. The clauses say that each cell
+ * has exactly one value and each section has each value exactly once, and
+ * the values of the board are assigned before the search starts. Literals
+ * are 2 * variable for "the cell has the value" and 2 * variable + 1 for its
+ * negation.
+ *
+ * Clauses are propagated with two watched literals. When a clause is
+ * falsified, the search learns a clause (a nogood) from the first unique
+ * implication point of the conflict, and jumps back to the highest decision
+ * level where that clause implies a value, rather than just undoing the last
+ * decision. Decisions pick the variable involved in the most recent
+ * conflicts, and the search restarts from time to time, keeping what it has
+ * learned.
+ *
+ * The clauses of the rules are built once. Learned clauses only hold for
+ * the board they were learned from, so they are dropped by the next search.
+ * An instance must only be used by one thread at a time.
+ */
+public class SudokuConflictLearningSearch
+{
+	private static final byte UNASSIGNED = 0;
+	private static final byte TRUE = 1;
+	private static final byte FALSE = -1;
+	private static final int NO_REASON = -1;
+	private static final double ACTIVITY_DECAY = 0.95;
+	private static final double ACTIVITY_LIMIT = 1e100;
+	private static final int FIRST_RESTART = 100;
+	private static final double RESTART_GROWTH = 1.5;
+	private static final int CLOCK_CHECK_INTERVAL = 256;
+
+	private final SudokuGeometry geometry;
+	private final int size;
+	private final int cellCount;
+	private final int variableCount;
+	private final int ruleClauseCount;
+	private int[] clauseLiterals;
+	private int[] clauseStarts;
+	private int clauseCount;
+	private final int[][] watches;
+	private final int[] watchCounts;
+	private final byte[] literalValues;
+	private final int[] levels;
+	private final int[] reasons;
+	private final int[] trail;
+	private int trailSize;
+	private int propagatedCount;
+	private final int[] levelStarts;
+	private int decisionLevel;
+	private final double[] activities;
+	private double activityIncrement;
+	private final boolean[] seen;
+	private int[] learnedLiterals;
+	private long decisionCount;
+	private long conflictCount;
+
+	public SudokuConflictLearningSearch(SudokuGeometry geometry)
+	{
+		this.geometry = geometry;
+		this.size = geometry.getSize();
+		this.cellCount = geometry.getCellCount();
+		this.variableCount = cellCount * size;
+
+		this.clauseLiterals = new int[1024];
+		this.clauseStarts = new int[64];
+		this.clauseCount = 0;
+		this.addRuleClauses();
+		this.ruleClauseCount = clauseCount;
+
+		this.watches = new int[2 * variableCount][];
+		this.watchCounts = new int[2 * variableCount];
+		for (int literal = 0; literal < watches.length; literal++)
+		{
+			watches[literal] = new int[4];
+		}
+		this.literalValues = new byte[2 * variableCount];
+		this.levels = new int[variableCount];
+		this.reasons = new int[variableCount];
+		this.trail = new int[variableCount];
+		this.trailSize = 0;
+		this.propagatedCount = 0;
+		this.levelStarts = new int[variableCount + 1];
+		this.decisionLevel = 0;
+		this.activities = new double[variableCount];
+		this.activityIncrement = 1.0;
+		this.seen = new boolean[variableCount];
+		this.learnedLiterals = new int[size * 4];
+		this.decisionCount = 0L;
+		this.conflictCount = 0L;
+	}
+
+	public SudokuGeometry getGeometry()
+	{
+		return geometry;
+	}
+
+	/**
+	 * @return The number of decisions made by the last search.
+	 */
+	public long getDecisionCount()
+	{
+		return decisionCount;
+	}
+
+	/**
+	 * @return The number of conflicts (and learned clauses) of the last
+	 * search.
+	 */
+	public long getConflictCount()
+	{
+		return conflictCount;
+	}
+
+	private int getVariable(int cellIndex, int value)
+	{
+		return cellIndex * size + value - 1;
+	}
+
+	private void addRuleClauses()
+	{
+		int[] literals = new int[size];
+		for (int cellIndex = 0; cellIndex < cellCount; cellIndex++)
+		{
+			for (int value = 1; value <= size; value++)
+			{
+				literals[value - 1] = 2 * this.getVariable(cellIndex, value);
+			}
+			this.addExactlyOne(literals);
+		}
+
+		for (int sectionIndex = 0;
+				sectionIndex < geometry.getSectionCount();
+				sectionIndex++)
+		{
+			int[] sectionCells = geometry.getSectionCells(sectionIndex);
+			for (int value = 1; value <= size; value++)
+			{
+				for (int i = 0; i < size; i++)
+				{
+					literals[i] = 2 * this.getVariable(sectionCells[i], value);
+				}
+				this.addExactlyOne(literals);
+			}
+		}
+	}
+
+	private void addExactlyOne(int[] literals)
+	{
+		this.addClause(literals, literals.length);
+
+		int[] pair = new int[2];
+		for (int i = 0; i < literals.length; i++)
+		{
+			for (int j = i + 1; j < literals.length; j++)
+			{
+				pair[0] = literals[i] ^ 1;
+				pair[1] = literals[j] ^ 1;
+				this.addClause(pair, 2);
+			}
+		}
+	}
+
+	/**
+	 * @return The index of the new clause.
+	 */
+	private int addClause(int[] literals, int length)
+	{
+		if (clauseCount + 2 > clauseStarts.length)
+		{
+			clauseStarts = Arrays.copyOf(clauseStarts, clauseStarts.length * 2);
+		}
+		int start = clauseStarts[clauseCount];
+		if (start + length > clauseLiterals.length)
+		{
+			clauseLiterals = Arrays.copyOf(
+					clauseLiterals,
+					Math.max(clauseLiterals.length * 2, start + length));
+		}
+
+		System.arraycopy(literals, 0, clauseLiterals, start, length);
+		clauseStarts[clauseCount + 1] = start + length;
+		return clauseCount++;
+	}
+
+	private void watch(int literal, int clause)
+	{
+		int[] literalWatches = watches[literal];
+		if (watchCounts[literal] == literalWatches.length)
+		{
+			literalWatches = Arrays.copyOf(
+					literalWatches,
+					literalWatches.length * 2);
+			watches[literal] = literalWatches;
+		}
+		literalWatches[watchCounts[literal]++] = clause;
+	}
+
+	/**
+	 * Searches for a solution of the board.
+	 *
+	 * @param values The values of the cells, 0 for an empty cell. Not changed.
+	 * @param solution The solution is written to it if one is found. It may
+	 * be the values array.
+	 * @param limits The node budget limits the number of decisions.
+	 * @return SOLVED, UNSOLVABLE or ABORTED if a limit was reached first.
+	 */
+	public SearchResult solve(
+			int[] values,
+			int[] solution,
+			SearchLimits limits)
+	{
+		if (values.length != cellCount)
+		{
+			throw new IllegalArgumentException(
+					"Expected " + cellCount + " values, got " + values.length);
+		}
+
+		this.reset();
+		for (int cellIndex = 0; cellIndex < cellCount; cellIndex++)
+		{
+			int value = values[cellIndex];
+			if (value < 0 || value > size)
+			{
+				throw new IllegalArgumentException(
+						"Invalid value at cell " + cellIndex + ": " + value);
+			}
+
+			if (value != 0)
+			{
+				// Conflicting values are found by the first propagation:
+				this.assign(
+						2 * this.getVariable(cellIndex, value),
+						NO_REASON);
+			}
+		}
+
+		SearchResult result = this.search(limits);
+		if (result == SearchResult.SOLVED)
+		{
+			for (int cellIndex = 0; cellIndex < cellCount; cellIndex++)
+			{
+				for (int value = 1; value <= size; value++)
+				{
+					if (literalValues[2 * this.getVariable(cellIndex, value)]
+							== TRUE)
+					{
+						solution[cellIndex] = value;
+					}
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Drops the learned clauses and assignments of the last search, and
+	 * watches the first two literals of each rule clause.
+	 */
+	private void reset()
+	{
+		clauseCount = ruleClauseCount;
+		Arrays.fill(watchCounts, 0);
+		for (int clause = 0; clause < clauseCount; clause++)
+		{
+			int start = clauseStarts[clause];
+			this.watch(clauseLiterals[start], clause);
+			this.watch(clauseLiterals[start + 1], clause);
+		}
+
+		Arrays.fill(literalValues, UNASSIGNED);
+		Arrays.fill(activities, 0.0);
+		activityIncrement = 1.0;
+		trailSize = 0;
+		propagatedCount = 0;
+		decisionLevel = 0;
+		decisionCount = 0L;
+		conflictCount = 0L;
+	}
+
+	private SearchResult search(SearchLimits limits)
+	{
+		boolean hasDeadline
+				= limits.getTimeoutNanos() != SearchLimits.UNLIMITED;
+		long deadline = hasDeadline
+				? System.nanoTime() + limits.getTimeoutNanos()
+				: 0L;
+		long restartConflicts = FIRST_RESTART;
+		long conflictsSinceRestart = 0L;
+
+		while (true)
+		{
+			int conflict = this.propagate();
+			if (conflict != NO_REASON)
+			{
+				conflictCount++;
+				conflictsSinceRestart++;
+				if (decisionLevel == 0)
+				{
+					return SearchResult.UNSOLVABLE;
+				}
+
+				this.learn(conflict);
+				continue;
+			}
+
+			if (conflictsSinceRestart >= restartConflicts)
+			{
+				conflictsSinceRestart = 0L;
+				restartConflicts = (long) (restartConflicts * RESTART_GROWTH);
+				this.backtrack(0);
+			}
+
+			int variable = this.getDecisionVariable();
+			if (variable < 0)
+			{
+				return SearchResult.SOLVED;
+			}
+
+			if (decisionCount >= limits.getMaxNodes()
+					|| limits.isCancelled()
+					|| hasDeadline
+					&& decisionCount % CLOCK_CHECK_INTERVAL == 0
+					&& System.nanoTime() - deadline >= 0)
+			{
+				return SearchResult.ABORTED;
+			}
+
+			decisionCount++;
+			levelStarts[decisionLevel++] = trailSize;
+			this.assign(2 * variable, NO_REASON);
+		}
+	}
+
+	private void assign(int literal, int reason)
+	{
+		int variable = literal >> 1;
+		literalValues[literal] = TRUE;
+		literalValues[literal ^ 1] = FALSE;
+		levels[variable] = decisionLevel;
+		reasons[variable] = reason;
+		trail[trailSize++] = literal;
+	}
+
+	/**
+	 * Assigns the literals implied by the assigned ones.
+	 *
+	 * @return The clause which is false, or NO_REASON if there is none.
+	 */
+	private int propagate()
+	{
+		while (propagatedCount < trailSize)
+		{
+			int falseLiteral = trail[propagatedCount++] ^ 1;
+			int[] literalWatches = watches[falseLiteral];
+			int watchCount = watchCounts[falseLiteral];
+			int kept = 0;
+			int i = 0;
+			while (i < watchCount)
+			{
+				int clause = literalWatches[i++];
+				int start = clauseStarts[clause];
+				int end = clauseStarts[clause + 1];
+
+				// Keep the false literal second:
+				if (clauseLiterals[start] == falseLiteral)
+				{
+					clauseLiterals[start] = clauseLiterals[start + 1];
+					clauseLiterals[start + 1] = falseLiteral;
+				}
+
+				int first = clauseLiterals[start];
+				if (literalValues[first] == TRUE)
+				{
+					literalWatches[kept++] = clause;
+					continue;
+				}
+
+				boolean moved = false;
+				for (int k = start + 2; k < end && !moved; k++)
+				{
+					int literal = clauseLiterals[k];
+					if (literalValues[literal] != FALSE)
+					{
+						clauseLiterals[start + 1] = literal;
+						clauseLiterals[k] = falseLiteral;
+						this.watch(literal, clause);
+						moved = true;
+					}
+				}
+				if (moved)
+				{
+					continue;
+				}
+
+				literalWatches[kept++] = clause;
+				if (literalValues[first] == FALSE)
+				{
+					while (i < watchCount)
+					{
+						literalWatches[kept++] = literalWatches[i++];
+					}
+					watchCounts[falseLiteral] = kept;
+					return clause;
+				}
+				this.assign(first, clause);
+			}
+			watchCounts[falseLiteral] = kept;
+		}
+
+		return NO_REASON;
+	}
+
+	/**
+	 * Learns a clause from the conflict at the first unique implication
+	 * point, jumps back to the level where it implies a literal, and assigns
+	 * that literal.
+	 */
+	private void learn(int conflict)
+	{
+		int learnedCount = 1;
+		int pathCount = 0;
+		int impliedLiteral = -1;
+		int trailIndex = trailSize - 1;
+		int clause = conflict;
+
+		do
+		{
+			int start = clauseStarts[clause];
+			int end = clauseStarts[clause + 1];
+			// The first literal of a reason is the one it implied:
+			for (int k = impliedLiteral < 0 ? start : start + 1; k < end; k++)
+			{
+				int literal = clauseLiterals[k];
+				int variable = literal >> 1;
+				if (!seen[variable] && levels[variable] > 0)
+				{
+					seen[variable] = true;
+					this.bumpActivity(variable);
+					if (levels[variable] >= decisionLevel)
+					{
+						pathCount++;
+					}
+					else
+					{
+						if (learnedCount == learnedLiterals.length)
+						{
+							learnedLiterals = Arrays.copyOf(
+									learnedLiterals,
+									learnedLiterals.length * 2);
+						}
+						learnedLiterals[learnedCount++] = literal;
+					}
+				}
+			}
+
+			while (!seen[trail[trailIndex] >> 1])
+			{
+				trailIndex--;
+			}
+			impliedLiteral = trail[trailIndex--];
+			clause = reasons[impliedLiteral >> 1];
+			seen[impliedLiteral >> 1] = false;
+			pathCount--;
+		}
+		while (pathCount > 0);
+
+		learnedLiterals[0] = impliedLiteral ^ 1;
+
+		// Watch the literal of the highest remaining level second, so it is
+		// the first to become unassigned:
+		int backjumpLevel = 0;
+		for (int k = 1; k < learnedCount; k++)
+		{
+			int variable = learnedLiterals[k] >> 1;
+			seen[variable] = false;
+			if (levels[variable] > backjumpLevel)
+			{
+				backjumpLevel = levels[variable];
+				int literal = learnedLiterals[k];
+				learnedLiterals[k] = learnedLiterals[1];
+				learnedLiterals[1] = literal;
+			}
+		}
+
+		this.backtrack(backjumpLevel);
+		if (learnedCount == 1)
+		{
+			this.assign(learnedLiterals[0], NO_REASON);
+		}
+		else
+		{
+			int learnedClause = this.addClause(learnedLiterals, learnedCount);
+			this.watch(learnedLiterals[0], learnedClause);
+			this.watch(learnedLiterals[1], learnedClause);
+			this.assign(learnedLiterals[0], learnedClause);
+		}
+
+		activityIncrement /= ACTIVITY_DECAY;
+	}
+
+	private void bumpActivity(int variable)
+	{
+		activities[variable] += activityIncrement;
+		if (activities[variable] > ACTIVITY_LIMIT)
+		{
+			for (int i = 0; i < variableCount; i++)
+			{
+				activities[i] /= ACTIVITY_LIMIT;
+			}
+			activityIncrement /= ACTIVITY_LIMIT;
+		}
+	}
+
+	/**
+	 * Unassigns the literals assigned above the level.
+	 */
+	private void backtrack(int level)
+	{
+		if (decisionLevel <= level)
+		{
+			return;
+		}
+
+		int levelStart = levelStarts[level];
+		while (trailSize > levelStart)
+		{
+			int literal = trail[--trailSize];
+			literalValues[literal] = UNASSIGNED;
+			literalValues[literal ^ 1] = UNASSIGNED;
+		}
+		propagatedCount = trailSize;
+		decisionLevel = level;
+	}
+
+	/**
+	 * @return The unassigned variable with the highest activity, or -1 if
+	 * all the variables are assigned.
+	 */
+	private int getDecisionVariable()
+	{
+		int bestVariable = -1;
+		double bestActivity = -1.0;
+		for (int variable = 0; variable < variableCount; variable++)
+		{
+			if (literalValues[2 * variable] == UNASSIGNED
+					&& activities[variable] > bestActivity)
+			{
+				bestVariable = variable;
+				bestActivity = activities[variable];
+			}
+		}
+		return bestVariable;
+	}
+}
@@ -0,0 +1,55 @@
+package com.github.ants280.sudoku.game.solver;
+
+import com.github.ants280.sudoku.game.SudokuBoard;
+import com.github.ants280.sudoku.game.SudokuBoardState;
+
+/**
+ * Solves the board with conflict driven clause learning (see
+ * SudokuConflictLearningSearch), which learns from its dead ends instead of
+ * running into them again, so it has a better worst case than backtracking.
+ */
+public class SudokuConflictLearningSolver extends SudokuSolver
+{
+	private final SudokuConflictLearningSearch search;
+
+	public SudokuConflictLearningSolver(SudokuBoard sudokuBoard)
+	{
+		super(sudokuBoard);
+
+		this.search = new SudokuConflictLearningSearch(
+				sudokuBoard.getGeometry());
+	}
+
+	@Override
+	public boolean makeMove()
+	{
+		return false;
+	}
+
+	@Override
+	public void solveFast()
+	{
+		this.solve(SearchLimits.NONE);
+	}
+
+	/**
+	 * Sets the values of the empty cells to a solution. The board is only
+	 * changed if it is solved.
+	 */
+	public SearchResult solve(SearchLimits limits)
+	{
+		SudokuBoardState boardState = sudokuBoard.getBoardState();
+		int[] values = new int[boardState.getCellCount()];
+		for (int i = 0; i < values.length; i++)
+		{
+			values[i] = boardState.getValue(i);
+		}
+
+		SearchResult result = search.solve(values, values, limits);
+		if (result == SearchResult.SOLVED)
+		{
+			this.setSolution(values);
+		}
+		return result;
+	}
+}
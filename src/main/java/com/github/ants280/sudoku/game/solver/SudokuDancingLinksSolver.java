@@ -0,0 +1,60 @@
+package com.github.ants280.sudoku.game.solver;
+
+import com.github.ants280.sudoku.game.SudokuBoard;
+import com.github.ants280.sudoku.game.SudokuBoardState;
+
+/**
+ * Solves the board with dancing links (see SudokuExactCover). This is the
+ * reference solver: it is the fastest, and it can count solutions.
+ */
+public class SudokuDancingLinksSolver extends SudokuSolver
+{
+	private final SudokuExactCover exactCover;
+	private final int[] values;
+	private final int[] solution;
+
+	public SudokuDancingLinksSolver(SudokuBoard sudokuBoard)
+	{
+		super(sudokuBoard);
+
+		this.exactCover = new SudokuExactCover(sudokuBoard.getGeometry());
+		this.values = new int[sudokuBoard.getGeometry().getCellCount()];
+		this.solution = new int[values.length];
+	}
+
+	@Override
+	public boolean makeMove()
+	{
+		return false;
+	}
+
+	/**
+	 * Sets the values of the empty cells to the first solution found. The
+	 * board is not changed if it cannot be solved.
+	 */
+	@Override
+	public void solveFast()
+	{
+		if (this.countSolutions(1) != 0)
+		{
+			this.setSolution(solution);
+		}
+	}
+
+	/**
+	 * Counts the solutions of the board, without changing it.
+	 *
+	 * @param limit The counting stops at this many solutions.
+	 * @return The number of solutions, up to the limit.
+	 */
+	public int countSolutions(int limit)
+	{
+		SudokuBoardState boardState = sudokuBoard.getBoardState();
+		for (int i = 0; i < values.length; i++)
+		{
+			values[i] = boardState.getValue(i);
+		}
+
+		return exactCover.solve(values, solution, limit);
+	}
+}
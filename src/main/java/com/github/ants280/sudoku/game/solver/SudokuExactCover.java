@@ -0,0 +1,313 @@
+package com.github.ants280.sudoku.game.solver;
+
+import com.github.ants280.sudoku.game.SudokuGeometry;
+
+/**
+ * Solves boards as an exact cover problem with Knuth's dancing links.
+ *
+ * Each row of the matrix is a value in a cell, and covers four columns: the
+ * cell, the value in its row, the value in its column and the value in its
+ * group. A 9x9 board has 729 rows and 324 columns.
+ *
+ * The links are kept in int arrays which are built once, and every search
+ * leaves them as it found them, so an instance can solve any number of
+ * boards of its geometry. An instance must only be used by one thread at a
+ * time.
+ */
+public class SudokuExactCover
+{
+	private static final int ROOT = 0;
+
+	private final SudokuGeometry geometry;
+	private final int size;
+	private final int columnCount;
+	private final int[] left;
+	private final int[] right;
+	private final int[] up;
+	private final int[] down;
+	private final int[] column;
+	private final int[] row;
+	private final int[] columnSizes;
+	private final boolean[] columnCovered;
+	private final int[] rowNodes;
+	private final int[] selectedNodes;
+	private int[] solution;
+	private int solutionCount;
+	private int solutionLimit;
+
+	public SudokuExactCover(SudokuGeometry geometry)
+	{
+		this.geometry = geometry;
+		this.size = geometry.getSize();
+		this.columnCount = 4 * geometry.getCellCount();
+
+		int rowCount = geometry.getCellCount() * size;
+		int nodeCount = columnCount + 1 + rowCount * 4;
+		this.left = new int[nodeCount];
+		this.right = new int[nodeCount];
+		this.up = new int[nodeCount];
+		this.down = new int[nodeCount];
+		this.column = new int[nodeCount];
+		this.row = new int[nodeCount];
+		this.columnSizes = new int[columnCount + 1];
+		this.columnCovered = new boolean[columnCount + 1];
+		this.rowNodes = new int[rowCount];
+		this.selectedNodes = new int[geometry.getCellCount()];
+
+		this.buildLinks();
+	}
+
+	public SudokuGeometry getGeometry()
+	{
+		return geometry;
+	}
+
+	private void buildLinks()
+	{
+		for (int header = ROOT; header <= columnCount; header++)
+		{
+			left[header] = header == ROOT ? columnCount : header - 1;
+			right[header] = header == columnCount ? ROOT : header + 1;
+			up[header] = header;
+			down[header] = header;
+			column[header] = header;
+			row[header] = -1;
+		}
+
+		int node = columnCount + 1;
+		int cellCount = geometry.getCellCount();
+		for (int cellIndex = 0; cellIndex < cellCount; cellIndex++)
+		{
+			int rowIndex = cellIndex / size;
+			int columnIndex = cellIndex % size;
+			int groupIndex = geometry.getGroupIndex(rowIndex, columnIndex);
+
+			for (int value = 0; value < size; value++)
+			{
+				int matrixRow = cellIndex * size + value;
+				int[] headers =
+				{
+					1 + cellIndex,
+					1 + cellCount + rowIndex * size + value,
+					1 + 2 * cellCount + columnIndex * size + value,
+					1 + 3 * cellCount + groupIndex * size + value
+				};
+
+				rowNodes[matrixRow] = node;
+				for (int i = 0; i < headers.length; i++)
+				{
+					int header = headers[i];
+					column[node] = header;
+					row[node] = matrixRow;
+					up[node] = up[header];
+					down[node] = header;
+					down[up[header]] = node;
+					up[header] = node;
+					columnSizes[header]++;
+					left[node] = i == 0 ? node + 3 : node - 1;
+					right[node] = i == 3 ? node - 3 : node + 1;
+					node++;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Searches for solutions of the board.
+	 *
+	 * @param values The values of the cells, 0 for an empty cell. Not changed.
+	 * @param solution If not null, the first solution found is written to it.
+	 * @param limit The search stops after finding this many solutions.
+	 * @return The number of solutions found, up to the limit. Boards with
+	 * conflicting values have no solutions.
+	 */
+	public int solve(int[] values, int[] solution, int limit)
+	{
+		if (values.length != geometry.getCellCount())
+		{
+			throw new IllegalArgumentException(
+					"Expected " + geometry.getCellCount()
+					+ " values, got " + values.length);
+		}
+
+		this.solution = solution;
+		this.solutionCount = 0;
+		this.solutionLimit = limit;
+
+		int selectedCount = 0;
+		boolean valid = true;
+		for (int cellIndex = 0; valid && cellIndex < values.length; cellIndex++)
+		{
+			int value = values[cellIndex];
+			if (value < 0 || value > size)
+			{
+				throw new IllegalArgumentException(
+						"Invalid value at cell " + cellIndex + ": " + value);
+			}
+
+			if (value != 0)
+			{
+				int rowNode = rowNodes[cellIndex * size + value - 1];
+				valid = this.selectRow(rowNode);
+				if (valid)
+				{
+					selectedNodes[selectedCount++] = rowNode;
+				}
+			}
+		}
+
+		if (valid && limit > 0)
+		{
+			this.search(selectedCount);
+		}
+
+		for (int i = selectedCount - 1; i >= 0; i--)
+		{
+			this.unselectRow(selectedNodes[i]);
+		}
+
+		this.solution = null;
+		return solutionCount;
+	}
+
+	/**
+	 * Covers the columns of the row.
+	 *
+	 * @return False (without changing anything) if one of the columns was
+	 * already covered, which means the value conflicts with another.
+	 */
+	private boolean selectRow(int rowNode)
+	{
+		int node = rowNode;
+		do
+		{
+			if (columnCovered[column[node]])
+			{
+				return false;
+			}
+			node = right[node];
+		}
+		while (node != rowNode);
+
+		do
+		{
+			this.cover(column[node]);
+			node = right[node];
+		}
+		while (node != rowNode);
+
+		return true;
+	}
+
+	private void unselectRow(int rowNode)
+	{
+		int node = left[rowNode];
+		do
+		{
+			this.uncover(column[node]);
+			node = left[node];
+		}
+		while (node != left[rowNode]);
+	}
+
+	private boolean search(int depth)
+	{
+		if (right[ROOT] == ROOT)
+		{
+			this.recordSolution(depth);
+			return solutionCount >= solutionLimit;
+		}
+
+		int header = this.getSmallestColumn();
+		if (columnSizes[header] == 0)
+		{
+			return false;
+		}
+
+		this.cover(header);
+		boolean done = false;
+		for (int rowNode = down[header];
+				!done && rowNode != header;
+				rowNode = down[rowNode])
+		{
+			selectedNodes[depth] = rowNode;
+			for (int node = right[rowNode]; node != rowNode; node = right[node])
+			{
+				this.cover(column[node]);
+			}
+
+			done = this.search(depth + 1);
+
+			for (int node = left[rowNode]; node != rowNode; node = left[node])
+			{
+				this.uncover(column[node]);
+			}
+		}
+		this.uncover(header);
+
+		return done;
+	}
+
+	private int getSmallestColumn()
+	{
+		int smallestHeader = right[ROOT];
+		int smallestSize = columnSizes[smallestHeader];
+		for (int header = right[smallestHeader];
+				header != ROOT && smallestSize > 1;
+				header = right[header])
+		{
+			if (columnSizes[header] < smallestSize)
+			{
+				smallestHeader = header;
+				smallestSize = columnSizes[header];
+			}
+		}
+		return smallestHeader;
+	}
+
+	private void recordSolution(int depth)
+	{
+		if (solutionCount == 0 && solution != null)
+		{
+			for (int i = 0; i < depth; i++)
+			{
+				int matrixRow = row[selectedNodes[i]];
+				solution[matrixRow / size] = matrixRow % size + 1;
+			}
+		}
+
+		solutionCount++;
+	}
+
+	private void cover(int header)
+	{
+		columnCovered[header] = true;
+		right[left[header]] = right[header];
+		left[right[header]] = left[header];
+		for (int rowNode = down[header]; rowNode != header; rowNode = down[rowNode])
+		{
+			for (int node = right[rowNode]; node != rowNode; node = right[node])
+			{
+				down[up[node]] = down[node];
+				up[down[node]] = up[node];
+				columnSizes[column[node]]--;
+			}
+		}
+	}
+
+	private void uncover(int header)
+	{
+		for (int rowNode = up[header]; rowNode != header; rowNode = up[rowNode])
+		{
+			for (int node = left[rowNode]; node != rowNode; node = left[node])
+			{
+				columnSizes[column[node]]++;
+				down[up[node]] = node;
+				up[down[node]] = node;
+			}
+		}
+		right[left[header]] = header;
+		left[right[header]] = header;
+		columnCovered[header] = false;
+	}
+}
@@ -5,18 +5,90 @@ import com.github.ants280.sudoku.game.solver.plugins.SetPossibleValuesSudokuSolv
 import com.github.ants280.sudoku.game.solver.plugins.OnlyPossibleValueSudokuSolverPlugin;
 import com.github.ants280.sudoku.game.solver.plugins.LastPossibleValueInSectionSudokuSolverPlugin;
 import com.github.ants280.sudoku.game.solver.plugins.RemovePossibleValueForOtherGroupsSudokuSolverPlugin;
+import com.github.ants280.sudoku.game.PossibleValuesMask;
 import com.github.ants280.sudoku.game.SudokuBoard;
+import com.github.ants280.sudoku.game.SudokuBoardState;
+import com.github.ants280.sudoku.game.SudokuSections;
 import java.util.Arrays;
 import java.util.List;
 import java.util.function.Consumer;
 
+/**
+ * Solves the board with the plugins, trying them in order for each move.
+ *
+ * Each plugin only searches the sections which changed since it last found
+ * nothing: the others have not changed, so they still have nothing to find.
+ * Changes are found by comparing the cells with a copy taken by the last
+ * move, so changes made outside the solver are also seen.
+ *
+ * The calls to the plugins are counted and timed in SudokuSolverMetrics.
+ *
+ * By default, the plugins are tried in a fixed order, so each move is the
+ * simplest one. With PluginSchedule.ADAPTIVE, they are tried in order of
+ * their recent cost per move made, and plugins which cannot make a move on
+ * the board are skipped. The plugins only remove possible values which
+ * cannot be the value of a cell, so both orders leave the same values and
+ * possible values of the empty cells, but ADAPTIVE may take different moves
+ * to get there.
+ *
+ * With bulk moves, solveFast() asks each plugin for all the moves it can
+ * find in one search of the board (see SudokuSolverPlugin.makeMoves()),
+ * rather than searching again from the first plugin after every move. The
+ * board is solved to the same state in far fewer searches. makeMove() always
+ * makes a single move.
+ */
 public class SudokuLogicSolver extends SudokuSolver
 {
+	private static final int UNKNOWN_CELL_STATE = -1;
+	/**
+	 * The weight of the latest call in the recent cost and yield of a plugin.
+	 */
+	private static final double RECENT_WEIGHT = 0.125d;
+	/**
+	 * Keeps the cost per move of a plugin which has not made a move recently
+	 * finite.
+	 */
+	private static final double MINIMUM_YIELD = 0.0625d;
+
 	private final List<SudokuSolverPlugin> solverPlugins;
+	/**
+	 * The value (high half) and possible values (low half) of each cell when
+	 * the sections were last checked for changes.
+	 */
+	private final int[] cellStates;
+	/**
+	 * The sections each plugin must search: those changed since it last
+	 * found nothing.
+	 */
+	private final int[] pluginSectionMasks;
+	private final PluginSchedule pluginSchedule;
+	/**
+	 * The plugin indexes in the order to try them.
+	 */
+	private final int[] pluginOrder;
+	/**
+	 * The recent average time of a call to each plugin.
+	 */
+	private final double[] pluginCostNanos;
+	/**
+	 * The recent fraction of calls to each plugin which made a move.
+	 */
+	private final double[] pluginYields;
+	private boolean bulkMoves;
+	private int emptyCellCount;
+	private int nakedSingleCount;
 
 	public SudokuLogicSolver(
 			SudokuBoard sudokuBoard,
 			Consumer<String> moveDescriptionConsumer)
+	{
+		this(sudokuBoard, moveDescriptionConsumer, PluginSchedule.STRICT);
+	}
+
+	public SudokuLogicSolver(
+			SudokuBoard sudokuBoard,
+			Consumer<String> moveDescriptionConsumer,
+			PluginSchedule pluginSchedule)
 	{
 		super(sudokuBoard);
 
@@ -38,13 +110,169 @@ public class SudokuLogicSolver extends SudokuSolver
 				new SetPossibleValuesSudokuSolverPlugin(
 						sudokuBoard,
 						moveDescriptionConsumer));
+		this.cellStates = new int[SudokuSections.CELL_COUNT];
+		this.pluginSectionMasks = new int[solverPlugins.size()];
+		this.pluginSchedule = pluginSchedule;
+		this.pluginOrder = new int[solverPlugins.size()];
+		this.pluginCostNanos = new double[solverPlugins.size()];
+		this.pluginYields = new double[solverPlugins.size()];
+
+		Arrays.fill(cellStates, UNKNOWN_CELL_STATE);
+		Arrays.fill(pluginYields, 1d);
+		for (int i = 0; i < pluginOrder.length; i++)
+		{
+			pluginOrder[i] = i;
+		}
+	}
+
+	/**
+	 * @param bulkMoves If true, solveFast() makes all the moves found by a
+	 * plugin before searching again. False by default.
+	 */
+	public void setBulkMoves(boolean bulkMoves)
+	{
+		this.bulkMoves = bulkMoves;
 	}
 
 	@Override
 	public boolean makeMove()
 	{
-		return solverPlugins.stream()
-				.anyMatch(SudokuSolverPlugin::makeMove);
+		return this.makeMoves(false);
+	}
+
+	/**
+	 * Makes the first move, or all the moves found by the first plugin which
+	 * finds any.
+	 *
+	 * @return True if a move was made.
+	 */
+	private boolean makeMoves(boolean allMoves)
+	{
+		this.addChangedSections();
+		boolean adaptive = pluginSchedule == PluginSchedule.ADAPTIVE;
+		if (adaptive)
+		{
+			this.sortPluginOrder();
+		}
+
+		sudokuBoard.beginBatch();
+		try
+		{
+			for (int i : pluginOrder)
+			{
+				if (pluginSectionMasks[i] == 0)
+				{
+					continue;
+				}
+
+				SudokuSolverPlugin solverPlugin = solverPlugins.get(i);
+				if (adaptive && !solverPlugin.canMakeMove(
+						emptyCellCount,
+						nakedSingleCount))
+				{
+					pluginSectionMasks[i] = 0;
+					continue;
+				}
+
+				boolean moveMade = solverPlugin.makeMovesRecorded(
+						pluginSectionMasks[i],
+						allMoves) != 0;
+				long nanos = solverPlugin.getLastCallNanos();
+				pluginCostNanos[i]
+						+= RECENT_WEIGHT * (nanos - pluginCostNanos[i]);
+				pluginYields[i] += RECENT_WEIGHT
+						* ((moveMade ? 1d : 0d) - pluginYields[i]);
+				if (moveMade)
+				{
+					return true;
+				}
+
+				pluginSectionMasks[i] = 0;
+			}
+
+			return false;
+		}
+		finally
+		{
+			sudokuBoard.commit();
+		}
+	}
+
+	/**
+	 * Sorts the plugins by their recent cost per move made, keeping the fixed
+	 * order for equal costs.
+	 */
+	private void sortPluginOrder()
+	{
+		for (int i = 1; i < pluginOrder.length; i++)
+		{
+			int pluginIndex = pluginOrder[i];
+			int j = i;
+			while (j > 0
+					&& this.comparePlugins(pluginOrder[j - 1], pluginIndex) > 0)
+			{
+				pluginOrder[j] = pluginOrder[j - 1];
+				j--;
+			}
+			pluginOrder[j] = pluginIndex;
+		}
+	}
+
+	private int comparePlugins(int pluginIndex1, int pluginIndex2)
+	{
+		int costComparison = Double.compare(
+				this.getCostPerMove(pluginIndex1),
+				this.getCostPerMove(pluginIndex2));
+		return costComparison != 0
+				? costComparison
+				: Integer.compare(pluginIndex1, pluginIndex2);
+	}
+
+	private double getCostPerMove(int pluginIndex)
+	{
+		return pluginCostNanos[pluginIndex]
+				/ Math.max(pluginYields[pluginIndex], MINIMUM_YIELD);
+	}
+
+	/**
+	 * Adds the sections of the cells which changed since the last call to
+	 * the sections of every plugin, and counts the empty cells.
+	 */
+	private void addChangedSections()
+	{
+		SudokuBoardState boardState = sudokuBoard.getBoardState();
+		int changedSectionMask = 0;
+		emptyCellCount = 0;
+		nakedSingleCount = 0;
+		for (int cellIndex = 0; cellIndex < cellStates.length; cellIndex++)
+		{
+			int value = boardState.getValue(cellIndex);
+			int possibleValues = boardState.getPossibleValues(cellIndex);
+			if (value == 0)
+			{
+				emptyCellCount++;
+				if (PossibleValuesMask.count(possibleValues) == 1)
+				{
+					nakedSingleCount++;
+				}
+			}
+
+			int cellState = value << 16 | possibleValues;
+			if (cellState != cellStates[cellIndex])
+			{
+				cellStates[cellIndex] = cellState;
+				changedSectionMask |= SudokuSolverPlugin.getCellSectionMask(
+						cellIndex);
+			}
+		}
+
+		if (changedSectionMask != 0)
+		{
+			for (int i = 0; i < pluginSectionMasks.length; i++)
+			{
+				pluginSectionMasks[i] |= changedSectionMask;
+			}
+		}
 	}
 
 	@Override
@@ -54,7 +282,7 @@ public class SudokuLogicSolver extends SudokuSolver
 
 		do
 		{
-			moveMade = this.makeMove();
+			moveMade = this.makeMoves(bulkMoves);
 		}
 		while (moveMade);
 	}
@@ -0,0 +1,331 @@
+package com.github.ants280.sudoku.game.solver;
+
+import com.github.ants280.sudoku.game.SudokuGeometry;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs SudokuBitmaskSearch on a ForkJoinPool. The first splitDepth branches
+ * of the search become tasks, one for each candidate value, and the
+ * subtrees below them are searched by a SudokuBitmaskSearch for each worker
+ * thread.
+ *
+ * Tasks are combined in the order the sequential search would visit them,
+ * so the solutions found and their count are the same as
+ * SudokuBitmaskSearch.search() whatever the number of threads. Once the
+ * tasks before a task have found enough solutions, it and its subtasks are
+ * cancelled.
+ *
+ * The SudokuBitmaskSearch of each thread is kept for later searches of the
+ * same box size, by any instance.
+ */
+public class SudokuParallelSearch
+{
+	public static final int DEFAULT_SPLIT_DEPTH = 3;
+	/**
+	 * The searches of the thread, by box size. A task only uses the search
+	 * before forking subtasks, so tasks run while it joins them can share it.
+	 */
+	private static final ThreadLocal<SudokuBitmaskSearch[]> SEARCHES
+			= ThreadLocal.withInitial(
+					() -> new SudokuBitmaskSearch[SudokuGeometry.MAX_BOX_SIZE + 1]);
+
+	private final SudokuGeometry geometry;
+	private final ForkJoinPool forkJoinPool;
+	private final int splitDepth;
+	private final LongAdder nodeCount;
+	private int solutionCount;
+
+	public SudokuParallelSearch(SudokuGeometry geometry)
+	{
+		this(geometry, ForkJoinPool.commonPool(), DEFAULT_SPLIT_DEPTH);
+	}
+
+	public SudokuParallelSearch(
+			SudokuGeometry geometry,
+			ForkJoinPool forkJoinPool,
+			int splitDepth)
+	{
+		if (splitDepth < 0)
+		{
+			throw new IllegalArgumentException(
+					"Invalid split depth: " + splitDepth);
+		}
+
+		this.geometry = geometry;
+		this.forkJoinPool = forkJoinPool;
+		this.splitDepth = splitDepth;
+		this.nodeCount = new LongAdder();
+		this.solutionCount = 0;
+	}
+
+	public SudokuGeometry getGeometry()
+	{
+		return geometry;
+	}
+
+	/**
+	 * @return The search of the current thread for the geometry.
+	 */
+	static SudokuBitmaskSearch getSearch(SudokuGeometry geometry)
+	{
+		SudokuBitmaskSearch[] searches = SEARCHES.get();
+		int boxSize = geometry.getBoxSize();
+		if (searches[boxSize] == null)
+		{
+			searches[boxSize] = new SudokuBitmaskSearch(geometry);
+		}
+		return searches[boxSize];
+	}
+
+	/**
+	 * @return The number of values tried by all the tasks of the last search.
+	 */
+	public long getNodeCount()
+	{
+		return nodeCount.sum();
+	}
+
+	/**
+	 * @return The number of solutions found by the last search.
+	 */
+	public int getSolutionCount()
+	{
+		return solutionCount;
+	}
+
+	public SearchResult solve(
+			int[] values,
+			int[] solution,
+			SearchLimits limits)
+	{
+		return this.search(values, solution, 1, limits);
+	}
+
+	public int countSolutions(int[] values, int limit)
+	{
+		this.search(values, null, limit, SearchLimits.NONE);
+		return solutionCount;
+	}
+
+	/**
+	 * Searches for solutions like SudokuBitmaskSearch.search(). The timeout
+	 * and cancellation token of the limits apply to the whole search, but the
+	 * node budget applies to each task.
+	 */
+	public SearchResult search(
+			int[] values,
+			int[] solution,
+			int solutionLimit,
+			SearchLimits limits)
+	{
+		if (solutionLimit <= 0)
+		{
+			throw new IllegalArgumentException(
+					"Invalid solution limit: " + solutionLimit);
+		}
+		if (values.length != geometry.getCellCount())
+		{
+			throw new IllegalArgumentException(
+					"Expected " + geometry.getCellCount()
+					+ " values, got " + values.length);
+		}
+
+		nodeCount.reset();
+		solutionCount = 0;
+
+		long deadline = limits.getTimeoutNanos() == SearchLimits.UNLIMITED
+				? Long.MAX_VALUE
+				: System.nanoTime() + limits.getTimeoutNanos();
+		SearchTask rootTask = new SearchTask(
+				values.clone(),
+				0,
+				new CancellationToken(limits.getCancellationToken()),
+				solutionLimit,
+				limits.getMaxNodes(),
+				deadline);
+		TaskResult result = forkJoinPool.invoke(rootTask);
+
+		solutionCount = Math.min(result.solutionCount, solutionLimit);
+		if (result.solution != null && solution != null)
+		{
+			System.arraycopy(
+					result.solution,
+					0,
+					solution,
+					0,
+					result.solution.length);
+		}
+
+		if (result.aborted)
+		{
+			return SearchResult.ABORTED;
+		}
+		return solutionCount == 0
+				? SearchResult.UNSOLVABLE
+				: SearchResult.SOLVED;
+	}
+
+	private static class TaskResult
+	{
+		private final int solutionCount;
+		private final int[] solution;
+		private final boolean aborted;
+
+		private TaskResult(int solutionCount, int[] solution, boolean aborted)
+		{
+			this.solutionCount = solutionCount;
+			this.solution = solution;
+			this.aborted = aborted;
+		}
+	}
+
+	private class SearchTask extends RecursiveTask<TaskResult>
+	{
+		private static final long serialVersionUID = 1L;
+
+		private final int[] values;
+		private final int depth;
+		private final CancellationToken cancellationToken;
+		private final int solutionLimit;
+		private final long maxNodes;
+		private final long deadline;
+
+		private SearchTask(
+				int[] values,
+				int depth,
+				CancellationToken cancellationToken,
+				int solutionLimit,
+				long maxNodes,
+				long deadline)
+		{
+			this.values = values;
+			this.depth = depth;
+			this.cancellationToken = cancellationToken;
+			this.solutionLimit = solutionLimit;
+			this.maxNodes = maxNodes;
+			this.deadline = deadline;
+		}
+
+		@Override
+		protected TaskResult compute()
+		{
+			if (cancellationToken.isCancelled())
+			{
+				return new TaskResult(0, null, true);
+			}
+
+			SudokuBitmaskSearch search = getSearch(geometry);
+			return depth < splitDepth
+					? this.split(search)
+					: this.searchSubtree(search);
+		}
+
+		private TaskResult searchSubtree(SudokuBitmaskSearch search)
+		{
+			long timeout = SearchLimits.UNLIMITED;
+			if (deadline != Long.MAX_VALUE)
+			{
+				timeout = Math.max(0L, deadline - System.nanoTime());
+			}
+
+			int[] solution = new int[values.length];
+			SearchResult result = search.search(
+					values,
+					solution,
+					solutionLimit,
+					new SearchLimits(
+							maxNodes,
+							timeout,
+							TimeUnit.NANOSECONDS,
+							cancellationToken));
+			nodeCount.add(search.getNodeCount());
+
+			int subtreeSolutionCount = search.getSolutionCount();
+			return new TaskResult(
+					subtreeSolutionCount,
+					subtreeSolutionCount == 0 ? null : solution,
+					result == SearchResult.ABORTED);
+		}
+
+		private TaskResult split(SudokuBitmaskSearch search)
+		{
+			int cellIndex = search.expand(values);
+			if (cellIndex == SudokuBitmaskSearch.NO_SOLUTION)
+			{
+				return new TaskResult(0, null, false);
+			}
+			if (cellIndex == SudokuBitmaskSearch.NO_EMPTY_CELL)
+			{
+				return new TaskResult(1, values, false);
+			}
+
+			int candidates = search.getCandidates(cellIndex);
+			SearchTask[] subtasks = new SearchTask[Integer.bitCount(candidates)];
+			for (int i = 0; i < subtasks.length; i++)
+			{
+				int valueMask = candidates & -candidates;
+				candidates &= ~valueMask;
+
+				int[] subtaskValues = values.clone();
+				subtaskValues[cellIndex]
+						= Integer.numberOfTrailingZeros(valueMask) + 1;
+				subtasks[i] = new SearchTask(
+						subtaskValues,
+						depth + 1,
+						new CancellationToken(cancellationToken),
+						solutionLimit,
+						maxNodes,
+						deadline);
+			}
+
+			for (int i = subtasks.length - 1; i >= 0; i--)
+			{
+				subtasks[i].fork();
+			}
+
+			return this.combine(subtasks);
+		}
+
+		/**
+		 * Joins the subtasks in order, cancelling the rest once enough
+		 * solutions have been found or a subtask was aborted.
+		 */
+		private TaskResult combine(SearchTask[] subtasks)
+		{
+			int combinedSolutionCount = 0;
+			int[] combinedSolution = null;
+			boolean aborted = false;
+			for (int i = 0; i < subtasks.length; i++)
+			{
+				TaskResult subtaskResult = subtasks[i].join();
+				if (combinedSolutionCount >= solutionLimit || aborted)
+				{
+					continue;
+				}
+
+				combinedSolutionCount += subtaskResult.solutionCount;
+				if (combinedSolution == null)
+				{
+					combinedSolution = subtaskResult.solution;
+				}
+				aborted = subtaskResult.aborted;
+
+				if (combinedSolutionCount >= solutionLimit || aborted)
+				{
+					for (int j = i + 1; j < subtasks.length; j++)
+					{
+						subtasks[j].cancellationToken.cancel();
+					}
+				}
+			}
+
+			return new TaskResult(
+					combinedSolutionCount,
+					combinedSolution,
+					aborted);
+		}
+	}
+}
@@ -0,0 +1,113 @@
+package com.github.ants280.sudoku.game.solver;
+
+import com.github.ants280.sudoku.game.SudokuGeometry;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * The solutions of a board, found one at a time by a SudokuBitmaskSearch.
+ * Each solution is a new array of the values of all the cells.
+ *
+ * Splitting takes the untried values of the lowest branch of the search
+ * stack (or half the values of the first branch, before any solution is
+ * found), so the two spliterators search separate parts of the tree. The
+ * solutions are in the order the search finds them, whether or not the
+ * spliterator is split.
+ */
+public class SudokuSolutionSpliterator implements Spliterator<int[]>
+{
+	private final SudokuGeometry geometry;
+	private int[] values;
+	private int branchCell;
+	private int branchCandidates;
+	private SudokuBitmaskSearch search;
+
+	/**
+	 * @param values The values of the board, 0 for an empty cell. The array is
+	 * copied.
+	 */
+	public SudokuSolutionSpliterator(SudokuGeometry geometry, int[] values)
+	{
+		if (values.length != geometry.getCellCount())
+		{
+			throw new IllegalArgumentException(
+					"Expected " + geometry.getCellCount()
+					+ " values, got " + values.length);
+		}
+
+		this.geometry = geometry;
+		this.values = values.clone();
+		this.branchCell = -1;
+		this.branchCandidates = geometry.getAllValues();
+		this.search = null;
+	}
+
+	private SudokuSolutionSpliterator(SudokuSolutionSpliterator other)
+	{
+		this.geometry = other.geometry;
+		this.values = other.values;
+		this.branchCell = other.branchCell;
+		this.branchCandidates = other.branchCandidates;
+		this.search = other.search;
+	}
+
+	private SudokuBitmaskSearch getSearch()
+	{
+		if (search == null)
+		{
+			search = new SudokuBitmaskSearch(geometry);
+			search.start(values, branchCell, branchCandidates);
+		}
+
+		return search;
+	}
+
+	@Override
+	public boolean tryAdvance(Consumer<? super int[]> action)
+	{
+		SudokuBitmaskSearch currentSearch = this.getSearch();
+		if (!currentSearch.nextSolution())
+		{
+			return false;
+		}
+
+		int[] solution = new int[values.length];
+		currentSearch.copyValues(solution);
+		action.accept(solution);
+		return true;
+	}
+
+	/**
+	 * The returned spliterator keeps the search in progress, which comes
+	 * first, and this spliterator continues with the values taken from it.
+	 */
+	@Override
+	public Spliterator<int[]> trySplit()
+	{
+		SudokuBitmaskSearch currentSearch = this.getSearch();
+		int[] splitValues = new int[values.length];
+		if (!currentSearch.split(splitValues))
+		{
+			return null;
+		}
+
+		SudokuSolutionSpliterator prefix = new SudokuSolutionSpliterator(this);
+		values = splitValues;
+		branchCell = currentSearch.getSplitCell();
+		branchCandidates = currentSearch.getSplitCandidates();
+		search = null;
+		return prefix;
+	}
+
+	@Override
+	public long estimateSize()
+	{
+		return Long.MAX_VALUE;
+	}
+
+	@Override
+	public int characteristics()
+	{
+		return ORDERED | DISTINCT | NONNULL | IMMUTABLE;
+	}
+}
@@ -0,0 +1,98 @@
+package com.github.ants280.sudoku.game.solver;
+
+import com.github.ants280.sudoku.game.SudokuBoard;
+import com.github.ants280.sudoku.game.SudokuBoardState;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Counts and lists the solutions of boards with SudokuBitmaskSearch. Each
+ * call creates a search; code checking many boards should reuse a
+ * SudokuBitmaskSearch.
+ */
+public final class SudokuSolutions
+{
+	private SudokuSolutions()
+	{
+	}
+
+	/**
+	 * @param limit The counting stops at this many solutions.
+	 * @return The number of solutions of the board, up to the limit.
+	 */
+	public static int countSolutions(SudokuBoard board, int limit)
+	{
+		return countSolutions(board.getBoardState(), limit);
+	}
+
+	/**
+	 * @param limit The counting stops at this many solutions.
+	 * @return The number of solutions of the board state, up to the limit.
+	 */
+	public static int countSolutions(SudokuBoardState boardState, int limit)
+	{
+		return new SudokuBitmaskSearch(boardState.getGeometry())
+				.countSolutions(getValues(boardState), limit);
+	}
+
+	/**
+	 * @return True if the board has exactly one solution.
+	 */
+	public static boolean hasUniqueSolution(SudokuBoard board)
+	{
+		return countSolutions(board, 2) == 1;
+	}
+
+	public static boolean hasUniqueSolution(SudokuBoardState boardState)
+	{
+		return countSolutions(boardState, 2) == 1;
+	}
+
+	/**
+	 * @return The solutions of the board as arrays of the values of all the
+	 * cells. Solutions are found as the stream is consumed, and the stream
+	 * can be split for parallel use (see SudokuSolutionSpliterator).
+	 */
+	public static Stream<int[]> streamValues(SudokuBoardState boardState)
+	{
+		return StreamSupport.stream(
+				new SudokuSolutionSpliterator(
+						boardState.getGeometry(),
+						getValues(boardState)),
+				false);
+	}
+
+	/**
+	 * @return The solutions of the board as new boards, with the same locked
+	 * cells and possible values as the board.
+	 * @see #streamValues(SudokuBoardState)
+	 */
+	public static Stream<SudokuBoard> stream(SudokuBoard board)
+	{
+		SudokuBoardState boardState = board.getBoardState().copy();
+		return streamValues(boardState)
+				.map(solution -> createBoard(boardState, solution));
+	}
+
+	private static SudokuBoard createBoard(
+			SudokuBoardState boardState,
+			int[] solution)
+	{
+		SudokuBoardState solutionState = boardState.copy();
+		for (int i = 0; i < solution.length; i++)
+		{
+			solutionState.setValue(i, solution[i]);
+		}
+		return new SudokuBoard(solutionState);
+	}
+
+	private static int[] getValues(SudokuBoardState boardState)
+	{
+		int[] values = new int[boardState.getCellCount()];
+		for (int i = 0; i < values.length; i++)
+		{
+			values[i] = boardState.getValue(i);
+		}
+		return values;
+	}
+}
@@ -3,8 +3,9 @@ package com.github.ants280.sudoku.game.solver;
 import com.github.ants280.sudoku.game.SectionType;
 import com.github.ants280.sudoku.game.SudokuBoard;
 import com.github.ants280.sudoku.game.SudokuCell;
+import com.github.ants280.sudoku.game.SudokuSections;
 import com.github.ants280.sudoku.game.SudokuValue;
-import java.util.Arrays;
+import java.util.List;
 import java.util.function.BiConsumer;
 
 public abstract class SudokuSolver
@@ -39,19 +40,51 @@ public abstract class SudokuSolver
 
 	public abstract boolean makeMove();
 
+	/**
+	 * Sets the values of the empty cells of the board to the solution, as
+	 * one batch.
+	 */
+	protected void setSolution(int[] solution)
+	{
+		List<SudokuCell> allSudokuCells = sudokuBoard.getAllSudokuCells();
+		sudokuBoard.beginBatch();
+		try
+		{
+			for (int i = 0; i < solution.length; i++)
+			{
+				SudokuCell sudokuCell = allSudokuCells.get(i);
+				if (sudokuCell.getValue() == null)
+				{
+					sudokuCell.setValue(SudokuValue.fromValue(solution[i]));
+				}
+			}
+		}
+		finally
+		{
+			sudokuBoard.commit();
+		}
+	}
+
 	public abstract void solveFast();
 
 	private static BiConsumer<SudokuCell, SudokuValue>
 			getClearNearbyPossibleValuesConsumer(SudokuBoard sudokuBoard)
 	{
-		return (sudokuCell, v) -> Arrays.stream(SectionType.values())
-				.forEach(sectionType -> sudokuBoard.getSudokuCells(
-				sectionType,
-				sudokuCell.getIndex(sectionType))
-				.stream()
-				.filter(nearbySudokuCell -> nearbySudokuCell.getValue() == null
-				&& nearbySudokuCell.hasPossibleValue(v))
-				.forEach(nearbySudokuCell -> nearbySudokuCell
-				.togglePossibleValue(v)));
+		List<SudokuCell> allSudokuCells = sudokuBoard.getAllSudokuCells();
+		return (sudokuCell, v) ->
+		{
+			int cellIndex = SudokuSections.getCellIndex(
+					sudokuCell.getIndex(SectionType.ROW),
+					sudokuCell.getIndex(SectionType.COLUMN));
+			for (int peerIndex : SudokuSections.getCellPeers(cellIndex))
+			{
+				SudokuCell nearbySudokuCell = allSudokuCells.get(peerIndex);
+				if (nearbySudokuCell.getValue() == null
+						&& nearbySudokuCell.hasPossibleValue(v))
+				{
+					nearbySudokuCell.togglePossibleValue(v);
+				}
+			}
+		};
 	}
 }
@@ -0,0 +1,94 @@
+package com.github.ants280.sudoku.game.solver;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * The call counts, success counts, time and cells scanned of the plugins of
+ * all the SudokuLogicSolvers in the process, by plugin class.
+ *
+ * registerMBean() makes them available through JMX as OBJECT_NAME.
+ */
+public final class SudokuSolverMetrics implements SudokuSolverMetricsMXBean
+{
+	public static final String OBJECT_NAME
+			= "com.github.ants280.sudoku:type=SudokuSolverMetrics";
+	private static final SudokuSolverMetrics INSTANCE
+			= new SudokuSolverMetrics();
+
+	private final Map<String, SudokuSolverPluginMetrics> pluginMetrics;
+
+	private SudokuSolverMetrics()
+	{
+		this.pluginMetrics = new LinkedHashMap<>();
+	}
+
+	public static SudokuSolverMetrics getInstance()
+	{
+		return INSTANCE;
+	}
+
+	/**
+	 * Registers the metrics with the platform MBean server, if they are not
+	 * already registered.
+	 */
+	public static void registerMBean()
+	{
+		MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+		try
+		{
+			mBeanServer.registerMBean(INSTANCE, new ObjectName(OBJECT_NAME));
+		}
+		catch (InstanceAlreadyExistsException ex)
+		{
+			// Already registered.
+		}
+		catch (JMException ex)
+		{
+			throw new IllegalStateException(
+					"Could not register " + OBJECT_NAME,
+					ex);
+		}
+	}
+
+	synchronized SudokuSolverPluginMetrics getPluginMetrics(
+			Class<? extends SudokuSolverPlugin> pluginClass)
+	{
+		return pluginMetrics.computeIfAbsent(
+				pluginClass.getName(),
+				SudokuSolverPluginMetrics::new);
+	}
+
+	/**
+	 * @return The totals of each kind of plugin, in the order they were
+	 * first created.
+	 */
+	@Override
+	public synchronized List<SudokuSolverPluginMetricsSnapshot>
+			getPluginMetrics()
+	{
+		List<SudokuSolverPluginMetricsSnapshot> snapshots
+				= new ArrayList<>(pluginMetrics.size());
+		for (SudokuSolverPluginMetrics metrics : pluginMetrics.values())
+		{
+			snapshots.add(metrics.getSnapshot());
+		}
+		return snapshots;
+	}
+
+	/**
+	 * Sets all the totals to 0.
+	 */
+	@Override
+	public synchronized void reset()
+	{
+		pluginMetrics.values().forEach(SudokuSolverPluginMetrics::reset);
+	}
+}
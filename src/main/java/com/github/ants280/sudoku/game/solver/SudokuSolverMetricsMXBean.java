@@ -0,0 +1,13 @@
+package com.github.ants280.sudoku.game.solver;
+
+import java.util.List;
+
+/**
+ * The JMX view of SudokuSolverMetrics.
+ */
+public interface SudokuSolverMetricsMXBean
+{
+	List<SudokuSolverPluginMetricsSnapshot> getPluginMetrics();
+
+	void reset();
+}
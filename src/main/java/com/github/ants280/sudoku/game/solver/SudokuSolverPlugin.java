@@ -1,12 +1,24 @@
 package com.github.ants280.sudoku.game.solver;
 
+import com.github.ants280.sudoku.game.SectionType;
 import com.github.ants280.sudoku.game.SudokuBoard;
+import com.github.ants280.sudoku.game.SudokuCell;
+import com.github.ants280.sudoku.game.SudokuSections;
 import java.util.function.Consumer;
 
 public abstract class SudokuSolverPlugin
 {
+	/**
+	 * A section mask with every section: bit i is set for section index i.
+	 */
+	public static final int ALL_SECTIONS
+			= (1 << SudokuSections.SECTION_COUNT) - 1;
+	private static final int[] CELL_SECTION_MASKS = createCellSectionMasks();
 	protected final SudokuBoard sudokuBoard;
 	private final Consumer<String> moveDescriptionConsumer;
+	private final SudokuSolverPluginMetrics metrics;
+	private int callCellsScanned;
+	private long lastCallNanos;
 
 	public SudokuSolverPlugin(
 			SudokuBoard sudokuBoard,
@@ -14,6 +26,47 @@ public abstract class SudokuSolverPlugin
 	{
 		this.sudokuBoard = sudokuBoard;
 		this.moveDescriptionConsumer = moveDescriptionConsumer;
+		this.metrics = SudokuSolverMetrics.getInstance()
+				.getPluginMetrics(this.getClass());
+	}
+
+	/**
+	 * Makes one move or all the moves found in a search, and records the
+	 * call, its time and the cells it scanned in the plugin's
+	 * SudokuSolverMetrics. Calls made any other way are not recorded.
+	 *
+	 * @param allMoves If true, makeMoves(int) is called, and makeMove(int)
+	 * otherwise.
+	 * @return The number of moves made.
+	 */
+	final int makeMovesRecorded(int sectionMask, boolean allMoves)
+	{
+		callCellsScanned = 0;
+		long startNanos = System.nanoTime();
+		int moveCount = allMoves
+				? this.makeMoves(sectionMask)
+				: this.makeMove(sectionMask) ? 1 : 0;
+		lastCallNanos = System.nanoTime() - startNanos;
+		metrics.addCall(moveCount != 0, lastCallNanos, callCellsScanned);
+		return moveCount;
+	}
+
+	/**
+	 * @return The time of the last call to makeMovesRecorded().
+	 */
+	final long getLastCallNanos()
+	{
+		return lastCallNanos;
+	}
+
+	/**
+	 * Counts cells read by the current call, for SudokuSolverMetrics. Each
+	 * pass over a section or the board counts the cells it reads, so a cell
+	 * read by several passes is counted once for each.
+	 */
+	protected void addCellsScanned(int count)
+	{
+		callCellsScanned += count;
 	}
 
 	/**
@@ -23,6 +76,93 @@ public abstract class SudokuSolverPlugin
 	 */
 	public abstract boolean makeMove();
 
+	/**
+	 * Make a single change to the SudokuBoard, if possible, only looking for
+	 * it in the sections of the mask. SudokuLogicSolver passes the sections
+	 * which changed since the plugin last found nothing; the other sections
+	 * cannot have a change. By default, the whole board is searched.
+	 *
+	 * @param sectionMask Bit i is set for section index i.
+	 * @return True if a single change could be made to the SudokuBoard.
+	 */
+	public boolean makeMove(int sectionMask)
+	{
+		return this.makeMove();
+	}
+
+	/**
+	 * Make every change to the SudokuBoard found in one search of the
+	 * sections of the mask. Each change is checked against the board as left
+	 * by the changes before it. By default, makeMove(int) is called until it
+	 * makes no change.
+	 *
+	 * @param sectionMask Bit i is set for section index i.
+	 * @return The number of changes made to the SudokuBoard.
+	 */
+	public int makeMoves(int sectionMask)
+	{
+		int moveCount = 0;
+		while (this.makeMove(sectionMask))
+		{
+			moveCount++;
+		}
+		return moveCount;
+	}
+
+	/**
+	 * Checks if a move could be possible, from counts of the empty cells of
+	 * the board. SudokuLogicSolver skips the plugin if not when it uses
+	 * PluginSchedule.ADAPTIVE. By default, there must be an empty cell.
+	 *
+	 * @param emptyCellCount The number of cells without a value.
+	 * @param nakedSingleCount The number of cells without a value which have
+	 * only one possible value.
+	 * @return False if makeMove() cannot make a move.
+	 */
+	public boolean canMakeMove(int emptyCellCount, int nakedSingleCount)
+	{
+		return emptyCellCount != 0;
+	}
+
+	/**
+	 * @return The section mask of the section.
+	 */
+	protected static int getSectionMask(SectionType sectionType, int index)
+	{
+		return 1 << SudokuSections.getSectionIndex(sectionType, index);
+	}
+
+	/**
+	 * @return The section mask of the row, column and group of the cell.
+	 */
+	protected static int getSectionMask(SudokuCell sudokuCell)
+	{
+		return getCellSectionMask(SudokuSections.getCellIndex(
+				sudokuCell.getIndex(SectionType.ROW),
+				sudokuCell.getIndex(SectionType.COLUMN)));
+	}
+
+	/**
+	 * @return The section mask of the row, column and group of the cell.
+	 */
+	static int getCellSectionMask(int cellIndex)
+	{
+		return CELL_SECTION_MASKS[cellIndex];
+	}
+
+	private static int[] createCellSectionMasks()
+	{
+		int[] cellSectionMasks = new int[SudokuSections.CELL_COUNT];
+		for (int cellIndex = 0; cellIndex < cellSectionMasks.length; cellIndex++)
+		{
+			for (int sectionIndex : SudokuSections.getCellSections(cellIndex))
+			{
+				cellSectionMasks[cellIndex] |= 1 << sectionIndex;
+			}
+		}
+		return cellSectionMasks;
+	}
+
 	protected void logMove(String moveDescription)
 	{
 		if (moveDescriptionConsumer != null)
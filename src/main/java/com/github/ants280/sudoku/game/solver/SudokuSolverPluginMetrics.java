@@ -0,0 +1,54 @@
+package com.github.ants280.sudoku.game.solver;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The running totals of one kind of plugin, shared by all its instances.
+ * They can be updated and read from any thread.
+ */
+class SudokuSolverPluginMetrics
+{
+	private final String pluginName;
+	private final LongAdder callCount;
+	private final LongAdder successCount;
+	private final LongAdder nanos;
+	private final LongAdder cellsScanned;
+
+	SudokuSolverPluginMetrics(String pluginName)
+	{
+		this.pluginName = pluginName;
+		this.callCount = new LongAdder();
+		this.successCount = new LongAdder();
+		this.nanos = new LongAdder();
+		this.cellsScanned = new LongAdder();
+	}
+
+	void addCall(boolean success, long callNanos, int callCellsScanned)
+	{
+		callCount.increment();
+		if (success)
+		{
+			successCount.increment();
+		}
+		nanos.add(callNanos);
+		cellsScanned.add(callCellsScanned);
+	}
+
+	SudokuSolverPluginMetricsSnapshot getSnapshot()
+	{
+		return new SudokuSolverPluginMetricsSnapshot(
+				pluginName,
+				callCount.sum(),
+				successCount.sum(),
+				nanos.sum(),
+				cellsScanned.sum());
+	}
+
+	void reset()
+	{
+		callCount.reset();
+		successCount.reset();
+		nanos.reset();
+		cellsScanned.reset();
+	}
+}
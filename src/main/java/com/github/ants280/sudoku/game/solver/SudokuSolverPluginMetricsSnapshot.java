@@ -0,0 +1,89 @@
+package com.github.ants280.sudoku.game.solver;
+
+import java.beans.ConstructorProperties;
+
+/**
+ * The totals of one kind of plugin at a point in time.
+ */
+public class SudokuSolverPluginMetricsSnapshot
+{
+	private final String pluginName;
+	private final long callCount;
+	private final long successCount;
+	private final long nanos;
+	private final long cellsScanned;
+
+	@ConstructorProperties(
+			{
+				"pluginName", "callCount", "successCount", "nanos",
+				"cellsScanned"
+			})
+	public SudokuSolverPluginMetricsSnapshot(
+			String pluginName,
+			long callCount,
+			long successCount,
+			long nanos,
+			long cellsScanned)
+	{
+		this.pluginName = pluginName;
+		this.callCount = callCount;
+		this.successCount = successCount;
+		this.nanos = nanos;
+		this.cellsScanned = cellsScanned;
+	}
+
+	/**
+	 * @return The name of the plugin class.
+	 */
+	public String getPluginName()
+	{
+		return pluginName;
+	}
+
+	/**
+	 * @return The number of times SudokuLogicSolver asked a plugin for a
+	 * move, or for all the moves it could find.
+	 */
+	public long getCallCount()
+	{
+		return callCount;
+	}
+
+	/**
+	 * @return The number of calls which made at least one move.
+	 */
+	public long getSuccessCount()
+	{
+		return successCount;
+	}
+
+	/**
+	 * @return The total time spent in the calls.
+	 */
+	public long getNanos()
+	{
+		return nanos;
+	}
+
+	/**
+	 * @return The number of cells read by the calls. Each pass a plugin
+	 * makes over a section or the board counts the cells it reads, so a cell
+	 * read by several passes is counted once for each.
+	 */
+	public long getCellsScanned()
+	{
+		return cellsScanned;
+	}
+
+	@Override
+	public String toString()
+	{
+		return String.format(
+				"%s: %d calls, %d successes, %d ns, %d cells scanned",
+				pluginName,
+				callCount,
+				successCount,
+				nanos,
+				cellsScanned);
+	}
+}
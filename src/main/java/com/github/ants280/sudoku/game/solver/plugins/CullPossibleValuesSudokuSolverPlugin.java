@@ -1,11 +1,12 @@
 package com.github.ants280.sudoku.game.solver.plugins;
 
+import com.github.ants280.sudoku.game.PossibleValuesMask;
 import com.github.ants280.sudoku.game.SectionType;
 import com.github.ants280.sudoku.game.SudokuBoard;
 import com.github.ants280.sudoku.game.SudokuCell;
 import com.github.ants280.sudoku.game.SudokuValue;
 import com.github.ants280.sudoku.game.solver.SudokuSolverPlugin;
-import java.util.Collection;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Consumer;
@@ -34,21 +35,45 @@ public class CullPossibleValuesSudokuSolverPlugin extends SudokuSolverPlugin
 
 	@Override
 	public boolean makeMove()
+	{
+		return this.makeMove(ALL_SECTIONS);
+	}
+
+	@Override
+	public boolean canMakeMove(int emptyCellCount, int nakedSingleCount)
+	{
+		// Two cells sharing two values, and a cell to remove them from:
+		return emptyCellCount >= 3;
+	}
+
+	@Override
+	public boolean makeMove(int sectionMask)
 	{
 		for (SectionType sectionType : SectionType.values())
 		{
 			for (int index = 0; index < 9; index++)
 			{
+				if ((getSectionMask(sectionType, index) & sectionMask) == 0)
+				{
+					continue;
+				}
+
 				List<SudokuCell> sudokuCells
 						= sudokuBoard.getSudokuCells(sectionType, index);
+				this.addCellsScanned(sudokuCells.size());
 
-				List<Collection<SudokuValue>> possibleValueGroups
+				List<Integer> possibleValueGroups
 						= this.getPossibleValueGroups(sudokuCells);
 
-				for (Collection<SudokuValue> possibleValues : possibleValueGroups)
+				for (int possibleValues : possibleValueGroups)
 				{
-					for (SudokuValue possibleValue : possibleValues)
+					for (SudokuValue possibleValue : SudokuValue.values())
 					{
+						if (!PossibleValuesMask.contains(possibleValues, possibleValue))
+						{
+							continue;
+						}
+
 						List<SudokuCell> sudokuCellsToCull
 								= this.getCellsToCull(
 										sudokuCells,
@@ -66,9 +91,7 @@ public class CullPossibleValuesSudokuSolverPlugin extends SudokuSolverPlugin
 									sectionType.getDisplayValue(),
 									index + 1,
 									sectionType.getDisplayValue(),
-									possibleValues.stream()
-											.map(SudokuValue::getDisplayValue)
-											.collect(Collectors.toList()));
+									getDisplayValues(possibleValues));
 							this.logMove(moveDescription);
 
 							sudokuCellsToCull.forEach(sudokuCell
@@ -85,28 +108,41 @@ public class CullPossibleValuesSudokuSolverPlugin extends SudokuSolverPlugin
 		return false;
 	}
 
-	private List<Collection<SudokuValue>> getPossibleValueGroups(List<SudokuCell> sudokuCells)
+	private List<Integer> getPossibleValueGroups(List<SudokuCell> sudokuCells)
 	{
 		return sudokuCells.stream()
-				.map(SudokuCell::getPossibleValues)
-				.filter(collection -> !collection.isEmpty())
+				.mapToInt(SudokuCell::getPossibleValuesMask)
+				.filter(possibleValues -> possibleValues != PossibleValuesMask.NONE)
+				.boxed()
 				.collect(Collectors.groupingBy(Function.identity(), Collectors.counting()))
-				.entrySet() // Map.Entry<Set<Integer>, Long>
+				.entrySet() // Map.Entry<Integer, Long>
 				.stream()
-				.filter(entry -> entry.getValue() > 1 && entry.getKey().size() == entry.getValue())
+				.filter(entry -> entry.getValue() > 1
+				&& PossibleValuesMask.count(entry.getKey()) == entry.getValue())
 				.map(Map.Entry::getKey)
 				.collect(Collectors.toList());
 	}
 
 	private List<SudokuCell> getCellsToCull(
 			List<SudokuCell> sudokuCells,
-			Collection<SudokuValue> possibleValues,
+			int possibleValues,
 			SudokuValue possibleValue)
 	{
+		this.addCellsScanned(sudokuCells.size());
 		return sudokuCells.stream()
 				.filter(sudokuCell -> sudokuCell.getValue() == null
-				&& !possibleValues.equals(sudokuCell.getPossibleValues())
+				&& possibleValues != sudokuCell.getPossibleValuesMask()
 				&& sudokuCell.hasPossibleValue(possibleValue))
 				.collect(Collectors.toList());
 	}
+
+	private static List<String> getDisplayValues(int possibleValues)
+	{
+		List<String> displayValues = new ArrayList<>();
+		PossibleValuesMask.forEach(
+				possibleValues,
+				value -> displayValues.add(
+						SudokuValue.fromValue(value).getDisplayValue()));
+		return displayValues;
+	}
 }
@@ -2,16 +2,29 @@ package com.github.ants280.sudoku.game.solver.plugins;
 
 import com.github.ants280.sudoku.game.SectionType;
 import com.github.ants280.sudoku.game.SudokuBoard;
+import com.github.ants280.sudoku.game.SudokuBoardState;
 import com.github.ants280.sudoku.game.SudokuCell;
+import com.github.ants280.sudoku.game.SudokuSections;
 import com.github.ants280.sudoku.game.SudokuValue;
+import com.github.ants280.sudoku.game.solver.SudokuCandidateKernel;
 import com.github.ants280.sudoku.game.solver.SudokuSolverPlugin;
-import java.util.Arrays;
+import java.util.List;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
+/**
+ * Sets the value of a cell which is the only cell in one of its sections
+ * where the value is possible (a hidden single).
+ *
+ * The hidden singles are found from the positions of each value in the
+ * sections (see SudokuCandidateKernel). The first cell in board order with
+ * one is set, to its lowest such value.
+ */
 public class LastPossibleValueInSectionSudokuSolverPlugin extends SudokuSolverPlugin
 {
 	private final BiConsumer<SudokuCell, SudokuValue> removeNearbyPossibleValuesConsumer;
+	private final SudokuCandidateKernel candidateKernel;
+	private final int[] cellHiddenSingles;
 
 	public LastPossibleValueInSectionSudokuSolverPlugin(
 			SudokuBoard sudokuBoard,
@@ -22,47 +35,87 @@ public class LastPossibleValueInSectionSudokuSolverPlugin extends SudokuSolverPl
 
 		this.removeNearbyPossibleValuesConsumer
 				= removeNearbyPossibleValuesConsumer;
+		this.candidateKernel = new SudokuCandidateKernel();
+		this.cellHiddenSingles = new int[SudokuSections.CELL_COUNT];
 	}
 
 	@Override
 	public boolean makeMove()
 	{
-		for (SudokuCell sudokuCell : sudokuBoard.getAllSudokuCells())
-		{
-			if (sudokuCell.getValue() == null)
-			{
-				for (SudokuValue possibleValue : sudokuCell.getPossibleValues())
-				{
-					boolean onlyPossibleValueInASection = Arrays.stream(SectionType.values())
-							.map(sectionType -> sudokuBoard.getSudokuCells(sectionType, sudokuCell.getIndex(sectionType)))
-							.anyMatch(sudokuCells -> sudokuCells.stream()
-							.allMatch(otherSudokuCell -> otherSudokuCell.equals(sudokuCell)
-							|| otherSudokuCell.getValue() != null
-							|| !otherSudokuCell.hasPossibleValue(possibleValue)));
+		return this.makeMove(ALL_SECTIONS);
+	}
 
-					if (onlyPossibleValueInASection)
-					{
-						String moveDescription = String.format(
-								"Setting value of cell at [r,c]=[%d,%d] to %s "
-								+ "because it is the last place "
-								+ "in one of the sections the cell is in "
-								+ "that a %s can go.",
-								sudokuCell.getIndex(SectionType.ROW) + 1,
-								sudokuCell.getIndex(SectionType.COLUMN) + 1,
-								possibleValue.getDisplayValue(),
-								possibleValue.getDisplayValue());
-						this.logMove(moveDescription);
+	@Override
+	public boolean makeMove(int sectionMask)
+	{
+		return this.makeMoves(sectionMask, false) != 0;
+	}
 
-						sudokuCell.setValue(possibleValue);
+	@Override
+	public int makeMoves(int sectionMask)
+	{
+		return this.makeMoves(sectionMask, true);
+	}
 
-						removeNearbyPossibleValuesConsumer.accept(sudokuCell, possibleValue);
+	private int makeMoves(int sectionMask, boolean allMoves)
+	{
+		int moveCount = 0;
+		if (!this.findHiddenSingles(sectionMask))
+		{
+			return moveCount;
+		}
 
-						return true;
-					}
-				}
+		List<SudokuCell> allSudokuCells = sudokuBoard.getAllSudokuCells();
+		for (int cellIndex = 0;
+				cellIndex < cellHiddenSingles.length;
+				cellIndex++)
+		{
+			int hiddenSingles = cellHiddenSingles[cellIndex];
+			if (hiddenSingles == 0)
+			{
+				continue;
+			}
+
+			SudokuValue value = SudokuValue.fromValue(
+					Integer.numberOfTrailingZeros(hiddenSingles) + 1);
+			this.setValue(allSudokuCells.get(cellIndex), value);
+			moveCount++;
+			// The move changes the possible values of the cells after it:
+			if (!allMoves || !this.findHiddenSingles(sectionMask))
+			{
+				break;
 			}
 		}
 
-		return false;
+		return moveCount;
+	}
+
+	private boolean findHiddenSingles(int sectionMask)
+	{
+		SudokuBoardState boardState = sudokuBoard.getBoardState();
+		// The kernel reads every cell, whatever the mask:
+		this.addCellsScanned(boardState.getCellCount());
+		candidateKernel.load(boardState);
+		return candidateKernel.findHiddenSingles(
+				cellHiddenSingles,
+				sectionMask);
+	}
+
+	private void setValue(SudokuCell sudokuCell, SudokuValue value)
+	{
+		String moveDescription = String.format(
+				"Setting value of cell at [r,c]=[%d,%d] to %s "
+				+ "because it is the last place "
+				+ "in one of the sections the cell is in "
+				+ "that a %s can go.",
+				sudokuCell.getIndex(SectionType.ROW) + 1,
+				sudokuCell.getIndex(SectionType.COLUMN) + 1,
+				value.getDisplayValue(),
+				value.getDisplayValue());
+		this.logMove(moveDescription);
+
+		sudokuCell.setValue(value);
+
+		removeNearbyPossibleValuesConsumer.accept(sudokuCell, value);
 	}
 }
@@ -5,7 +5,6 @@ import com.github.ants280.sudoku.game.SudokuBoard;
 import com.github.ants280.sudoku.game.SudokuCell;
 import com.github.ants280.sudoku.game.SudokuValue;
 import com.github.ants280.sudoku.game.solver.SudokuSolverPlugin;
-import java.util.Optional;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
@@ -27,32 +26,68 @@ public class OnlyPossibleValueSudokuSolverPlugin extends SudokuSolverPlugin
 	@Override
 	public boolean makeMove()
 	{
-		Optional<SudokuCell> onePossibleValueSudoukCellOptional
-				= sudokuBoard.getAllSudokuCells()
-						.stream()
-						.filter(sudokuCell -> sudokuCell.getValue() == null
-						&& sudokuCell.getPossibleValues().size() == 1)
-						.findFirst();
-
-		if (onePossibleValueSudoukCellOptional.isPresent())
-		{
-			SudokuCell sudokuCell = onePossibleValueSudoukCellOptional.get();
-			SudokuValue value = sudokuCell.getPossibleValues().iterator().next();
+		return this.makeMove(ALL_SECTIONS);
+	}
+
+	@Override
+	public boolean canMakeMove(int emptyCellCount, int nakedSingleCount)
+	{
+		return nakedSingleCount != 0;
+	}
 
-			String moveDescription = String.format(
-					"Setting value of cell at [r,c]=[%d,%d] to %s "
-					+ "because it is the only possible value "
-					+ "in one of its sections.",
-					sudokuCell.getIndex(SectionType.ROW) + 1,
-					sudokuCell.getIndex(SectionType.COLUMN) + 1,
-					value.getDisplayValue());
-			this.logMove(moveDescription);
+	@Override
+	public boolean makeMove(int sectionMask)
+	{
+		return this.makeMoves(sectionMask, false) != 0;
+	}
 
-			sudokuCell.setValue(value);
+	@Override
+	public int makeMoves(int sectionMask)
+	{
+		return this.makeMoves(sectionMask, true);
+	}
 
-			removeNearbyPossibleValuesConsumer.accept(sudokuCell, value);
+	private int makeMoves(int sectionMask, boolean allMoves)
+	{
+		int moveCount = 0;
+		int cellsScanned = 0;
+		for (SudokuCell sudokuCell : sudokuBoard.getAllSudokuCells())
+		{
+			if ((getSectionMask(sudokuCell) & sectionMask) != 0)
+			{
+				cellsScanned++;
+				if (sudokuCell.getValue() == null
+						&& sudokuCell.getPossibleValueCount() == 1)
+				{
+					this.setOnlyPossibleValue(sudokuCell);
+					moveCount++;
+					if (!allMoves)
+					{
+						break;
+					}
+				}
+			}
 		}
+		this.addCellsScanned(cellsScanned);
+
+		return moveCount;
+	}
+
+	private void setOnlyPossibleValue(SudokuCell sudokuCell)
+	{
+		SudokuValue value = sudokuCell.getOnlyPossibleValue();
+
+		String moveDescription = String.format(
+				"Setting value of cell at [r,c]=[%d,%d] to %s "
+				+ "because it is the only possible value "
+				+ "in one of its sections.",
+				sudokuCell.getIndex(SectionType.ROW) + 1,
+				sudokuCell.getIndex(SectionType.COLUMN) + 1,
+				value.getDisplayValue());
+		this.logMove(moveDescription);
+
+		sudokuCell.setValue(value);
 
-		return onePossibleValueSudoukCellOptional.isPresent();
+		removeNearbyPossibleValuesConsumer.accept(sudokuCell, value);
 	}
 }
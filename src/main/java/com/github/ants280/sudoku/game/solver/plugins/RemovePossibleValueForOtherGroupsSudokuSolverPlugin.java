@@ -24,14 +24,52 @@ public class RemovePossibleValueForOtherGroupsSudokuSolverPlugin
 	@Override
 	public boolean makeMove()
 	{
-		for (int groupIndex = 0; groupIndex < 9; groupIndex++)
+		return this.makeMove(ALL_SECTIONS);
+	}
+
+	@Override
+	public boolean canMakeMove(int emptyCellCount, int nakedSingleCount)
+	{
+		// A cell in the group, and another outside it to remove the value from:
+		return emptyCellCount >= 2;
+	}
+
+	/**
+	 * A move for a group depends on the group and the rows and columns
+	 * through it, so the group is searched if any of those are in the mask.
+	 */
+	@Override
+	public boolean makeMove(int sectionMask)
+	{
+		return this.makeMoves(sectionMask, false) != 0;
+	}
+
+	@Override
+	public int makeMoves(int sectionMask)
+	{
+		return this.makeMoves(sectionMask, true);
+	}
+
+	private int makeMoves(int sectionMask, boolean allMoves)
+	{
+		int moveCount = 0;
+		int groupCount = sudokuBoard.getGeometry().getSize();
+		for (int groupIndex = 0; groupIndex < groupCount; groupIndex++)
 		{
 			List<SudokuCell> groupCells
 					= sudokuBoard.getSudokuCells(
 							SectionType.GROUP,
 							groupIndex);
-
-			if (this.tryToRemovePossibleValuesForOtherGroups(
+			int groupSectionMask = 0;
+			for (SudokuCell groupCell : groupCells)
+			{
+				groupSectionMask |= getSectionMask(groupCell);
+			}
+			if ((groupSectionMask & sectionMask) == 0)
+			{
+				continue;
+			}
+			while (this.tryToRemovePossibleValuesForOtherGroups(
 					groupCells,
 					groupIndex,
 					SectionType.COLUMN)
@@ -40,11 +78,15 @@ public class RemovePossibleValueForOtherGroupsSudokuSolverPlugin
 							groupIndex,
 							SectionType.ROW))
 			{
-				return true;
+				moveCount++;
+				if (!allMoves)
+				{
+					return moveCount;
+				}
 			}
 		}
 
-		return false;
+		return moveCount;
 	}
 
 	private boolean tryToRemovePossibleValuesForOtherGroups(
@@ -52,6 +94,7 @@ public class RemovePossibleValueForOtherGroupsSudokuSolverPlugin
 			int groupIndex,
 			SectionType sectionType)
 	{
+		this.addCellsScanned(groupCells.size());
 		List<SudokuCell> valuelessGroupCells
 				= groupCells.stream()
 						.filter(sudokuCell -> sudokuCell.getValue() == null)
@@ -81,6 +124,7 @@ public class RemovePossibleValueForOtherGroupsSudokuSolverPlugin
 
 				if (possibleValueOnlyInSectionTypeIndex)
 				{
+					this.addCellsScanned(sudokuBoard.getGeometry().getSize());
 					List<SudokuCell> otherCellsInSectionType
 							= sudokuBoard.getSudokuCells(sectionType, sectionTypeIndex)
 									.stream()
@@ -34,11 +34,22 @@ public class SetPossibleValuesSudokuSolverPlugin extends SudokuSolverPlugin
 
 	@Override
 	public boolean makeMove()
+	{
+		return this.makeMove(ALL_SECTIONS);
+	}
+
+	@Override
+	public boolean makeMove(int sectionMask)
 	{
 		for (SectionType sectionType : SectionType.values())
 		{
 			for (int index = 0; index < 9; index++)
 			{
+				if ((getSectionMask(sectionType, index) & sectionMask) == 0)
+				{
+					continue;
+				}
+
 				if (this.didSetPossibleValues(sectionType, index))
 				{
 					return true;
@@ -51,6 +62,7 @@ public class SetPossibleValuesSudokuSolverPlugin extends SudokuSolverPlugin
 
 	private boolean didSetPossibleValues(SectionType sectionType, int index)
 	{
+		this.addCellsScanned(sudokuBoard.getGeometry().getSize());
 		List<SudokuCell> sudokuCells
 				= sudokuBoard.getSudokuCells(sectionType, index)
 						.stream()
@@ -0,0 +1,459 @@
+package com.github.ants280.sudoku.game.store;
+
+import com.github.ants280.sudoku.game.PossibleValuesMask;
+import com.github.ants280.sudoku.game.SudokuBoardState;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.NoSuchElementException;
+
+/**
+ * A read-only file of 9x9 puzzles in fixed-width records, mapped into memory.
+ *
+ * The file starts with a HEADER_LENGTH byte header, followed by the records.
+ * Each record is a puzzle of PACKED_BOARD_LENGTH bytes, then a solution of the
+ * same length if the store has solutions, then the metadata bytes if the
+ * store has metadata. A packed board has one nibble for each cell in board
+ * order, high nibble first, with 0 for an empty cell.
+ *
+ * Reading a record does not allocate. A record with a nibble over 9 throws an
+ * IllegalStateException before anything is read from it. Stores are written
+ * with PuzzleStoreWriter.
+ */
+public class PuzzleStore implements Closeable
+{
+	public static final int MAGIC = 0x53444B50; // "SDKP"
+	public static final int VERSION = 1;
+	public static final int HEADER_LENGTH = 16;
+	public static final int PACKED_BOARD_LENGTH = 41;
+	public static final int FLAG_SOLUTIONS = 1;
+	private static final int CELL_COUNT = 81;
+	private static final int MAX_SEGMENT_LENGTH = 1 << 30;
+
+	private final FileChannel fileChannel;
+	private final boolean hasSolutions;
+	private final int metadataLength;
+	private final int recordLength;
+	private final long size;
+	private final int recordsPerSegment;
+	private final MappedByteBuffer[] segments;
+
+	private PuzzleStore(
+			FileChannel fileChannel,
+			boolean hasSolutions,
+			int metadataLength)
+			throws IOException
+	{
+		this.fileChannel = fileChannel;
+		this.hasSolutions = hasSolutions;
+		this.metadataLength = metadataLength;
+		this.recordLength = getRecordLength(hasSolutions, metadataLength);
+
+		long recordsLength = fileChannel.size() - HEADER_LENGTH;
+		if (recordsLength % recordLength != 0)
+		{
+			throw new IOException("Truncated puzzle store: "
+					+ recordsLength % recordLength
+					+ " extra bytes");
+		}
+
+		this.size = recordsLength / recordLength;
+		this.recordsPerSegment = Math.max(1, MAX_SEGMENT_LENGTH / recordLength);
+		this.segments = this.mapSegments();
+	}
+
+	/**
+	 * Opens and maps the store in the file.
+	 *
+	 * @throws IOException If the file cannot be read or is not a store.
+	 */
+	public static PuzzleStore open(Path path) throws IOException
+	{
+		FileChannel fileChannel = FileChannel.open(
+				path,
+				StandardOpenOption.READ);
+		try
+		{
+			ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH)
+					.order(ByteOrder.BIG_ENDIAN);
+			while (header.hasRemaining())
+			{
+				if (fileChannel.read(header, header.position()) < 0)
+				{
+					throw new IOException("Not a puzzle store: " + path);
+				}
+			}
+
+			if (header.getInt(0) != MAGIC)
+			{
+				throw new IOException("Not a puzzle store: " + path);
+			}
+			if (header.getShort(4) != VERSION)
+			{
+				throw new IOException(
+						"Unsupported puzzle store version: "
+						+ header.getShort(4));
+			}
+
+			int metadataLength = header.getInt(8);
+			if (metadataLength < 0)
+			{
+				throw new IOException(
+						"Invalid metadata length: " + metadataLength);
+			}
+
+			return new PuzzleStore(
+					fileChannel,
+					(header.getShort(6) & FLAG_SOLUTIONS) != 0,
+					metadataLength);
+		}
+		catch (IOException | RuntimeException ex)
+		{
+			fileChannel.close();
+			throw ex;
+		}
+	}
+
+	static int getRecordLength(boolean hasSolutions, int metadataLength)
+	{
+		return PACKED_BOARD_LENGTH
+				+ (hasSolutions ? PACKED_BOARD_LENGTH : 0)
+				+ metadataLength;
+	}
+
+	private MappedByteBuffer[] mapSegments() throws IOException
+	{
+		int segmentCount = (int) ((size + recordsPerSegment - 1)
+				/ recordsPerSegment);
+		MappedByteBuffer[] newSegments = new MappedByteBuffer[segmentCount];
+		for (int i = 0; i < segmentCount; i++)
+		{
+			long firstRecord = (long) i * recordsPerSegment;
+			long recordCount = Math.min(recordsPerSegment, size - firstRecord);
+			newSegments[i] = fileChannel.map(
+					FileChannel.MapMode.READ_ONLY,
+					HEADER_LENGTH + firstRecord * recordLength,
+					recordCount * recordLength);
+		}
+		return newSegments;
+	}
+
+	/**
+	 * @return The number of puzzles in the store.
+	 */
+	public long size()
+	{
+		return size;
+	}
+
+	public boolean hasSolutions()
+	{
+		return hasSolutions;
+	}
+
+	/**
+	 * @return The number of metadata bytes in each record, which may be 0.
+	 */
+	public int getMetadataLength()
+	{
+		return metadataLength;
+	}
+
+	/**
+	 * Reads the puzzle at the index into the values, which must have room for
+	 * 81 cells.
+	 */
+	public void getPuzzle(long index, byte[] values)
+	{
+		unpack(this.getSegment(index), this.getOffset(index), index, values);
+	}
+
+	/**
+	 * Reads the puzzle at the index into the board state. Cells with values
+	 * are locked, and all possible values are cleared.
+	 */
+	public void getPuzzle(long index, SudokuBoardState boardState)
+	{
+		unpack(
+				this.getSegment(index),
+				this.getOffset(index),
+				index,
+				boardState);
+	}
+
+	/**
+	 * Reads the solution at the index into the values, which must have room
+	 * for 81 cells.
+	 */
+	public void getSolution(long index, byte[] values)
+	{
+		this.checkSolutions();
+		unpack(
+				this.getSegment(index),
+				this.getOffset(index) + PACKED_BOARD_LENGTH,
+				index,
+				values);
+	}
+
+	/**
+	 * Copies the metadata at the index into the start of the metadata array.
+	 */
+	public void getMetadata(long index, byte[] metadata)
+	{
+		this.copyMetadata(
+				this.getSegment(index),
+				this.getOffset(index),
+				metadata);
+	}
+
+	/**
+	 * @return A new cursor before the first puzzle of the store.
+	 */
+	public Cursor cursor()
+	{
+		return new Cursor();
+	}
+
+	private MappedByteBuffer getSegment(long index)
+	{
+		if (index < 0 || index >= size)
+		{
+			throw new IndexOutOfBoundsException(
+					"Invalid index: " + index);
+		}
+
+		return segments[(int) (index / recordsPerSegment)];
+	}
+
+	private int getOffset(long index)
+	{
+		return (int) (index % recordsPerSegment) * recordLength;
+	}
+
+	private void checkSolutions()
+	{
+		if (!hasSolutions)
+		{
+			throw new IllegalArgumentException(
+					"Puzzle store has no solutions.");
+		}
+	}
+
+	private void copyMetadata(
+			MappedByteBuffer segment,
+			int recordOffset,
+			byte[] metadata)
+	{
+		int metadataOffset = recordOffset + recordLength - metadataLength;
+		for (int i = 0; i < metadataLength; i++)
+		{
+			metadata[i] = segment.get(metadataOffset + i);
+		}
+	}
+
+	/**
+	 * Checks that the 81 packed values at the offset are each 0-9, so that a
+	 * corrupt record is rejected before anything is read from it.
+	 *
+	 * @param index The index of the record, for the exception.
+	 * @throws IllegalStateException If a value is invalid.
+	 */
+	private static void checkPacked(ByteBuffer buffer, int offset, long index)
+	{
+		for (int i = 0; i < CELL_COUNT; i++)
+		{
+			int packed = buffer.get(offset + (i >> 1));
+			int value = (i & 1) == 0 ? (packed >> 4) & 0xF : packed & 0xF;
+			if (value > 9)
+			{
+				throw new IllegalStateException(
+						"Invalid value " + value + " in record " + index
+						+ " at cell " + i);
+			}
+		}
+	}
+
+	private static void unpack(
+			ByteBuffer buffer,
+			int offset,
+			long index,
+			byte[] values)
+	{
+		checkPacked(buffer, offset, index);
+		for (int i = 0; i < PACKED_BOARD_LENGTH; i++)
+		{
+			int packed = buffer.get(offset + i);
+			values[2 * i] = (byte) ((packed >> 4) & 0xF);
+			if (2 * i + 1 < CELL_COUNT)
+			{
+				values[2 * i + 1] = (byte) (packed & 0xF);
+			}
+		}
+	}
+
+	private static void unpack(
+			ByteBuffer buffer,
+			int offset,
+			long index,
+			SudokuBoardState boardState)
+	{
+		checkPacked(buffer, offset, index);
+		for (int i = 0; i < CELL_COUNT; i++)
+		{
+			int packed = buffer.get(offset + (i >> 1));
+			int value = (i & 1) == 0 ? (packed >> 4) & 0xF : packed & 0xF;
+			boardState.setValue(i, value);
+			boardState.setPossibleValues(i, PossibleValuesMask.NONE);
+			boardState.setLocked(i, value != 0);
+		}
+	}
+
+	/**
+	 * Checks that there are 81 values, each 0-9.
+	 */
+	static void checkValues(byte[] values)
+	{
+		if (values.length != CELL_COUNT)
+		{
+			throw new IllegalArgumentException(
+					"Invalid value count: " + values.length);
+		}
+		for (int i = 0; i < CELL_COUNT; i++)
+		{
+			if (values[i] < 0 || values[i] > 9)
+			{
+				throw new IllegalArgumentException(
+						"Invalid value at cell " + i);
+			}
+		}
+	}
+
+	/**
+	 * Packs the values of the 81 cells into the buffer at its position, and
+	 * moves the position past them. The values are checked first, so nothing
+	 * is put if they are invalid.
+	 */
+	static void pack(byte[] values, ByteBuffer buffer)
+	{
+		checkValues(values);
+		for (int i = 0; i < PACKED_BOARD_LENGTH; i++)
+		{
+			int high = values[2 * i];
+			int low = 2 * i + 1 < CELL_COUNT ? values[2 * i + 1] : 0;
+			buffer.put((byte) (high << 4 | low));
+		}
+	}
+
+	/**
+	 * The mapped buffers stay valid until they are garbage collected, so
+	 * records read before closing are unaffected.
+	 */
+	@Override
+	public void close() throws IOException
+	{
+		fileChannel.close();
+	}
+
+	/**
+	 * Reads the records of the store in order. A cursor does not allocate
+	 * while moving or reading, and must only be used by one thread.
+	 */
+	public class Cursor
+	{
+		private long index;
+		private MappedByteBuffer segment;
+		private int offset;
+
+		private Cursor()
+		{
+			this.index = -1;
+			this.segment = null;
+			this.offset = 0;
+		}
+
+		/**
+		 * Moves to the next record.
+		 *
+		 * @return False if there are no more records.
+		 */
+		public boolean next()
+		{
+			if (index + 1 >= size)
+			{
+				index = size;
+				segment = null;
+				return false;
+			}
+
+			index++;
+			segment = PuzzleStore.this.getSegment(index);
+			offset = PuzzleStore.this.getOffset(index);
+			return true;
+		}
+
+		/**
+		 * Moves to the record before the index, so the next call to next()
+		 * moves to the index.
+		 */
+		public void seek(long index)
+		{
+			if (index < 0 || index > size)
+			{
+				throw new IndexOutOfBoundsException(
+						"Invalid index: " + index);
+			}
+
+			this.index = index - 1;
+			this.segment = null;
+		}
+
+		public long getIndex()
+		{
+			return index;
+		}
+
+		public void readPuzzle(byte[] values)
+		{
+			unpack(this.getCurrentSegment(), offset, index, values);
+		}
+
+		public void readPuzzle(SudokuBoardState boardState)
+		{
+			unpack(this.getCurrentSegment(), offset, index, boardState);
+		}
+
+		public void readSolution(byte[] values)
+		{
+			PuzzleStore.this.checkSolutions();
+			unpack(
+					this.getCurrentSegment(),
+					offset + PACKED_BOARD_LENGTH,
+					index,
+					values);
+		}
+
+		public void readMetadata(byte[] metadata)
+		{
+			PuzzleStore.this.copyMetadata(
+					this.getCurrentSegment(),
+					offset,
+					metadata);
+		}
+
+		private MappedByteBuffer getCurrentSegment()
+		{
+			if (segment == null)
+			{
+				throw new NoSuchElementException(
+						"Cursor is not on a record.");
+			}
+
+			return segment;
+		}
+	}
+}
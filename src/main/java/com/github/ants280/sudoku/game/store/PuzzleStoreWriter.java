@@ -0,0 +1,178 @@
+package com.github.ants280.sudoku.game.store;
+
+import com.github.ants280.sudoku.game.SudokuBoardState;
+import com.github.ants280.sudoku.game.SudokuGeometry;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes a new PuzzleStore file, one record at a time.
+ */
+public class PuzzleStoreWriter implements Closeable
+{
+	private static final int BUFFER_LENGTH = 1 << 16;
+
+	private final FileChannel fileChannel;
+	private final boolean hasSolutions;
+	private final int metadataLength;
+	private final ByteBuffer buffer;
+	private long size;
+
+	/**
+	 * Creates the file, replacing any existing file.
+	 *
+	 * @param hasSolutions True if each puzzle is written with its solution.
+	 * @param metadataLength The number of metadata bytes in each record.
+	 */
+	public PuzzleStoreWriter(
+			Path path,
+			boolean hasSolutions,
+			int metadataLength)
+			throws IOException
+	{
+		if (metadataLength < 0)
+		{
+			throw new IllegalArgumentException(
+					"Invalid metadata length: " + metadataLength);
+		}
+
+		this.fileChannel = FileChannel.open(
+				path,
+				StandardOpenOption.CREATE,
+				StandardOpenOption.TRUNCATE_EXISTING,
+				StandardOpenOption.WRITE);
+		this.hasSolutions = hasSolutions;
+		this.metadataLength = metadataLength;
+		this.buffer = ByteBuffer.allocate(Math.max(
+				BUFFER_LENGTH,
+				PuzzleStore.getRecordLength(hasSolutions, metadataLength)))
+				.order(ByteOrder.BIG_ENDIAN);
+		this.size = 0L;
+
+		buffer.putInt(PuzzleStore.MAGIC);
+		buffer.putShort((short) PuzzleStore.VERSION);
+		buffer.putShort((short) (hasSolutions ? PuzzleStore.FLAG_SOLUTIONS : 0));
+		buffer.putInt(metadataLength);
+		buffer.putInt(0);
+	}
+
+	/**
+	 * Adds a record. Nothing is added if the record is invalid.
+	 *
+	 * @param puzzle The values of the 81 cells of the puzzle.
+	 * @param solution The values of the 81 cells of the solution, or null if
+	 * the store has no solutions.
+	 * @param metadata The metadata of the puzzle, or null for all zeros.
+	 */
+	public void add(byte[] puzzle, byte[] solution, byte[] metadata)
+			throws IOException
+	{
+		if (hasSolutions == (solution == null))
+		{
+			throw new IllegalArgumentException(hasSolutions
+					? "Solution required."
+					: "Puzzle store has no solutions.");
+		}
+		if (metadata != null && metadata.length > metadataLength)
+		{
+			throw new IllegalArgumentException(
+					"Metadata too long: " + metadata.length);
+		}
+		PuzzleStore.checkValues(puzzle);
+		if (solution != null)
+		{
+			PuzzleStore.checkValues(solution);
+		}
+
+		if (buffer.remaining()
+				< PuzzleStore.getRecordLength(hasSolutions, metadataLength))
+		{
+			this.flush();
+		}
+
+		PuzzleStore.pack(puzzle, buffer);
+		if (solution != null)
+		{
+			PuzzleStore.pack(solution, buffer);
+		}
+		int metadataEnd = buffer.position() + metadataLength;
+		if (metadata != null)
+		{
+			buffer.put(metadata);
+		}
+		while (buffer.position() < metadataEnd)
+		{
+			buffer.put((byte) 0);
+		}
+
+		size++;
+	}
+
+	/**
+	 * Adds a record with the values of the board states, which must be 9x9.
+	 */
+	public void add(
+			SudokuBoardState puzzle,
+			SudokuBoardState solution,
+			byte[] metadata)
+			throws IOException
+	{
+		byte[] puzzleValues = getValues(puzzle);
+		byte[] solutionValues = solution == null
+				? null
+				: getValues(solution);
+		this.add(puzzleValues, solutionValues, metadata);
+	}
+
+	private static byte[] getValues(SudokuBoardState boardState)
+	{
+		if (boardState.getGeometry() != SudokuGeometry.NINE)
+		{
+			throw new IllegalArgumentException(
+					"Illegal board: " + boardState.getGeometry());
+		}
+
+		byte[] boardValues = new byte[boardState.getCellCount()];
+		for (int i = 0; i < boardValues.length; i++)
+		{
+			boardValues[i] = (byte) boardState.getValue(i);
+		}
+		return boardValues;
+	}
+
+	/**
+	 * @return The number of records added.
+	 */
+	public long size()
+	{
+		return size;
+	}
+
+	private void flush() throws IOException
+	{
+		buffer.flip();
+		while (buffer.hasRemaining())
+		{
+			fileChannel.write(buffer);
+		}
+		buffer.clear();
+	}
+
+	@Override
+	public void close() throws IOException
+	{
+		try
+		{
+			this.flush();
+		}
+		finally
+		{
+			fileChannel.close();
+		}
+	}
+}
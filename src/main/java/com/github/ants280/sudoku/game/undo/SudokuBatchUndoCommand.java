@@ -0,0 +1,111 @@
+package com.github.ants280.sudoku.game.undo;
+
+import com.github.ants280.sudoku.game.SudokuBatchEvent;
+import com.github.ants280.sudoku.game.SudokuBoard;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Objects;
+
+/**
+ * Undoes all the cell changes of a SudokuBatchEvent as a single command. The
+ * cell of the command is the first cell in the batch.
+ */
+public class SudokuBatchUndoCommand extends SudokuCellUndoCommand
+{
+	private final SudokuBoard sudokuBoard;
+	private final List<SudokuCellUndoCommand> sudokuCellUndoCommands;
+
+	public SudokuBatchUndoCommand(SudokuBatchEvent batchEvent)
+	{
+		this(batchEvent.getSource(), createSudokuCellUndoCommands(batchEvent));
+	}
+
+	private SudokuBatchUndoCommand(
+			SudokuBoard sudokuBoard,
+			List<SudokuCellUndoCommand> sudokuCellUndoCommands)
+	{
+		super(sudokuCellUndoCommands.get(0));
+
+		this.sudokuBoard = sudokuBoard;
+		this.sudokuCellUndoCommands = sudokuCellUndoCommands;
+	}
+
+	private static List<SudokuCellUndoCommand> createSudokuCellUndoCommands(
+			SudokuBatchEvent batchEvent)
+	{
+		List<SudokuCellUndoCommand> sudokuCellUndoCommands = new ArrayList<>();
+		batchEvent.getCellValueChangedEvents()
+				.forEach(cellValueChangedEvent -> sudokuCellUndoCommands.add(
+				new SudokuCellUndoCommand(
+						cellValueChangedEvent,
+						SudokuCellChangeType.SET_VALUE)));
+		batchEvent.getCellPossibleValueChangedEvents()
+				.forEach(cellPossibleValueChangedEvent -> sudokuCellUndoCommands.add(
+				new SudokuCellUndoCommand(
+						cellPossibleValueChangedEvent,
+						SudokuCellChangeType.TOGGLE_POSSIBLE_VALUE)));
+
+		if (sudokuCellUndoCommands.isEmpty())
+		{
+			throw new IllegalArgumentException(
+					"Cannot create undo command for empty batch.");
+		}
+
+		return sudokuCellUndoCommands;
+	}
+
+	@Override
+	public void undo()
+	{
+		sudokuBoard.beginBatch();
+		try
+		{
+			ListIterator<SudokuCellUndoCommand> iterator
+					= sudokuCellUndoCommands.listIterator(
+							sudokuCellUndoCommands.size());
+			while (iterator.hasPrevious())
+			{
+				iterator.previous().undo();
+			}
+		}
+		finally
+		{
+			sudokuBoard.commit();
+		}
+	}
+
+	@Override
+	public void redo()
+	{
+		sudokuBoard.beginBatch();
+		try
+		{
+			sudokuCellUndoCommands.forEach(SudokuCellUndoCommand::redo);
+		}
+		finally
+		{
+			sudokuBoard.commit();
+		}
+	}
+
+	@Override
+	public int hashCode()
+	{
+		int hash = 3;
+		hash = 53 * hash + Objects.hashCode(this.sudokuBoard);
+		hash = 53 * hash + Objects.hashCode(this.sudokuCellUndoCommands);
+		return hash;
+	}
+
+	@Override
+	public boolean equals(Object obj)
+	{
+		return this == obj
+				|| obj != null
+				&& this.getClass() == obj.getClass()
+				&& this.sudokuBoard == ((SudokuBatchUndoCommand) obj).sudokuBoard
+				&& Objects.equals(this.sudokuCellUndoCommands,
+						((SudokuBatchUndoCommand) obj).sudokuCellUndoCommands);
+	}
+}
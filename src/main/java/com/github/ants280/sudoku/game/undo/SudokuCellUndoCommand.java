@@ -18,6 +18,12 @@ public class SudokuCellUndoCommand implements Command
 		this.sudokuCellChangeType = sudokuCellChangeType;
 	}
 
+	protected SudokuCellUndoCommand(SudokuCellUndoCommand sudokuCellUndoCommand)
+	{
+		this(sudokuCellUndoCommand.cellValueChangedEvent,
+				sudokuCellUndoCommand.sudokuCellChangeType);
+	}
+
 	public SudokuCell getSudokuCell()
 	{
 		return cellValueChangedEvent.getSource();
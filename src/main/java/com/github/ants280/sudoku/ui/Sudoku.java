@@ -1,6 +1,10 @@
 package com.github.ants280.sudoku.ui;
 
+import com.github.ants280.sudoku.batch.SudokuBatch;
+import com.github.ants280.sudoku.game.solver.SudokuSolverMetrics;
 import java.awt.Window;
+import java.io.IOException;
+import java.util.Arrays;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import javax.swing.SwingUtilities;
@@ -9,8 +13,18 @@ import javax.swing.UnsupportedLookAndFeelException;
 
 public final class Sudoku
 {
-	public static void main(final String[] args)
+	/**
+	 * Shows the game, or solves puzzles without it if the first argument is
+	 * "--batch" (see SudokuBatch for the rest of the arguments).
+	 */
+	public static void main(final String[] args) throws IOException
 	{
+		if (args.length != 0 && "--batch".equals(args[0]))
+		{
+			SudokuBatch.main(Arrays.copyOfRange(args, 1, args.length));
+			return;
+		}
+
 		SwingUtilities.invokeLater(new Sudoku()::run);
 	}
 
@@ -21,6 +35,7 @@ public final class Sudoku
 	private void run()
 	{
 		setLookAndFeel();
+		SudokuSolverMetrics.registerMBean();
 
 		Window frame = new SudokuFrame().getFrame();
 		Thread.setDefaultUncaughtExceptionHandler(
@@ -0,0 +1,241 @@
+package com.github.ants280.sudoku.ui;
+
+import com.github.ants280.sudoku.game.SudokuBoard;
+import com.github.ants280.sudoku.game.SudokuCell;
+import com.github.ants280.sudoku.game.solver.CancellationToken;
+import com.github.ants280.sudoku.game.solver.SearchLimits;
+import com.github.ants280.sudoku.game.solver.SearchMode;
+import com.github.ants280.sudoku.game.solver.SearchResult;
+import com.github.ants280.sudoku.game.solver.SudokuBruteForceSolver;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import javax.swing.BorderFactory;
+import javax.swing.BoxLayout;
+import javax.swing.JButton;
+import javax.swing.JDialog;
+import javax.swing.JFrame;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.JProgressBar;
+import javax.swing.SwingWorker;
+import javax.swing.WindowConstants;
+
+/**
+ * Solves a copy of the board with brute force on a background thread, while
+ * a dialog shows the progress of the search and lets it be cancelled. If the
+ * copy is solved, its values are set on the board in one batch.
+ */
+public class SudokuBruteForceSolveWorker
+		extends SwingWorker<SearchResult, SudokuBruteForceSolveWorker.Progress>
+{
+	private static final long PUBLISH_INTERVAL_NANOS
+			= TimeUnit.MILLISECONDS.toNanos(200L);
+	private static final String SEARCHING_MESSAGE = "Searching...";
+	private static final String CANCELLING_MESSAGE = "Cancelling...";
+
+	private final SudokuBoard board;
+	private final SudokuBoard solveBoard;
+	private final Runnable solvedRunnable;
+	private final CancellationToken cancellationToken;
+	private final JDialog dialog;
+	private final JLabel progressLabel;
+	private final JButton cancelButton;
+	private long lastPublishNanos;
+	private Progress lastProgress;
+
+	/**
+	 * @param solvedRunnable Run after the solution is set on the board.
+	 */
+	public SudokuBruteForceSolveWorker(
+			JFrame dialogOwner,
+			SudokuBoard board,
+			Runnable solvedRunnable)
+	{
+		this.board = board;
+		this.solveBoard = new SudokuBoard(board);
+		this.solvedRunnable = solvedRunnable;
+		this.cancellationToken = new CancellationToken();
+		this.dialog = new JDialog(dialogOwner, "Solve Brute force", true);
+		this.progressLabel = new JLabel(SEARCHING_MESSAGE);
+		this.cancelButton = new JButton("Cancel");
+		this.lastPublishNanos = 0L;
+		this.lastProgress = null;
+
+		this.init();
+	}
+
+	private void init()
+	{
+		JProgressBar progressBar = new JProgressBar();
+		progressBar.setIndeterminate(true);
+
+		cancelButton.addActionListener(actionEvent -> this.cancelSolve());
+
+		JPanel panel = new JPanel();
+		panel.setLayout(new BoxLayout(panel, BoxLayout.Y_AXIS));
+		panel.add(progressLabel);
+		panel.add(progressBar);
+		panel.add(cancelButton);
+		panel.setBorder(BorderFactory.createEmptyBorder(20, 20, 20, 20));
+
+		dialog.add(panel);
+		dialog.setDefaultCloseOperation(WindowConstants.DO_NOTHING_ON_CLOSE);
+		dialog.addWindowListener(new WindowAdapter()
+		{
+			@Override
+			public void windowClosing(WindowEvent windowEvent)
+			{
+				SudokuBruteForceSolveWorker.this.cancelSolve();
+			}
+		});
+		dialog.setResizable(false);
+	}
+
+	/**
+	 * Starts the search and shows the dialog until it ends. Must be called on
+	 * the Event Dispatch Thread.
+	 */
+	public void start()
+	{
+		this.execute();
+
+		progressLabel.setText(formatProgress(0L, 0L, 0));
+		dialog.pack();
+		progressLabel.setText(SEARCHING_MESSAGE);
+		dialog.setLocationRelativeTo(dialog.getParent());
+		dialog.setVisible(true);
+	}
+
+	private void cancelSolve()
+	{
+		cancellationToken.cancel();
+		cancelButton.setEnabled(false);
+		progressLabel.setText(CANCELLING_MESSAGE);
+	}
+
+	@Override
+	protected SearchResult doInBackground()
+	{
+		SudokuBruteForceSolver solver = new SudokuBruteForceSolver(
+				solveBoard,
+				SearchMode.MOST_CONSTRAINED);
+		solver.setProgressListener(this::searchProgressed);
+		lastPublishNanos = System.nanoTime();
+
+		return solver.solve(new SearchLimits(
+				SearchLimits.UNLIMITED,
+				SearchLimits.UNLIMITED,
+				TimeUnit.NANOSECONDS,
+				cancellationToken));
+	}
+
+	private void searchProgressed(long nodeCount, int depth)
+	{
+		long nanos = System.nanoTime();
+		if (nanos - lastPublishNanos >= PUBLISH_INTERVAL_NANOS)
+		{
+			lastPublishNanos = nanos;
+			this.publish(new Progress(nanos, nodeCount, depth));
+		}
+	}
+
+	@Override
+	protected void process(List<Progress> chunks)
+	{
+		Progress progress = chunks.get(chunks.size() - 1);
+		if (lastProgress != null && !cancellationToken.isCancelled())
+		{
+			long nodesPerSecond = (progress.nodeCount - lastProgress.nodeCount)
+					* TimeUnit.SECONDS.toNanos(1L)
+					/ Math.max(1L, progress.nanos - lastProgress.nanos);
+			progressLabel.setText(formatProgress(
+					progress.nodeCount,
+					nodesPerSecond,
+					progress.depth));
+		}
+		lastProgress = progress;
+	}
+
+	private static String formatProgress(
+			long nodeCount,
+			long nodesPerSecond,
+			int depth)
+	{
+		return String.format(
+				"%,d values tried (%,d per second), depth %d",
+				nodeCount,
+				nodesPerSecond,
+				depth);
+	}
+
+	@Override
+	protected void done()
+	{
+		dialog.dispose();
+
+		SearchResult searchResult;
+		try
+		{
+			searchResult = this.get();
+		}
+		catch (InterruptedException ex)
+		{
+			Thread.currentThread().interrupt();
+			return;
+		}
+		catch (ExecutionException ex)
+		{
+			throw new IllegalStateException(
+					"Could not solve board.",
+					ex.getCause());
+		}
+
+		if (searchResult == SearchResult.SOLVED)
+		{
+			this.setSolution();
+			solvedRunnable.run();
+		}
+	}
+
+	private void setSolution()
+	{
+		List<SudokuCell> sudokuCells = board.getAllSudokuCells();
+		List<SudokuCell> solvedSudokuCells = solveBoard.getAllSudokuCells();
+		board.beginBatch();
+		try
+		{
+			for (int i = 0; i < sudokuCells.size(); i++)
+			{
+				SudokuCell sudokuCell = sudokuCells.get(i);
+				if (sudokuCell.getValue() == null)
+				{
+					sudokuCell.setValue(solvedSudokuCells.get(i).getValue());
+				}
+			}
+		}
+		finally
+		{
+			board.commit();
+		}
+	}
+
+	/**
+	 * How far the search had got at a time.
+	 */
+	static class Progress
+	{
+		private final long nanos;
+		private final long nodeCount;
+		private final int depth;
+
+		private Progress(long nanos, long nodeCount, int depth)
+		{
+			this.nanos = nanos;
+			this.nodeCount = nodeCount;
+			this.depth = depth;
+		}
+	}
+}
@@ -1,10 +1,12 @@
 package com.github.ants280.sudoku.ui;
 
+import com.github.ants280.sudoku.game.SudokuBatchEvent;
 import com.github.ants280.sudoku.game.SudokuBoard;
 import com.github.ants280.sudoku.game.SudokuCell;
 import com.github.ants280.sudoku.game.SudokuEvent;
 import com.github.ants280.sudoku.game.SudokuValue;
 import com.github.ants280.sudoku.game.undo.CommandHistory;
+import com.github.ants280.sudoku.game.undo.SudokuBatchUndoCommand;
 import com.github.ants280.sudoku.game.undo.SudokuCellChangeType;
 import com.github.ants280.sudoku.game.undo.SudokuCellUndoCommand;
 import static com.github.ants280.sudoku.ui.SudokuUiManager.*;
@@ -74,6 +76,7 @@ public class SudokuFrame
 		board.addCellValueChangedConsumer(this::handleCellValueChanged);
 		board.addCellPossibleValueChangedConsumer(
 				this::handleCellPossibleValueChanged);
+		board.addBatchCommittedConsumer(this::handleBatchCommitted);
 		sudokuDisplayComponent.addSelectedCellChangedConsumer(
 				this::handleSelectedCellChanged);
 		commandHistory.addUndoEmptyChangedConsumer(
@@ -222,6 +225,20 @@ public class SudokuFrame
 		commandHistory.addCommand(sudokuCellUndoCommand);
 	}
 
+	private void handleBatchCommitted(SudokuBatchEvent batchEvent)
+	{
+		if (!batchEvent.getCellValueChangedEvents().isEmpty())
+		{
+			setValueMenu.setEnabled(false);
+		}
+		if (!batchEvent.getCellPossibleValueChangedEvents().isEmpty())
+		{
+			setPossibleValueMenu.setEnabled(true);
+		}
+
+		commandHistory.addCommand(new SudokuBatchUndoCommand(batchEvent));
+	}
+
 	private void handleSelectedCellChanged(
 			SudokuEvent<?, SudokuCell> selectedCellChangedEvent)
 	{
@@ -4,7 +4,6 @@ import com.github.ants280.sudoku.game.SudokuBoard;
 import com.github.ants280.sudoku.game.SudokuCell;
 import com.github.ants280.sudoku.game.SudokuEvent;
 import com.github.ants280.sudoku.game.SudokuValue;
-import com.github.ants280.sudoku.game.solver.SudokuBruteForceSolver;
 import com.github.ants280.sudoku.game.solver.SudokuLogicSolver;
 import com.github.ants280.sudoku.game.solver.SudokuSolver;
 import com.github.ants280.sudoku.game.undo.CommandHistory;
@@ -346,10 +345,11 @@ public class SudokuUiManager implements ActionListener
 
 		if (choice == JOptionPane.YES_OPTION)
 		{
-			SudokuSolver solver = new SudokuBruteForceSolver(board);
-
-			solver.solveFast();
-			commandHistory.reset();
+			new SudokuBruteForceSolveWorker(
+					frame,
+					board,
+					commandHistory::reset)
+					.start();
 		}
 	}
 
@@ -470,11 +470,12 @@ public class SudokuUiManager implements ActionListener
 		CommandHistory<SudokuCellUndoCommand> hintCommandHistory
 				= new CommandHistory<>();
 		SudokuBoard hintBoard = new SudokuBoard(board);
-		hintBoard.addCellValueChangedConsumer(
-				cellValueChangedEvent -> hintCommandHistory.addCommand(
+		hintBoard.addBatchCommittedConsumer(
+				batchEvent -> batchEvent.getCellValueChangedEvents()
+						.forEach(cellValueChangedEvent -> hintCommandHistory.addCommand(
 						new SudokuCellUndoCommand(
 								cellValueChangedEvent,
-								SudokuCellChangeType.SET_VALUE)));
+								SudokuCellChangeType.SET_VALUE))));
 		SudokuSolver hintSolver = new SudokuLogicSolver(hintBoard, null);
 
 		hintSolver.initialize();
@@ -0,0 +1,154 @@
+package com.github.ants280.sudoku.batch;
+
+import com.github.ants280.sudoku.game.solver.SearchLimits;
+import com.github.ants280.sudoku.game.solver.SearchResult;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SudokuBatchSolverTest
+{
+	private static final String PUZZLE
+			= "003020600900305001001806400008102900700000008006708200002609500800203009005010300";
+	private static final String SOLUTION
+			= "483921657967345821251876493548132976729564138136798245372689514814253769695417382";
+	private static final String UNSOLVABLE
+			= "123456780000000000000000000000000000000000000000000000000000000000000000000000009";
+
+	@Test
+	public void testSolve()
+	{
+		List<SudokuBatchResult> results = new ArrayList<>();
+
+		SudokuBatchSummary summary = solve(
+				2,
+				SearchLimits.NONE,
+				"# comment\n"
+				+ PUZZLE + "\n"
+				+ "\n"
+				+ "{" + UNSOLVABLE + "}\r\n"
+				+ "12x\n"
+				+ "." + PUZZLE.substring(1) + "\n",
+				results);
+
+		Assert.assertEquals(4, results.size());
+		Assert.assertEquals(SearchResult.SOLVED, results.get(0).getSearchResult());
+		Assert.assertEquals(SOLUTION, results.get(0).getSolution());
+		Assert.assertEquals(SearchResult.UNSOLVABLE, results.get(1).getSearchResult());
+		Assert.assertNull(results.get(1).getSolution());
+		Assert.assertNull(results.get(2).getSearchResult());
+		Assert.assertEquals(SudokuBatchResult.INVALID, results.get(2).getStatus());
+		Assert.assertNotNull(results.get(2).getError());
+		Assert.assertEquals(SOLUTION, results.get(3).getSolution());
+		Assert.assertEquals(4, summary.getPuzzleCount());
+		Assert.assertEquals(2, summary.getSolvedCount());
+		Assert.assertEquals(1, summary.getUnsolvableCount());
+		Assert.assertEquals(0, summary.getAbortedCount());
+		Assert.assertEquals(1, summary.getInvalidCount());
+	}
+
+	@Test
+	public void testSolve_ordered()
+	{
+		StringBuilder input = new StringBuilder();
+		for (int i = 0; i < 200; i++)
+		{
+			input.append(i % 3 == 0 ? UNSOLVABLE : PUZZLE).append('\n');
+		}
+		List<SudokuBatchResult> results = new ArrayList<>();
+
+		SudokuBatchSummary summary
+				= solve(4, SearchLimits.NONE, input.toString(), results);
+
+		Assert.assertEquals(200, results.size());
+		for (int i = 0; i < results.size(); i++)
+		{
+			Assert.assertEquals(i, results.get(i).getIndex());
+			Assert.assertEquals(
+					i % 3 == 0 ? SearchResult.UNSOLVABLE : SearchResult.SOLVED,
+					results.get(i).getSearchResult());
+		}
+		Assert.assertEquals(133, summary.getSolvedCount());
+		Assert.assertTrue(summary.getMaxLatencyNanos()
+				>= summary.getLatencyPercentileNanos(50d));
+	}
+
+	@Test
+	public void testSolve_sixteen()
+	{
+		List<SudokuBatchResult> results = new ArrayList<>();
+		String puzzle = new String(new char[256]).replace('\0', '0');
+
+		solve(1, SearchLimits.NONE, puzzle, results);
+
+		Assert.assertEquals(SearchResult.SOLVED, results.get(0).getSearchResult());
+		Assert.assertEquals(256, results.get(0).getSolution().length());
+	}
+
+	@Test
+	public void testSolve_aborted()
+	{
+		List<SudokuBatchResult> results = new ArrayList<>();
+		SearchLimits limits = new SearchLimits(
+				0,
+				SearchLimits.UNLIMITED,
+				TimeUnit.NANOSECONDS,
+				null);
+
+		SudokuBatchSummary summary = solve(
+				1,
+				limits,
+				"003070600000159020900000005700000010006040900040000006400000002070362000009080700",
+				results);
+
+		Assert.assertEquals(SearchResult.ABORTED, results.get(0).getSearchResult());
+		Assert.assertEquals(1, summary.getAbortedCount());
+	}
+
+	@Test
+	public void testToString()
+	{
+		SudokuBatchResult result = new SudokuBatchResult(
+				0,
+				PUZZLE,
+				SearchResult.SOLVED,
+				SOLUTION,
+				null,
+				12_345L);
+
+		Assert.assertEquals("SOLVED\t" + SOLUTION + "\t12", result.toString());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalidThreadCount()
+	{
+		SudokuBatchSolver batchSolver
+				= new SudokuBatchSolver(0, SearchLimits.NONE);
+
+		Assert.fail("Expected exception to be thrown: " + batchSolver);
+	}
+
+	private static SudokuBatchSummary solve(
+			int threadCount,
+			SearchLimits limits,
+			String input,
+			List<SudokuBatchResult> results)
+	{
+		try (SudokuBatchSolver batchSolver
+				= new SudokuBatchSolver(threadCount, limits))
+		{
+			return batchSolver.solve(
+					new BufferedReader(new StringReader(input)),
+					results::add);
+		}
+		catch (IOException ex)
+		{
+			throw new AssertionError(ex);
+		}
+	}
+}
@@ -0,0 +1,54 @@
+package com.github.ants280.sudoku.batch;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SudokuBatchSummaryTest
+{
+	@Test
+	public void testGetLatencyPercentileNanos()
+	{
+		long[] latencies = new long[100];
+		for (int i = 0; i < latencies.length; i++)
+		{
+			latencies[i] = 100 - i;
+		}
+		SudokuBatchSummary summary = new SudokuBatchSummary(
+				latencies,
+				2_000_000_000L,
+				100,
+				0,
+				0,
+				0);
+
+		Assert.assertEquals(50, summary.getLatencyPercentileNanos(50d));
+		Assert.assertEquals(99, summary.getLatencyPercentileNanos(99d));
+		Assert.assertEquals(100, summary.getLatencyPercentileNanos(100d));
+		Assert.assertEquals(1, summary.getLatencyPercentileNanos(0.1d));
+		Assert.assertEquals(100, summary.getMaxLatencyNanos());
+		Assert.assertEquals(50d, summary.getPuzzlesPerSecond(), 1e-9d);
+	}
+
+	@Test
+	public void testEmpty()
+	{
+		SudokuBatchSummary summary
+				= new SudokuBatchSummary(new long[0], 0L, 0, 0, 0, 0);
+
+		Assert.assertEquals(0, summary.getPuzzleCount());
+		Assert.assertEquals(0L, summary.getLatencyPercentileNanos(99d));
+		Assert.assertEquals(0L, summary.getMaxLatencyNanos());
+		Assert.assertEquals(0d, summary.getPuzzlesPerSecond(), 0d);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testGetLatencyPercentileNanos_invalid()
+	{
+		SudokuBatchSummary summary
+				= new SudokuBatchSummary(new long[] { 1L }, 1L, 1, 0, 0, 0);
+
+		summary.getLatencyPercentileNanos(0d);
+
+		Assert.fail("Expected exception to be thrown.");
+	}
+}
@@ -0,0 +1,99 @@
+package com.github.ants280.sudoku.game;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class GenericSudokuBoardStateTest
+{
+	private static final String SOLVED_FOUR = "1234341221434321";
+
+	@Test
+	public void testGetCellCount()
+	{
+		SudokuBoardState boardState
+				= new GenericSudokuBoardState(SudokuGeometry.of(4));
+
+		Assert.assertEquals(256, boardState.getCellCount());
+	}
+
+	@Test
+	public void testSetValue_largeValue()
+	{
+		SudokuBoardState boardState
+				= new GenericSudokuBoardState(SudokuGeometry.of(5));
+
+		boardState.setValue(624, 25);
+
+		Assert.assertEquals(25, boardState.getValue(624));
+		Assert.assertEquals(1 << 24, boardState.getSectionValues(24));
+	}
+
+	@Test
+	public void testPossibleValues_largeMask()
+	{
+		SudokuBoardState boardState
+				= new GenericSudokuBoardState(SudokuGeometry.of(5));
+
+		boardState.setPossibleValues(3, (1 << 25) - 1);
+
+		Assert.assertEquals((1 << 25) - 1, boardState.getPossibleValues(3));
+	}
+
+	@Test
+	public void testIsSolved()
+	{
+		SudokuBoardState boardState
+				= new GenericSudokuBoardState(SudokuGeometry.of(2));
+
+		SudokuBoardParser.parse(SOLVED_FOUR, boardState);
+		boolean solved = boardState.isSolved();
+		boardState.setValue(0, 0);
+
+		Assert.assertTrue(solved);
+		Assert.assertFalse(boardState.isSolved());
+		Assert.assertEquals(9, boardState.getCompleteSectionCount());
+	}
+
+	@Test
+	public void testFork()
+	{
+		SudokuBoardState boardState
+				= new GenericSudokuBoardState(SudokuGeometry.of(2));
+		SudokuBoardParser.parse(SOLVED_FOUR, boardState);
+
+		SudokuBoardState fork = boardState.fork();
+		fork.setValue(0, 0);
+		fork.setPossibleValues(0, 1);
+
+		Assert.assertTrue(boardState.isSolved());
+		Assert.assertEquals(1, boardState.getValue(0));
+		Assert.assertEquals(0, boardState.getPossibleValues(0));
+		Assert.assertFalse(fork.isSolved());
+	}
+
+	@Test
+	public void testCopyFrom()
+	{
+		SudokuBoardState boardState
+				= new GenericSudokuBoardState(SudokuGeometry.of(2));
+		SudokuBoardState other
+				= new GenericSudokuBoardState(SudokuGeometry.of(2));
+		SudokuBoardParser.parse(SOLVED_FOUR, other);
+
+		boardState.copyFrom(other);
+
+		Assert.assertTrue(boardState.isSolved());
+		Assert.assertEquals(SOLVED_FOUR, SudokuBoardParser.format(boardState));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testCopyFrom_otherGeometry()
+	{
+		SudokuBoardState boardState
+				= new GenericSudokuBoardState(SudokuGeometry.of(2));
+
+		boardState.copyFrom(new PackedSudokuBoardState());
+
+		Assert.fail("Expected exception to be thrown.");
+	}
+}
@@ -0,0 +1,226 @@
+package com.github.ants280.sudoku.game;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PackedSudokuBoardStateTest
+{
+	@Test
+	public void testGetCellCount()
+	{
+		SudokuBoardState boardState = new PackedSudokuBoardState();
+
+		int cellCount = boardState.getCellCount();
+
+		Assert.assertEquals(81, cellCount);
+	}
+
+	@Test
+	public void testEmpty()
+	{
+		SudokuBoardState boardState = new PackedSudokuBoardState();
+
+		for (int i = 0; i < boardState.getCellCount(); i++)
+		{
+			Assert.assertEquals(0, boardState.getValue(i));
+			Assert.assertEquals(0, boardState.getPossibleValues(i));
+			Assert.assertFalse(boardState.isLocked(i));
+		}
+	}
+
+	@Test
+	public void testSetValue()
+	{
+		SudokuBoardState boardState = new PackedSudokuBoardState();
+
+		boardState.setValue(80, 9);
+
+		Assert.assertEquals(9, boardState.getValue(80));
+		Assert.assertEquals(0, boardState.getValue(79));
+	}
+
+	@Test
+	public void testSetPossibleValues_allNineBits()
+	{
+		SudokuBoardState boardState = new PackedSudokuBoardState();
+		int allPossibleValues = 0x1FF;
+
+		boardState.setPossibleValues(40, allPossibleValues);
+
+		Assert.assertEquals(allPossibleValues, boardState.getPossibleValues(40));
+	}
+
+	@Test
+	public void testSetLocked()
+	{
+		SudokuBoardState boardState = new PackedSudokuBoardState();
+
+		boardState.setLocked(3, true);
+
+		Assert.assertTrue(boardState.isLocked(3));
+		Assert.assertFalse(boardState.isLocked(4));
+	}
+
+	@Test
+	public void testGetSectionValues()
+	{
+		SudokuBoardState boardState = new PackedSudokuBoardState();
+
+		boardState.setValue(10, 5); // row 1, column 1, group 0
+
+		int expectedSectionValues = 1 << 4;
+		Assert.assertEquals(expectedSectionValues, boardState.getSectionValues(1));
+		Assert.assertEquals(expectedSectionValues, boardState.getSectionValues(9 + 1));
+		Assert.assertEquals(expectedSectionValues, boardState.getSectionValues(18));
+		Assert.assertEquals(0, boardState.getSectionValues(2));
+	}
+
+	@Test
+	public void testGetSectionValues_duplicateValueRemoved()
+	{
+		SudokuBoardState boardState = new PackedSudokuBoardState();
+		boardState.setValue(0, 3);
+		boardState.setValue(1, 3);
+
+		boardState.setValue(1, 0);
+
+		Assert.assertEquals(1 << 2, boardState.getSectionValues(0));
+	}
+
+	@Test
+	public void testGetCompleteSectionCount_row()
+	{
+		SudokuBoardState boardState = new PackedSudokuBoardState();
+
+		for (int i = 0; i < 9; i++)
+		{
+			boardState.setValue(i, i + 1);
+		}
+
+		Assert.assertEquals(1, boardState.getCompleteSectionCount());
+		Assert.assertFalse(boardState.isSolved());
+	}
+
+	@Test
+	public void testIsSolved()
+	{
+		String solvedBoard
+				= "123456789"
+				+ "456789123"
+				+ "789123456"
+				+ "234567891"
+				+ "567891234"
+				+ "891234567"
+				+ "345678912"
+				+ "678912345"
+				+ "912345678";
+		SudokuBoardState boardState = new PackedSudokuBoardState();
+
+		for (int i = 0; i < solvedBoard.length(); i++)
+		{
+			boardState.setValue(i, solvedBoard.charAt(i) - '0');
+		}
+		boolean solved = boardState.isSolved();
+		boardState.setValue(80, 0);
+		boolean solvedAfterClear = boardState.isSolved();
+
+		Assert.assertTrue(solved);
+		Assert.assertFalse(solvedAfterClear);
+		Assert.assertEquals(24, boardState.getCompleteSectionCount());
+	}
+
+	@Test
+	public void testCopy()
+	{
+		SudokuBoardState boardState = new PackedSudokuBoardState();
+		boardState.setValue(0, 5);
+		boardState.setPossibleValues(1, 0b101);
+		boardState.setLocked(0, true);
+
+		SudokuBoardState copy = boardState.copy();
+		copy.setValue(0, 6);
+		copy.setPossibleValues(1, 0b11);
+		copy.setLocked(0, false);
+
+		Assert.assertEquals(5, boardState.getValue(0));
+		Assert.assertEquals(0b101, boardState.getPossibleValues(1));
+		Assert.assertTrue(boardState.isLocked(0));
+		Assert.assertEquals(1 << 4, boardState.getSectionValues(0));
+		Assert.assertEquals(6, copy.getValue(0));
+		Assert.assertEquals(0b11, copy.getPossibleValues(1));
+		Assert.assertFalse(copy.isLocked(0));
+		Assert.assertEquals(1 << 5, copy.getSectionValues(0));
+	}
+
+	@Test
+	public void testCopy_completeSectionCount()
+	{
+		SudokuBoardState boardState = new PackedSudokuBoardState();
+		for (int i = 0; i < 9; i++)
+		{
+			boardState.setValue(i, i + 1);
+		}
+
+		SudokuBoardState copy = boardState.copy();
+
+		Assert.assertEquals(1, copy.getCompleteSectionCount());
+	}
+
+	@Test
+	public void testFork_changeFork()
+	{
+		SudokuBoardState boardState = new PackedSudokuBoardState();
+		boardState.setValue(0, 5);
+
+		SudokuBoardState fork = boardState.fork();
+		fork.setValue(0, 6);
+		fork.setPossibleValues(1, 0b11);
+		fork.setLocked(2, true);
+
+		Assert.assertEquals(5, boardState.getValue(0));
+		Assert.assertEquals(0, boardState.getPossibleValues(1));
+		Assert.assertFalse(boardState.isLocked(2));
+		Assert.assertEquals(1 << 4, boardState.getSectionValues(0));
+		Assert.assertEquals(6, fork.getValue(0));
+		Assert.assertEquals(0b11, fork.getPossibleValues(1));
+		Assert.assertTrue(fork.isLocked(2));
+		Assert.assertEquals(1 << 5, fork.getSectionValues(0));
+	}
+
+	@Test
+	public void testFork_changeOriginal()
+	{
+		SudokuBoardState boardState = new PackedSudokuBoardState();
+		boardState.setValue(0, 5);
+
+		SudokuBoardState fork = boardState.fork();
+		boardState.setValue(0, 6);
+		boardState.setPossibleValues(1, 0b11);
+		boardState.setLocked(2, true);
+
+		Assert.assertEquals(5, fork.getValue(0));
+		Assert.assertEquals(0, fork.getPossibleValues(1));
+		Assert.assertFalse(fork.isLocked(2));
+		Assert.assertEquals(1 << 4, fork.getSectionValues(0));
+	}
+
+	@Test
+	public void testCopyFrom()
+	{
+		SudokuBoardState boardState = new PackedSudokuBoardState();
+		boardState.setValue(0, 5);
+		SudokuBoardState other = new PackedSudokuBoardState();
+		other.setValue(1, 6);
+		other.setPossibleValues(2, 0b11);
+		other.setLocked(1, true);
+
+		boardState.copyFrom(other);
+		other.setValue(1, 7);
+
+		Assert.assertEquals(0, boardState.getValue(0));
+		Assert.assertEquals(6, boardState.getValue(1));
+		Assert.assertEquals(0b11, boardState.getPossibleValues(2));
+		Assert.assertTrue(boardState.isLocked(1));
+		Assert.assertEquals(1 << 5, boardState.getSectionValues(0));
+	}
+}
@@ -0,0 +1,76 @@
+package com.github.ants280.sudoku.game;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PossibleValuesMaskTest
+{
+	@Test
+	public void testOf()
+	{
+		Assert.assertEquals(1, PossibleValuesMask.of(SudokuValue.VALUE_1));
+		Assert.assertEquals(1 << 8, PossibleValuesMask.of(SudokuValue.VALUE_9));
+	}
+
+	@Test
+	public void testContains()
+	{
+		int possibleValues = PossibleValuesMask.of(SudokuValue.VALUE_3)
+				| PossibleValuesMask.of(SudokuValue.VALUE_7);
+
+		Assert.assertTrue(PossibleValuesMask.contains(possibleValues, SudokuValue.VALUE_3));
+		Assert.assertFalse(PossibleValuesMask.contains(possibleValues, SudokuValue.VALUE_4));
+	}
+
+	@Test
+	public void testCount()
+	{
+		Assert.assertEquals(0, PossibleValuesMask.count(PossibleValuesMask.NONE));
+		Assert.assertEquals(9, PossibleValuesMask.count(PossibleValuesMask.ALL));
+	}
+
+	@Test
+	public void testGetOnlyValue()
+	{
+		int possibleValues = PossibleValuesMask.of(SudokuValue.VALUE_6);
+
+		int onlyValue = PossibleValuesMask.getOnlyValue(possibleValues);
+
+		Assert.assertEquals(6, onlyValue);
+	}
+
+	@Test
+	public void testGetOnlyValue_none()
+	{
+		int onlyValue = PossibleValuesMask.getOnlyValue(PossibleValuesMask.NONE);
+
+		Assert.assertEquals(0, onlyValue);
+	}
+
+	@Test
+	public void testGetOnlyValue_multiple()
+	{
+		int possibleValues = PossibleValuesMask.of(SudokuValue.VALUE_6)
+				| PossibleValuesMask.of(SudokuValue.VALUE_2);
+
+		int onlyValue = PossibleValuesMask.getOnlyValue(possibleValues);
+
+		Assert.assertEquals(0, onlyValue);
+	}
+
+	@Test
+	public void testForEach()
+	{
+		int possibleValues = PossibleValuesMask.of(SudokuValue.VALUE_9)
+				| PossibleValuesMask.of(SudokuValue.VALUE_1)
+				| PossibleValuesMask.of(SudokuValue.VALUE_5);
+		List<Integer> actualValues = new ArrayList<>();
+
+		PossibleValuesMask.forEach(possibleValues, actualValues::add);
+
+		Assert.assertEquals(Arrays.asList(1, 5, 9), actualValues);
+	}
+}
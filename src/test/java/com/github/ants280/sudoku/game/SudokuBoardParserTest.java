@@ -0,0 +1,307 @@
+package com.github.ants280.sudoku.game;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SudokuBoardParserTest
+{
+	private static final String BOARD
+			= "123456789"
+			+ "456789123"
+			+ "789123456"
+			+ "234567891"
+			+ "567891234"
+			+ "891234567"
+			+ "345678912"
+			+ "678912345"
+			+ "912345670";
+
+	@Test
+	public void testParse_savedBoard()
+	{
+		byte[] values = new byte[81];
+
+		SudokuBoardParser.parse("{" + BOARD + "}", values);
+
+		Assert.assertEquals(1, values[0]);
+		Assert.assertEquals(9, values[8]);
+		Assert.assertEquals(0, values[80]);
+	}
+
+	@Test
+	public void testParse_line()
+	{
+		byte[] values = new byte[81];
+
+		SudokuBoardParser.parse(BOARD, values);
+
+		Assert.assertEquals(7, values[79]);
+		Assert.assertEquals(0, values[80]);
+	}
+
+	@Test
+	public void testParse_dots()
+	{
+		byte[] values = new byte[81];
+
+		SudokuBoardParser.parse(BOARD.replace('0', '.'), values);
+
+		Assert.assertEquals(0, values[80]);
+	}
+
+	@Test
+	public void testParse_bytes()
+	{
+		byte[] bytes = ("xx" + BOARD + "yy").getBytes(StandardCharsets.US_ASCII);
+		byte[] values = new byte[81];
+
+		SudokuBoardParser.parse(bytes, 2, 81, values);
+
+		Assert.assertEquals(1, values[0]);
+		Assert.assertEquals(7, values[79]);
+	}
+
+	@Test
+	public void testParseLine_byteBuffer()
+	{
+		String boards = BOARD + "\r\n{" + BOARD.replace('1', '.') + "}\n";
+		ByteBuffer buffer = ByteBuffer.wrap(boards.getBytes(StandardCharsets.US_ASCII));
+		byte[] values = new byte[81];
+
+		SudokuBoardParser.parseLine(buffer, values);
+		Assert.assertEquals(1, values[0]);
+		SudokuBoardParser.parseLine(buffer, values);
+		Assert.assertEquals(0, values[0]);
+		Assert.assertEquals(2, values[1]);
+
+		Assert.assertFalse(buffer.hasRemaining());
+	}
+
+	@Test
+	public void testParse_invalidCellOffset()
+	{
+		String text = "{" + BOARD.substring(0, 40) + "x" + BOARD.substring(41) + "}";
+
+		try
+		{
+			SudokuBoardParser.parse(text, new byte[81]);
+			Assert.fail("Expected exception to be thrown.");
+		}
+		catch (SudokuBoardFormatException ex)
+		{
+			Assert.assertEquals(41, ex.getOffset());
+		}
+	}
+
+	@Test
+	public void testParse_invalidByteOffset()
+	{
+		byte[] bytes = ("{" + BOARD.substring(0, 80) + "\u00e9}")
+				.getBytes(StandardCharsets.ISO_8859_1);
+
+		try
+		{
+			SudokuBoardParser.parse(bytes, 0, bytes.length, new byte[81]);
+			Assert.fail("Expected exception to be thrown.");
+		}
+		catch (SudokuBoardFormatException ex)
+		{
+			Assert.assertEquals(81, ex.getOffset());
+		}
+	}
+
+	@Test
+	public void testParse_bytesOffsetTooLong()
+	{
+		byte[] bytes = ("xx" + BOARD + "1").getBytes(StandardCharsets.US_ASCII);
+
+		try
+		{
+			SudokuBoardParser.parse(bytes, 2, bytes.length - 2, new byte[81]);
+			Assert.fail("Expected exception to be thrown.");
+		}
+		catch (SudokuBoardFormatException ex)
+		{
+			Assert.assertEquals(83, ex.getOffset());
+		}
+	}
+
+	@Test
+	public void testParse_bytesOffsetMissingBrace()
+	{
+		byte[] bytes = ("xx{" + BOARD + "]")
+				.getBytes(StandardCharsets.US_ASCII);
+
+		try
+		{
+			SudokuBoardParser.parse(bytes, 2, bytes.length - 2, new byte[81]);
+			Assert.fail("Expected exception to be thrown.");
+		}
+		catch (SudokuBoardFormatException ex)
+		{
+			Assert.assertEquals(84, ex.getOffset());
+		}
+	}
+
+	@Test
+	public void testParseLine_secondLineTooShort()
+	{
+		ByteBuffer buffer = ByteBuffer.wrap(("{" + BOARD + "}\n{"
+				+ BOARD.substring(0, 40) + "}\n")
+				.getBytes(StandardCharsets.US_ASCII));
+		byte[] values = new byte[81];
+		SudokuBoardParser.parseLine(buffer, values);
+
+		try
+		{
+			SudokuBoardParser.parseLine(buffer, values);
+			Assert.fail("Expected exception to be thrown.");
+		}
+		catch (SudokuBoardFormatException ex)
+		{
+			// The second line starts at 84 and is 42 long:
+			Assert.assertEquals(126, ex.getOffset());
+		}
+	}
+
+	@Test
+	public void testParseLine_secondLineMissingBrace()
+	{
+		ByteBuffer buffer = ByteBuffer.wrap((BOARD + "\r\n{" + BOARD + "]")
+				.getBytes(StandardCharsets.US_ASCII));
+		byte[] values = new byte[81];
+		SudokuBoardParser.parseLine(buffer, values);
+
+		try
+		{
+			SudokuBoardParser.parseLine(buffer, values);
+			Assert.fail("Expected exception to be thrown.");
+		}
+		catch (SudokuBoardFormatException ex)
+		{
+			Assert.assertEquals(83 + 82, ex.getOffset());
+		}
+	}
+
+	@Test
+	public void testParse_tooShort()
+	{
+		try
+		{
+			SudokuBoardParser.parse(BOARD.substring(0, 80), new byte[81]);
+			Assert.fail("Expected exception to be thrown.");
+		}
+		catch (SudokuBoardFormatException ex)
+		{
+			Assert.assertEquals(80, ex.getOffset());
+		}
+	}
+
+	@Test
+	public void testParse_tooLong()
+	{
+		try
+		{
+			SudokuBoardParser.parse(BOARD + "1", new byte[81]);
+			Assert.fail("Expected exception to be thrown.");
+		}
+		catch (SudokuBoardFormatException ex)
+		{
+			Assert.assertEquals(81, ex.getOffset());
+		}
+	}
+
+	@Test
+	public void testParse_missingBrace()
+	{
+		try
+		{
+			SudokuBoardParser.parse("{" + BOARD + "]", new byte[81]);
+			Assert.fail("Expected exception to be thrown.");
+		}
+		catch (SudokuBoardFormatException ex)
+		{
+			Assert.assertEquals(82, ex.getOffset());
+		}
+	}
+
+	@Test(expected = SudokuBoardFormatException.class)
+	public void testParse_empty()
+	{
+		SudokuBoardParser.parse("", new byte[81]);
+
+		Assert.fail("Expected exception to be thrown.");
+	}
+
+	@Test
+	public void testParse_boardState()
+	{
+		SudokuBoardState boardState = new PackedSudokuBoardState();
+		boardState.setPossibleValues(80, PossibleValuesMask.ALL);
+
+		SudokuBoardParser.parse(BOARD, boardState);
+
+		Assert.assertEquals(1, boardState.getValue(0));
+		Assert.assertTrue(boardState.isLocked(0));
+		Assert.assertFalse(boardState.isLocked(80));
+		Assert.assertEquals(PossibleValuesMask.NONE, boardState.getPossibleValues(80));
+	}
+
+	@Test
+	public void testIsValidSavedBoard_dotsNotSaved()
+	{
+		boolean validSavedBoard = SudokuBoardParser
+				.isValidSavedBoard("{" + BOARD.replace('0', '.') + "}");
+
+		Assert.assertFalse(validSavedBoard);
+	}
+
+	@Test
+	public void testParse_sixteen()
+	{
+		StringBuilder boardText = new StringBuilder("G.A");
+		for (int i = 3; i < 256; i++)
+		{
+			boardText.append('0');
+		}
+		SudokuBoardState boardState = SudokuGeometry.of(4).createBoardState();
+
+		SudokuBoardParser.parse(boardText, boardState);
+
+		Assert.assertEquals(16, boardState.getValue(0));
+		Assert.assertEquals(0, boardState.getValue(1));
+		Assert.assertEquals(10, boardState.getValue(2));
+		Assert.assertTrue(boardState.isLocked(0));
+		Assert.assertEquals(
+				boardText.toString().replace('.', '0'),
+				SudokuBoardParser.format(boardState));
+	}
+
+	@Test
+	public void testParse_fourInvalidValue()
+	{
+		SudokuBoardState boardState = SudokuGeometry.of(2).createBoardState();
+
+		try
+		{
+			SudokuBoardParser.parse("{1234341221435321}", boardState);
+			Assert.fail("Expected exception to be thrown.");
+		}
+		catch (SudokuBoardFormatException ex)
+		{
+			Assert.assertEquals(13, ex.getOffset());
+		}
+	}
+
+	@Test(expected = SudokuBoardFormatException.class)
+	public void testParse_fourTooLong()
+	{
+		SudokuBoardState boardState = SudokuGeometry.of(2).createBoardState();
+
+		SudokuBoardParser.parse("12343412214343210", boardState);
+
+		Assert.fail("Expected exception to be thrown.");
+	}
+}
@@ -1,6 +1,7 @@
 package com.github.ants280.sudoku.game;
 
 import static com.github.ants280.sudoku.game.SectionType.*;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -20,6 +21,18 @@ public class SudokuBoardTest
 				+ "because it is too small: " + board);
 	}
 
+	@Test
+	public void testConstructor_dotsWithoutBraces()
+	{
+		String boardString = "12345678945678912378912345623456789156789123489123456734567891267891234591234567.";
+
+		SudokuBoard board = new SudokuBoard(boardString);
+
+		Assert.assertEquals(
+				"{123456789456789123789123456234567891567891234891234567345678912678912345912345670}",
+				board.toString());
+	}
+
 	@Test
 	public void testIsValidBoard_small()
 	{
@@ -143,6 +156,21 @@ public class SudokuBoardTest
 		Assert.assertEquals(value, actualValue);
 	}
 
+	@Test
+	public void testGetBoardState()
+	{
+		SudokuBoard board = new SudokuBoard();
+		SudokuCell sudokuCell = board.getSudokuCells(ROW, 1).get(6);
+
+		sudokuCell.setValue(SudokuValue.VALUE_4);
+		sudokuCell.togglePossibleValue(SudokuValue.VALUE_2);
+
+		SudokuBoardState boardState = board.getBoardState();
+		Assert.assertEquals(4, boardState.getValue(15));
+		Assert.assertEquals(1 << 1, boardState.getPossibleValues(15));
+		Assert.assertFalse(boardState.isLocked(15));
+	}
+
 	@Test
 	public void testGetSudokuCells_group()
 	{
@@ -398,6 +426,46 @@ public class SudokuBoardTest
 				sudokuBoard2.isSolved());
 	}
 
+	@Test
+	public void testCopyConstructor_possibleValues()
+	{
+		SudokuBoard sudokuBoard1 = new SudokuBoard();
+		SudokuCell sudokuCell1 = sudokuBoard1.getSudokuCells(ROW, 0).get(0);
+		sudokuCell1.togglePossibleValue(SudokuValue.VALUE_3);
+		sudokuCell1.setValue(SudokuValue.VALUE_4);
+
+		SudokuBoard sudokuBoard2 = new SudokuBoard(sudokuBoard1);
+		SudokuCell sudokuCell2 = sudokuBoard2.getSudokuCells(ROW, 0).get(0);
+
+		Assert.assertEquals(SudokuValue.VALUE_4, sudokuCell2.getValue());
+		Assert.assertFalse(sudokuCell2.isLocked());
+		Assert.assertTrue(sudokuCell2.hasPossibleValue(SudokuValue.VALUE_3));
+	}
+
+	@Test
+	public void testFork()
+	{
+		String boardValue
+				= "{123456789"
+				+ "456789123"
+				+ "789123456"
+				+ "234567891"
+				+ "567891234"
+				+ "891234567"
+				+ "345678912"
+				+ "678912345"
+				+ "912345670}";
+		SudokuBoard sudokuBoard1 = new SudokuBoard(boardValue);
+		SudokuBoard sudokuBoard2 = sudokuBoard1.fork();
+
+		sudokuBoard2.getSudokuCells(ROW, 8).get(8)
+				.setValue(SudokuValue.VALUE_8);
+
+		Assert.assertFalse(sudokuBoard1.isSolved());
+		Assert.assertTrue(sudokuBoard2.isSolved());
+		Assert.assertEquals(boardValue, sudokuBoard1.toString());
+	}
+
 	@Test
 	public void testAddSolvedChangedConsumer()
 	{
@@ -423,6 +491,32 @@ public class SudokuBoardTest
 		Assert.assertTrue(listenerTriggered.get());
 	}
 
+	@Test
+	public void testAddSolvedChangedConsumer_alreadySolved()
+	{
+		String boardValue
+				= "{123456789"
+				+ "456789123"
+				+ "789123456"
+				+ "234567891"
+				+ "567891234"
+				+ "891234567"
+				+ "345678912"
+				+ "678912345"
+				+ "912345670}";
+		SudokuBoard sudokuBoard = new SudokuBoard(boardValue);
+		SudokuCell sudokuCell = sudokuBoard.getSudokuCells(ROW, 8).get(8);
+		sudokuCell.setValue(SudokuValue.VALUE_8);
+		List<SudokuEvent<SudokuBoard, Boolean>> events = new ArrayList<>();
+		sudokuBoard.addSolvedChangedConsumer(events::add);
+
+		sudokuCell.setValue(null);
+
+		Assert.assertEquals(1, events.size());
+		Assert.assertTrue(events.get(0).getOldValue());
+		Assert.assertFalse(events.get(0).getNewValue());
+	}
+
 	@Test
 	public void testRemoveSolvedChangedConsumer()
 	{
@@ -521,6 +615,193 @@ public class SudokuBoardTest
 		Assert.assertTrue(listenerTriggered.get());
 	}
 
+	@Test
+	public void testCommit_singleEvent()
+	{
+		SudokuBoard board = new SudokuBoard();
+		List<SudokuBatchEvent> batchEvents = new ArrayList<>();
+		AtomicBoolean cellConsumerTriggered = new AtomicBoolean();
+		board.addBatchCommittedConsumer(batchEvents::add);
+		board.addCellValueChangedConsumer(
+				cellValueChangedEvent -> cellConsumerTriggered.set(true));
+		board.addCellPossibleValueChangedConsumer(
+				cellPossibleValueChangedEvent -> cellConsumerTriggered.set(true));
+		SudokuCell sudokuCell1 = board.getSudokuCells(ROW, 0).get(0);
+		SudokuCell sudokuCell2 = board.getSudokuCells(ROW, 0).get(1);
+
+		board.beginBatch();
+		sudokuCell1.setValue(SudokuValue.VALUE_1);
+		sudokuCell2.togglePossibleValue(SudokuValue.VALUE_2);
+		sudokuCell2.togglePossibleValue(SudokuValue.VALUE_3);
+		boolean batchEventsEmptyBeforeCommit = batchEvents.isEmpty();
+		board.commit();
+
+		Assert.assertTrue(batchEventsEmptyBeforeCommit);
+		Assert.assertFalse(cellConsumerTriggered.get());
+		Assert.assertEquals(1, batchEvents.size());
+		SudokuBatchEvent batchEvent = batchEvents.get(0);
+		Assert.assertSame(board, batchEvent.getSource());
+		Assert.assertEquals(1, batchEvent.getCellValueChangedEvents().size());
+		Assert.assertEquals(
+				2,
+				batchEvent.getCellPossibleValueChangedEvents().size());
+		Assert.assertEquals(
+				Arrays.asList(sudokuCell1, sudokuCell2),
+				batchEvent.getChangedCells());
+	}
+
+	@Test
+	public void testCommit_nested()
+	{
+		SudokuBoard board = new SudokuBoard();
+		List<SudokuBatchEvent> batchEvents = new ArrayList<>();
+		board.addBatchCommittedConsumer(batchEvents::add);
+
+		board.beginBatch();
+		board.beginBatch();
+		board.getSudokuCells(ROW, 0).get(0).setValue(SudokuValue.VALUE_1);
+		board.commit();
+		int batchEventCountAfterInnerCommit = batchEvents.size();
+		board.getSudokuCells(ROW, 0).get(1).setValue(SudokuValue.VALUE_2);
+		board.commit();
+
+		Assert.assertEquals(0, batchEventCountAfterInnerCommit);
+		Assert.assertEquals(1, batchEvents.size());
+		Assert.assertEquals(
+				2,
+				batchEvents.get(0).getCellValueChangedEvents().size());
+		Assert.assertFalse(board.isBatching());
+	}
+
+	@Test
+	public void testCommit_empty()
+	{
+		SudokuBoard board = new SudokuBoard();
+		AtomicBoolean batchConsumerTriggered = new AtomicBoolean();
+		board.addBatchCommittedConsumer(
+				batchEvent -> batchConsumerTriggered.set(true));
+
+		board.beginBatch();
+		board.commit();
+
+		Assert.assertFalse(batchConsumerTriggered.get());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testCommit_noBatch()
+	{
+		SudokuBoard board = new SudokuBoard();
+
+		board.commit();
+
+		Assert.fail("Expected exception to be thrown.");
+	}
+
+	@Test
+	public void testCommit_solvedCheckedOnce()
+	{
+		String boardValue
+				= "{123456789"
+				+ "456789123"
+				+ "789123456"
+				+ "234567891"
+				+ "567891234"
+				+ "891234567"
+				+ "345678912"
+				+ "678912345"
+				+ "912345670}";
+		SudokuBoard board = new SudokuBoard(boardValue);
+		List<SudokuEvent<SudokuBoard, Boolean>> solvedChangedEvents
+				= new ArrayList<>();
+		board.addSolvedChangedConsumer(solvedChangedEvents::add);
+		SudokuCell sudokuCell = board.getSudokuCells(ROW, 8).get(8);
+
+		board.beginBatch();
+		sudokuCell.setValue(SudokuValue.VALUE_8);
+		sudokuCell.setValue(null);
+		sudokuCell.setValue(SudokuValue.VALUE_8);
+		boolean solvedEventsEmptyBeforeCommit = solvedChangedEvents.isEmpty();
+		board.commit();
+
+		Assert.assertTrue(solvedEventsEmptyBeforeCommit);
+		Assert.assertEquals(
+				Arrays.asList(new SudokuEvent<>(board, false, true)),
+				solvedChangedEvents);
+	}
+
+	@Test
+	public void testAddCellValueChangedListener()
+	{
+		SudokuBoard board = new SudokuBoard();
+		List<String> changes = new ArrayList<>();
+		SudokuSubscription subscription = board.addCellValueChangedListener(
+				(cellIndex, oldValue, newValue)
+				-> changes.add(cellIndex + ":" + oldValue + "->" + newValue));
+		SudokuCell sudokuCell = board.getSudokuCells(ROW, 1).get(2);
+
+		sudokuCell.setValue(SudokuValue.VALUE_5);
+		sudokuCell.setValue(SudokuValue.VALUE_5);
+		subscription.unsubscribe();
+		sudokuCell.setValue(null);
+
+		Assert.assertEquals(Arrays.asList("11:0->5"), changes);
+	}
+
+	@Test
+	public void testAddCellPossibleValuesChangedListener()
+	{
+		SudokuBoard board = new SudokuBoard();
+		List<String> changes = new ArrayList<>();
+		board.addCellPossibleValuesChangedListener(
+				(cellIndex, oldValue, newValue)
+				-> changes.add(cellIndex + ":" + oldValue + "->" + newValue));
+		SudokuCell sudokuCell = board.getSudokuCells(ROW, 0).get(1);
+
+		sudokuCell.togglePossibleValue(SudokuValue.VALUE_3);
+		sudokuCell.togglePossibleValue(SudokuValue.VALUE_1);
+
+		Assert.assertEquals(Arrays.asList("1:0->4", "1:4->5"), changes);
+	}
+
+	@Test
+	public void testAddCellValueChangedListener_listenersDisabled()
+	{
+		SudokuBoard board = new SudokuBoard();
+		AtomicBoolean listenerTriggered = new AtomicBoolean();
+		board.addCellValueChangedListener(
+				(cellIndex, oldValue, newValue) -> listenerTriggered.set(true));
+
+		board.setListenersEnabled(false);
+		board.getSudokuCells(ROW, 0).get(0).setValue(SudokuValue.VALUE_1);
+
+		Assert.assertFalse(listenerTriggered.get());
+	}
+
+	@Test
+	public void testRemoveCellValueChangedConsumer()
+	{
+		SudokuBoard board = new SudokuBoard();
+		AtomicBoolean consumerTriggered = new AtomicBoolean();
+		Consumer<SudokuEvent<SudokuCell, SudokuValue>> cellValueChangedConsumer
+				= cellValueChangedEvent -> consumerTriggered.set(true);
+		board.addCellValueChangedConsumer(cellValueChangedConsumer);
+
+		boolean removed
+				= board.removeCellValueChangedConsumer(cellValueChangedConsumer);
+		board.getSudokuCells(ROW, 0).get(0).setValue(SudokuValue.VALUE_1);
+
+		Assert.assertTrue(removed);
+		Assert.assertFalse(consumerTriggered.get());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testConstructor_notNineByNine()
+	{
+		new SudokuBoard(SudokuGeometry.of(4).createBoardState());
+
+		Assert.fail("Expected exception to be thrown.");
+	}
+
 	private static List<Integer> getValues(List<SudokuCell> sudokuCells)
 	{
 		return sudokuCells.stream()
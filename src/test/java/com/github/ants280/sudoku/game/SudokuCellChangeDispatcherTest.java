@@ -0,0 +1,91 @@
+package com.github.ants280.sudoku.game;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SudokuCellChangeDispatcherTest
+{
+	@Test
+	public void testHasListeners_none()
+	{
+		SudokuCellChangeDispatcher dispatcher = new SudokuCellChangeDispatcher();
+
+		Assert.assertFalse(dispatcher.hasListeners());
+	}
+
+	@Test
+	public void testFireCellChanged()
+	{
+		SudokuCellChangeDispatcher dispatcher = new SudokuCellChangeDispatcher();
+		List<String> changes = new ArrayList<>();
+		dispatcher.subscribe((cellIndex, oldValue, newValue)
+				-> changes.add(cellIndex + ":" + oldValue + "->" + newValue));
+		dispatcher.subscribe((cellIndex, oldValue, newValue)
+				-> changes.add("second"));
+
+		dispatcher.fireCellChanged(4, 0, 7);
+
+		Assert.assertTrue(dispatcher.hasListeners());
+		Assert.assertEquals(Arrays.asList("4:0->7", "second"), changes);
+	}
+
+	@Test
+	public void testUnsubscribe()
+	{
+		SudokuCellChangeDispatcher dispatcher = new SudokuCellChangeDispatcher();
+		List<Integer> changedCellIndices = new ArrayList<>();
+		SudokuCellChangeListener listener
+				= (cellIndex, oldValue, newValue) -> changedCellIndices.add(cellIndex);
+		SudokuSubscription subscription1 = dispatcher.subscribe(listener);
+		dispatcher.subscribe(listener);
+
+		subscription1.unsubscribe();
+		subscription1.unsubscribe();
+		dispatcher.fireCellChanged(3, 0, 1);
+
+		Assert.assertEquals(Arrays.asList(3), changedCellIndices);
+	}
+
+	@Test
+	public void testUnsubscribe_all()
+	{
+		SudokuCellChangeDispatcher dispatcher = new SudokuCellChangeDispatcher();
+		SudokuSubscription subscription = dispatcher.subscribe(
+				(cellIndex, oldValue, newValue) -> Assert.fail("Unexpected change."));
+
+		subscription.unsubscribe();
+		dispatcher.fireCellChanged(3, 0, 1);
+
+		Assert.assertFalse(dispatcher.hasListeners());
+	}
+
+	@Test
+	public void testUnsubscribe_whileFiring()
+	{
+		SudokuCellChangeDispatcher dispatcher = new SudokuCellChangeDispatcher();
+		List<Integer> changedCellIndices = new ArrayList<>();
+		SudokuSubscription[] subscription = new SudokuSubscription[1];
+		subscription[0] = dispatcher.subscribe((cellIndex, oldValue, newValue)
+				-> subscription[0].unsubscribe());
+		dispatcher.subscribe((cellIndex, oldValue, newValue)
+				-> changedCellIndices.add(cellIndex));
+
+		dispatcher.fireCellChanged(1, 0, 1);
+		dispatcher.fireCellChanged(2, 0, 1);
+
+		Assert.assertEquals(Arrays.asList(1, 2), changedCellIndices);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testSubscribe_null()
+	{
+		SudokuCellChangeDispatcher dispatcher = new SudokuCellChangeDispatcher();
+
+		dispatcher.subscribe(null);
+
+		Assert.fail("Expected exception to be thrown.");
+	}
+}
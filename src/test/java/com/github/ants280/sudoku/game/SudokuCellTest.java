@@ -115,6 +115,63 @@ public class SudokuCellTest
 				+ " even though the copy was.");
 	}
 
+	@Test
+	public void testGetPossibleValuesMask()
+	{
+		sudokuCell.togglePossibleValue(SudokuValue.VALUE_2);
+		sudokuCell.togglePossibleValue(SudokuValue.VALUE_9);
+
+		int possibleValues = sudokuCell.getPossibleValuesMask();
+
+		Assert.assertEquals((1 << 1) | (1 << 8), possibleValues);
+		Assert.assertEquals(2, sudokuCell.getPossibleValueCount());
+	}
+
+	@Test
+	public void testGetOnlyPossibleValue()
+	{
+		sudokuCell.togglePossibleValue(SudokuValue.VALUE_4);
+
+		SudokuValue onlyPossibleValue = sudokuCell.getOnlyPossibleValue();
+
+		Assert.assertEquals(SudokuValue.VALUE_4, onlyPossibleValue);
+	}
+
+	@Test
+	public void testGetOnlyPossibleValue_multiple()
+	{
+		sudokuCell.togglePossibleValue(SudokuValue.VALUE_4);
+		sudokuCell.togglePossibleValue(SudokuValue.VALUE_5);
+
+		SudokuValue onlyPossibleValue = sudokuCell.getOnlyPossibleValue();
+
+		Assert.assertNull(onlyPossibleValue);
+	}
+
+	@Test
+	public void testForEachPossibleValue()
+	{
+		sudokuCell.togglePossibleValue(SudokuValue.VALUE_8);
+		sudokuCell.togglePossibleValue(SudokuValue.VALUE_3);
+		StringBuilder possibleValues = new StringBuilder();
+
+		sudokuCell.forEachPossibleValue(possibleValues::append);
+
+		Assert.assertEquals("38", possibleValues.toString());
+	}
+
+	@Test
+	public void testGetPossibleValues_view()
+	{
+		Collection<SudokuValue> possibleValues
+				= sudokuCell.getPossibleValues();
+
+		sudokuCell.togglePossibleValue(SudokuValue.VALUE_6);
+
+		Assert.assertEquals(1, possibleValues.size());
+		Assert.assertTrue(possibleValues.contains(SudokuValue.VALUE_6));
+	}
+
 	@Test
 	public void testHasPossibleValue_no()
 	{
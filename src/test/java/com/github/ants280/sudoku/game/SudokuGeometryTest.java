@@ -0,0 +1,129 @@
+package com.github.ants280.sudoku.game;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SudokuGeometryTest
+{
+	@Test
+	public void testOf_nine()
+	{
+		SudokuGeometry geometry = SudokuGeometry.of(3);
+
+		Assert.assertSame(SudokuGeometry.NINE, geometry);
+		Assert.assertEquals(9, geometry.getSize());
+		Assert.assertEquals(81, geometry.getCellCount());
+		Assert.assertEquals(27, geometry.getSectionCount());
+		Assert.assertEquals(20, geometry.getPeerCount());
+		Assert.assertEquals(0x1FF, geometry.getAllValues());
+	}
+
+	@Test
+	public void testOf_sixteen()
+	{
+		SudokuGeometry geometry = SudokuGeometry.of(4);
+
+		Assert.assertEquals(16, geometry.getSize());
+		Assert.assertEquals(256, geometry.getCellCount());
+		Assert.assertEquals(48, geometry.getSectionCount());
+		Assert.assertEquals(39, geometry.getPeerCount());
+		Assert.assertEquals(0xFFFF, geometry.getAllValues());
+	}
+
+	@Test
+	public void testOf_twentyFive()
+	{
+		SudokuGeometry geometry = SudokuGeometry.of(5);
+
+		Assert.assertEquals(625, geometry.getCellCount());
+		Assert.assertEquals(64, geometry.getPeerCount());
+		Assert.assertEquals((1 << 25) - 1, geometry.getAllValues());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testOf_tooLarge()
+	{
+		SudokuGeometry.of(6);
+
+		Assert.fail("Expected exception to be thrown.");
+	}
+
+	@Test
+	public void testForCellCount()
+	{
+		SudokuGeometry geometry = SudokuGeometry.forCellCount(16);
+
+		Assert.assertEquals(2, geometry.getBoxSize());
+	}
+
+	@Test
+	public void testGetSectionCells_sixteenGroup()
+	{
+		SudokuGeometry geometry = SudokuGeometry.of(4);
+		int sectionIndex = geometry.getSectionIndex(SectionType.GROUP, 5);
+
+		int[] cellIndices = geometry.getSectionCells(sectionIndex);
+
+		Assert.assertArrayEquals(
+				new int[]
+				{
+					68, 69, 70, 71, 84, 85, 86, 87,
+					100, 101, 102, 103, 116, 117, 118, 119
+				},
+				cellIndices);
+	}
+
+	@Test
+	public void testGetCellSections_four()
+	{
+		SudokuGeometry geometry = SudokuGeometry.of(2);
+
+		int[] sectionIndices = geometry.getCellSections(geometry.getCellIndex(3, 2));
+
+		Assert.assertArrayEquals(new int[]
+		{
+			3, 6, 11
+		}, sectionIndices);
+	}
+
+	@Test
+	public void testGetCellSections_nineMatchesSections()
+	{
+		for (int cellIndex = 0; cellIndex < 81; cellIndex++)
+		{
+			Assert.assertArrayEquals(
+					SudokuSections.getCellSections(cellIndex),
+					SudokuGeometry.NINE.getCellSections(cellIndex));
+		}
+	}
+
+	@Test
+	public void testGetCharValue()
+	{
+		SudokuGeometry geometry = SudokuGeometry.of(4);
+
+		Assert.assertEquals(0, geometry.getCharValue('.'));
+		Assert.assertEquals(9, geometry.getCharValue('9'));
+		Assert.assertEquals(10, geometry.getCharValue('A'));
+		Assert.assertEquals(16, geometry.getCharValue('g'));
+		Assert.assertEquals(-1, geometry.getCharValue('H'));
+		Assert.assertEquals(-1, SudokuGeometry.of(2).getCharValue('5'));
+	}
+
+	@Test
+	public void testGetValueChar()
+	{
+		Assert.assertEquals('0', SudokuGeometry.getValueChar(0));
+		Assert.assertEquals('9', SudokuGeometry.getValueChar(9));
+		Assert.assertEquals('P', SudokuGeometry.getValueChar(25));
+	}
+
+	@Test
+	public void testCreateBoardState()
+	{
+		Assert.assertTrue(SudokuGeometry.NINE.createBoardState()
+				instanceof PackedSudokuBoardState);
+		Assert.assertTrue(SudokuGeometry.of(4).createBoardState()
+				instanceof GenericSudokuBoardState);
+	}
+}
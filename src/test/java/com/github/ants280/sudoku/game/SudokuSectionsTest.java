@@ -0,0 +1,94 @@
+package com.github.ants280.sudoku.game;
+
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SudokuSectionsTest
+{
+	@Test
+	public void testGetSectionCells_row()
+	{
+		int sectionIndex = SudokuSections.getSectionIndex(SectionType.ROW, 2);
+
+		int[] cellIndices = SudokuSections.getSectionCells(sectionIndex);
+
+		Assert.assertArrayEquals(
+				new int[]
+				{
+					18, 19, 20, 21, 22, 23, 24, 25, 26
+				},
+				cellIndices);
+	}
+
+	@Test
+	public void testGetSectionCells_column()
+	{
+		int sectionIndex = SudokuSections.getSectionIndex(SectionType.COLUMN, 8);
+
+		int[] cellIndices = SudokuSections.getSectionCells(sectionIndex);
+
+		Assert.assertArrayEquals(
+				new int[]
+				{
+					8, 17, 26, 35, 44, 53, 62, 71, 80
+				},
+				cellIndices);
+	}
+
+	@Test
+	public void testGetSectionCells_group()
+	{
+		int sectionIndex = SudokuSections.getSectionIndex(SectionType.GROUP, 4);
+
+		int[] cellIndices = SudokuSections.getSectionCells(sectionIndex);
+
+		Assert.assertArrayEquals(
+				new int[]
+				{
+					30, 31, 32, 39, 40, 41, 48, 49, 50
+				},
+				cellIndices);
+	}
+
+	@Test
+	public void testGetCellSections()
+	{
+		int cellIndex = SudokuSections.getCellIndex(5, 7);
+
+		int[] sectionIndices = SudokuSections.getCellSections(cellIndex);
+
+		Assert.assertArrayEquals(
+				new int[]
+				{
+					5, 9 + 7, 18 + 5
+				},
+				sectionIndices);
+	}
+
+	@Test
+	public void testGetCellPeers()
+	{
+		for (int cellIndex = 0; cellIndex < SudokuSections.CELL_COUNT; cellIndex++)
+		{
+			Set<Integer> expectedPeers = new HashSet<>();
+			for (int sectionIndex : SudokuSections.getCellSections(cellIndex))
+			{
+				for (int peerIndex : SudokuSections.getSectionCells(sectionIndex))
+				{
+					expectedPeers.add(peerIndex);
+				}
+			}
+			expectedPeers.remove(cellIndex);
+			Set<Integer> actualPeers = new HashSet<>();
+			for (int peerIndex : SudokuSections.getCellPeers(cellIndex))
+			{
+				actualPeers.add(peerIndex);
+			}
+
+			Assert.assertEquals(SudokuSections.PEER_COUNT, actualPeers.size());
+			Assert.assertEquals(expectedPeers, actualPeers);
+		}
+	}
+}
@@ -21,4 +21,25 @@ public class SudokuValueTest
 
 		Assert.assertEquals(SudokuValue.values().length, values.size());
 	}
+
+	@Test
+	public void testFromChar_notValue()
+	{
+		Assert.assertNull(SudokuValue.fromChar('0'));
+		Assert.assertNull(SudokuValue.fromChar('.'));
+		Assert.assertNull(SudokuValue.fromChar('a'));
+	}
+
+	@Test
+	public void testFromValue()
+	{
+		for (SudokuValue sudokuValue : SudokuValue.values())
+		{
+			Assert.assertSame(
+					sudokuValue,
+					SudokuValue.fromValue(sudokuValue.getValue()));
+		}
+		Assert.assertNull(SudokuValue.fromValue(0));
+		Assert.assertNull(SudokuValue.fromValue(10));
+	}
 }
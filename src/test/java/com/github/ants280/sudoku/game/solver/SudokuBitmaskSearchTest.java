@@ -0,0 +1,227 @@
+package com.github.ants280.sudoku.game.solver;
+
+import com.github.ants280.sudoku.game.SudokuBoardParser;
+import com.github.ants280.sudoku.game.SudokuGeometry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SudokuBitmaskSearchTest
+{
+	private static final String HARD_BOARD = "003070600000159020900000005700000010006040900040000006400000002070362000009080700";
+
+	@Test
+	public void testSolve()
+	{
+		SudokuBitmaskSearch search = new SudokuBitmaskSearch(SudokuGeometry.NINE);
+		int[] values = parse(HARD_BOARD);
+		int[] solution = new int[values.length];
+
+		boolean solved = search.solve(values, solution);
+
+		Assert.assertTrue(solved);
+		int[] expectedSolution = new int[values.length];
+		new SudokuExactCover(SudokuGeometry.NINE)
+				.solve(values, expectedSolution, 1);
+		Assert.assertArrayEquals(expectedSolution, solution);
+		Assert.assertArrayEquals(parse(HARD_BOARD), values);
+	}
+
+	@Test
+	public void testSolve_intoValues()
+	{
+		SudokuBitmaskSearch search = new SudokuBitmaskSearch(SudokuGeometry.NINE);
+		int[] values = parse(HARD_BOARD);
+
+		boolean solved = search.solve(values, values);
+
+		Assert.assertTrue(solved);
+		for (int value : values)
+		{
+			Assert.assertNotEquals(0, value);
+		}
+	}
+
+	@Test
+	public void testSolve_empty()
+	{
+		SudokuGeometry geometry = SudokuGeometry.of(4);
+		SudokuBitmaskSearch search = new SudokuBitmaskSearch(geometry);
+		int[] solution = new int[geometry.getCellCount()];
+
+		boolean solved = search.solve(new int[solution.length], solution);
+
+		Assert.assertTrue(solved);
+		Assert.assertEquals(
+				1,
+				new SudokuExactCover(geometry).solve(solution, null, 2));
+	}
+
+	@Test
+	public void testSolve_noWorkingLastValue()
+	{
+		SudokuBitmaskSearch search = new SudokuBitmaskSearch(SudokuGeometry.NINE);
+		int[] values = parse("123456789456789123789123456234567891567891234891234567345678912678912345912345660");
+
+		boolean solved = search.solve(values, new int[values.length]);
+
+		Assert.assertFalse(solved);
+	}
+
+	@Test
+	public void testSolve_unsolvableWithoutConflicts()
+	{
+		SudokuBitmaskSearch search = new SudokuBitmaskSearch(SudokuGeometry.NINE);
+		// The first row needs a 9 but the last column already has one:
+		int[] values = parse("123456780000000000000000000000000000000000000000000000000000000000000000000000009");
+
+		boolean solved = search.solve(values, new int[values.length]);
+
+		Assert.assertFalse(solved);
+	}
+
+	@Test
+	public void testSolve_reused()
+	{
+		SudokuBitmaskSearch search = new SudokuBitmaskSearch(SudokuGeometry.NINE);
+		int[] conflictingValues = new int[81];
+		conflictingValues[0] = 1;
+		conflictingValues[1] = 1;
+
+		Assert.assertFalse(search.solve(conflictingValues, new int[81]));
+		Assert.assertTrue(search.solve(parse(HARD_BOARD), new int[81]));
+	}
+
+	@Test
+	public void testSetProgressListener()
+	{
+		SudokuBitmaskSearch search = new SudokuBitmaskSearch(SudokuGeometry.NINE);
+		List<Long> nodeCounts = new ArrayList<>();
+		search.setProgressListener(
+				(nodeCount, depth) -> nodeCounts.add(nodeCount));
+
+		search.countSolutions(new int[81], 10_000);
+
+		Assert.assertFalse(nodeCounts.isEmpty());
+		Assert.assertEquals(4096L, nodeCounts.get(0).longValue());
+		Assert.assertTrue(
+				nodeCounts.get(nodeCounts.size() - 1)
+				<= search.getNodeCount());
+	}
+
+	@Test
+	public void testSolve_nodeBudget()
+	{
+		SudokuBitmaskSearch search = new SudokuBitmaskSearch(SudokuGeometry.NINE);
+		SearchLimits limits = new SearchLimits(
+				3,
+				SearchLimits.UNLIMITED,
+				TimeUnit.NANOSECONDS,
+				null);
+
+		SearchResult result = search.solve(
+				parse(HARD_BOARD),
+				new int[81],
+				limits);
+
+		Assert.assertEquals(SearchResult.ABORTED, result);
+		Assert.assertEquals(3, search.getNodeCount());
+	}
+
+	@Test
+	public void testSolve_deadline()
+	{
+		SudokuBitmaskSearch search = new SudokuBitmaskSearch(SudokuGeometry.of(5));
+		SearchLimits limits = new SearchLimits(
+				SearchLimits.UNLIMITED,
+				0,
+				TimeUnit.NANOSECONDS,
+				null);
+
+		SearchResult result = search.solve(new int[625], new int[625], limits);
+
+		Assert.assertEquals(SearchResult.ABORTED, result);
+	}
+
+	@Test
+	public void testSolve_cancelled()
+	{
+		SudokuBitmaskSearch search = new SudokuBitmaskSearch(SudokuGeometry.NINE);
+		CancellationToken cancellationToken = new CancellationToken();
+		cancellationToken.cancel();
+		SearchLimits limits = new SearchLimits(
+				SearchLimits.UNLIMITED,
+				SearchLimits.UNLIMITED,
+				TimeUnit.NANOSECONDS,
+				cancellationToken);
+
+		SearchResult result = search.solve(new int[81], new int[81], limits);
+
+		Assert.assertEquals(SearchResult.ABORTED, result);
+	}
+
+	@Test
+	public void testSolve_limitsNotReached()
+	{
+		SudokuBitmaskSearch search = new SudokuBitmaskSearch(SudokuGeometry.NINE);
+		SearchLimits limits = new SearchLimits(
+				1_000_000,
+				1,
+				TimeUnit.MINUTES,
+				new CancellationToken());
+
+		SearchResult result = search.solve(
+				parse(HARD_BOARD),
+				new int[81],
+				limits);
+
+		Assert.assertEquals(SearchResult.SOLVED, result);
+	}
+
+	@Test
+	public void testSolve_unsolvableResult()
+	{
+		SudokuBitmaskSearch search = new SudokuBitmaskSearch(SudokuGeometry.NINE);
+		int[] values = parse("123456780000000000000000000000000000000000000000000000000000000000000000000000009");
+
+		SearchResult result = search.solve(
+				values,
+				new int[81],
+				SearchLimits.NONE);
+
+		Assert.assertEquals(SearchResult.UNSOLVABLE, result);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testSearchLimits_negative()
+	{
+		SearchLimits limits = new SearchLimits(
+				-1,
+				SearchLimits.UNLIMITED,
+				TimeUnit.NANOSECONDS,
+				null);
+
+		Assert.fail("Expected exception to be thrown: " + limits);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testSolve_invalidValue()
+	{
+		SudokuBitmaskSearch search = new SudokuBitmaskSearch(SudokuGeometry.of(2));
+		int[] values = new int[16];
+		values[3] = 5;
+
+		search.solve(values, new int[16]);
+
+		Assert.fail("Expected exception to be thrown.");
+	}
+
+	private static int[] parse(String boardString)
+	{
+		int[] values = new int[81];
+		SudokuBoardParser.parse(boardString, SudokuGeometry.NINE, values);
+		return values;
+	}
+}
@@ -1,6 +1,7 @@
 package com.github.ants280.sudoku.game.solver;
 
 import com.github.ants280.sudoku.game.SudokuBoard;
+import java.util.concurrent.TimeUnit;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -19,4 +20,34 @@ public class SudokuBruteForceSolverTest
 				+ "Use solveFast().",
 				moveMade);
 	}
+
+	@Test
+	public void testSolve_aborted()
+	{
+		String boardString = "{003070600000159020900000005700000010006040900040000006400000002070362000009080700}";
+		SudokuBoard board = new SudokuBoard(boardString);
+		SudokuBruteForceSolver solver = new SudokuBruteForceSolver(board);
+		SearchLimits limits = new SearchLimits(
+				1,
+				SearchLimits.UNLIMITED,
+				TimeUnit.NANOSECONDS,
+				null);
+
+		SearchResult result = solver.solve(limits);
+
+		Assert.assertEquals(SearchResult.ABORTED, result);
+		Assert.assertEquals(boardString, board.toString());
+	}
+
+	@Test
+	public void testSolve_solved()
+	{
+		SudokuBoard board = new SudokuBoard("{003070600000159020900000005700000010006040900040000006400000002070362000009080700}");
+		SudokuBruteForceSolver solver = new SudokuBruteForceSolver(board);
+
+		SearchResult result = solver.solve(SearchLimits.NONE);
+
+		Assert.assertEquals(SearchResult.SOLVED, result);
+		Assert.assertTrue(board.isSolved());
+	}
 }
@@ -0,0 +1,141 @@
+package com.github.ants280.sudoku.game.solver;
+
+import com.github.ants280.sudoku.game.PackedSudokuBoardState;
+import com.github.ants280.sudoku.game.PossibleValuesMask;
+import com.github.ants280.sudoku.game.SudokuBoardState;
+import com.github.ants280.sudoku.game.SudokuSections;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SudokuCandidateKernelTest
+{
+	@Test
+	public void testEmptyPossibleValues()
+	{
+		SudokuCandidateKernel kernel = new SudokuCandidateKernel();
+		SudokuBoardState boardState = new PackedSudokuBoardState();
+		for (int i = 0; i < SudokuSections.CELL_COUNT; i++)
+		{
+			boardState.setPossibleValues(i, PossibleValuesMask.ALL);
+		}
+
+		kernel.load(boardState);
+
+		for (int sectionIndex = 0;
+				sectionIndex < SudokuSections.SECTION_COUNT;
+				sectionIndex++)
+		{
+			Assert.assertEquals(
+					PossibleValuesMask.ALL,
+					kernel.getPossibleValues(sectionIndex));
+			Assert.assertEquals(0, kernel.getHiddenSingles(sectionIndex));
+			Assert.assertEquals(0x1FF, kernel.getPositions(sectionIndex, 5));
+		}
+		Assert.assertFalse(kernel.findHiddenSingles(new int[81]));
+	}
+
+	@Test
+	public void testHiddenSingle()
+	{
+		SudokuCandidateKernel kernel = new SudokuCandidateKernel();
+		SudokuBoardState boardState = new PackedSudokuBoardState();
+		for (int i = 0; i < SudokuSections.CELL_COUNT; i++)
+		{
+			boardState.setPossibleValues(i, PossibleValuesMask.ALL & ~0b1000);
+		}
+		// 4 is only possible in the last cell of the board, and a 4 in the
+		// first cell is ignored because the cell has a value:
+		boardState.setPossibleValues(80, PossibleValuesMask.ALL);
+		boardState.setPossibleValues(0, PossibleValuesMask.ALL);
+		boardState.setValue(0, 7);
+
+		kernel.load(boardState);
+		int[] cellHiddenSingles = new int[81];
+		boolean found = kernel.findHiddenSingles(cellHiddenSingles);
+
+		Assert.assertEquals(0b1000, kernel.getHiddenSingles(8)); // row 9
+		Assert.assertEquals(0b1000, kernel.getHiddenSingles(17)); // column 9
+		Assert.assertEquals(0b1000, kernel.getHiddenSingles(26)); // group 9
+		Assert.assertEquals(0, kernel.getHiddenSingles(0));
+		Assert.assertEquals(1 << 8, kernel.getPositions(8, 4));
+		Assert.assertEquals(0x1FF & ~1, kernel.getPositions(0, 1));
+		Assert.assertTrue(found);
+		Assert.assertEquals(0b1000, cellHiddenSingles[80]);
+		Assert.assertEquals(0, cellHiddenSingles[79]);
+	}
+
+	@Test
+	public void testRandomPossibleValues()
+	{
+		SudokuCandidateKernel kernel = new SudokuCandidateKernel();
+		SudokuBoardState boardState = new PackedSudokuBoardState();
+		Random random = new Random(280L);
+
+		for (int round = 0; round < 200; round++)
+		{
+			for (int i = 0; i < SudokuSections.CELL_COUNT; i++)
+			{
+				// Sparse masks, so that there are hidden singles:
+				boardState.setPossibleValues(
+						i,
+						random.nextInt(512) & random.nextInt(512));
+				boardState.setValue(
+						i,
+						random.nextInt(4) == 0 ? random.nextInt(9) + 1 : 0);
+			}
+
+			kernel.load(boardState);
+
+			for (int sectionIndex = 0;
+					sectionIndex < SudokuSections.SECTION_COUNT;
+					sectionIndex++)
+			{
+				this.assertSection(kernel, boardState, sectionIndex);
+			}
+		}
+	}
+
+	private void assertSection(
+			SudokuCandidateKernel kernel,
+			SudokuBoardState boardState,
+			int sectionIndex)
+	{
+		int[] sectionCells = SudokuSections.getSectionCells(sectionIndex);
+		int expectedPossibleValues = 0;
+		int expectedHiddenSingles = 0;
+		for (int value = 1; value <= 9; value++)
+		{
+			int expectedPositions = 0;
+			for (int i = 0; i < sectionCells.length; i++)
+			{
+				int cellIndex = sectionCells[i];
+				if (boardState.getValue(cellIndex) == 0
+						&& (boardState.getPossibleValues(cellIndex)
+						& (1 << (value - 1))) != 0)
+				{
+					expectedPositions |= 1 << i;
+				}
+			}
+
+			if (expectedPositions != 0)
+			{
+				expectedPossibleValues |= 1 << (value - 1);
+			}
+			if (Integer.bitCount(expectedPositions) == 1)
+			{
+				expectedHiddenSingles |= 1 << (value - 1);
+			}
+			Assert.assertEquals(
+					expectedPositions,
+					kernel.getPositions(sectionIndex, value));
+		}
+
+		Assert.assertEquals(
+				expectedPossibleValues,
+				kernel.getPossibleValues(sectionIndex));
+		Assert.assertEquals(
+				expectedHiddenSingles,
+				kernel.getHiddenSingles(sectionIndex));
+	}
+}
@@ -0,0 +1,141 @@
+package com.github.ants280.sudoku.game.solver;
+
+import com.github.ants280.sudoku.game.SudokuBoardParser;
+import com.github.ants280.sudoku.game.SudokuGeometry;
+import java.util.concurrent.TimeUnit;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SudokuConflictLearningSearchTest
+{
+	private static final String[] PROBLEM_BOARDS =
+	{
+		"004063100000010002000074683907000000006080900000000504825640000700090000009350700",
+		"003070600000159020900000005700000010006040900040000006400000002070362000009080700",
+		"700082000000041503103005000002030098000020000390010700000700302801290000000150009"
+	};
+
+	@Test
+	public void testSolve_problemBoards()
+	{
+		SudokuConflictLearningSearch search
+				= new SudokuConflictLearningSearch(SudokuGeometry.NINE);
+
+		for (String boardString : PROBLEM_BOARDS)
+		{
+			int[] values = parse(boardString);
+			int[] solution = new int[81];
+
+			SearchResult result = search.solve(
+					values,
+					solution,
+					SearchLimits.NONE);
+
+			Assert.assertEquals(SearchResult.SOLVED, result);
+			int[] expectedSolution = new int[81];
+			new SudokuExactCover(SudokuGeometry.NINE)
+					.solve(values, expectedSolution, 1);
+			// The problem boards have one solution:
+			Assert.assertArrayEquals(expectedSolution, solution);
+		}
+	}
+
+	@Test
+	public void testSolve_unsolvableWithoutConflicts()
+	{
+		SudokuConflictLearningSearch search
+				= new SudokuConflictLearningSearch(SudokuGeometry.NINE);
+		int[] values = parse("123456780000000000000000000000000000000000000000000000000000000000000000000000009");
+
+		SearchResult result = search.solve(
+				values,
+				new int[81],
+				SearchLimits.NONE);
+
+		Assert.assertEquals(SearchResult.UNSOLVABLE, result);
+	}
+
+	@Test
+	public void testSolve_conflictingValues()
+	{
+		SudokuConflictLearningSearch search
+				= new SudokuConflictLearningSearch(SudokuGeometry.NINE);
+		int[] values = new int[81];
+		values[0] = 4;
+		values[80] = 4;
+		values[72] = 4;
+
+		SearchResult result = search.solve(
+				values,
+				new int[81],
+				SearchLimits.NONE);
+
+		Assert.assertEquals(SearchResult.UNSOLVABLE, result);
+		Assert.assertEquals(0, search.getDecisionCount());
+	}
+
+	@Test
+	public void testSolve_sixteen()
+	{
+		SudokuGeometry geometry = SudokuGeometry.of(4);
+		SudokuConflictLearningSearch search
+				= new SudokuConflictLearningSearch(geometry);
+		int[] solution = new int[geometry.getCellCount()];
+
+		SearchResult result = search.solve(
+				new int[solution.length],
+				solution,
+				SearchLimits.NONE);
+
+		Assert.assertEquals(SearchResult.SOLVED, result);
+		Assert.assertEquals(
+				1,
+				new SudokuExactCover(geometry).solve(solution, null, 2));
+	}
+
+	@Test
+	public void testSolve_reused()
+	{
+		SudokuConflictLearningSearch search
+				= new SudokuConflictLearningSearch(SudokuGeometry.NINE);
+		int[] values = parse(PROBLEM_BOARDS[1]);
+
+		Assert.assertEquals(
+				SearchResult.UNSOLVABLE,
+				search.solve(
+						parse("123456780000000000000000000000000000000000000000000000000000000000000000000000009"),
+						new int[81],
+						SearchLimits.NONE));
+		Assert.assertEquals(
+				SearchResult.SOLVED,
+				search.solve(values, new int[81], SearchLimits.NONE));
+		Assert.assertEquals(
+				SearchResult.SOLVED,
+				search.solve(new int[81], new int[81], SearchLimits.NONE));
+	}
+
+	@Test
+	public void testSolve_decisionBudget()
+	{
+		SudokuConflictLearningSearch search
+				= new SudokuConflictLearningSearch(SudokuGeometry.NINE);
+
+		SearchResult result = search.solve(
+				parse(PROBLEM_BOARDS[1]),
+				new int[81],
+				new SearchLimits(
+						0,
+						SearchLimits.UNLIMITED,
+						TimeUnit.NANOSECONDS,
+						null));
+
+		Assert.assertEquals(SearchResult.ABORTED, result);
+	}
+
+	private static int[] parse(String boardString)
+	{
+		int[] values = new int[81];
+		SudokuBoardParser.parse(boardString, SudokuGeometry.NINE, values);
+		return values;
+	}
+}
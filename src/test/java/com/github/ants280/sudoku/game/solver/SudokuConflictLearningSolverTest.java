@@ -0,0 +1,33 @@
+package com.github.ants280.sudoku.game.solver;
+
+import com.github.ants280.sudoku.game.SudokuBoard;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SudokuConflictLearningSolverTest
+{
+	@Test
+	public void testMakeMove()
+	{
+		SudokuBoard board = new SudokuBoard();
+		SudokuSolver solver = new SudokuConflictLearningSolver(board);
+
+		boolean moveMade = solver.makeMove();
+
+		Assert.assertFalse(moveMade);
+	}
+
+	@Test
+	public void testSolve_unsolvable()
+	{
+		String boardString = "{123456789456789123789123456234567891567891234891234567345678912678912345912345660}";
+		SudokuBoard board = new SudokuBoard(boardString);
+		SudokuConflictLearningSolver solver
+				= new SudokuConflictLearningSolver(board);
+
+		SearchResult result = solver.solve(SearchLimits.NONE);
+
+		Assert.assertEquals(SearchResult.UNSOLVABLE, result);
+		Assert.assertEquals(boardString, board.toString());
+	}
+}
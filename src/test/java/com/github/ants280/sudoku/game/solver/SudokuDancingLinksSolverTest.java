@@ -0,0 +1,75 @@
+package com.github.ants280.sudoku.game.solver;
+
+import com.github.ants280.sudoku.game.SudokuBoard;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SudokuDancingLinksSolverTest
+{
+	@Test
+	public void testMakeMove()
+	{
+		SudokuBoard board = new SudokuBoard();
+		SudokuSolver solver = new SudokuDancingLinksSolver(board);
+
+		boolean moveMade = solver.makeMove();
+
+		Assert.assertFalse(moveMade);
+	}
+
+	@Test
+	public void testSolveFast_keepsGivenValues()
+	{
+		String boardString = "{004063100000010002000074683907000000006080900000000504825640000700090000009350700}";
+		SudokuBoard board = new SudokuBoard(boardString);
+		SudokuSolver solver = new SudokuDancingLinksSolver(board);
+
+		solver.solveFast();
+
+		Assert.assertTrue(board.isSolved());
+		String solvedBoardString = board.toString();
+		for (int i = 1; i < boardString.length() - 1; i++)
+		{
+			char ch = boardString.charAt(i);
+			if (ch != '0')
+			{
+				Assert.assertEquals(ch, solvedBoardString.charAt(i));
+			}
+		}
+	}
+
+	@Test
+	public void testSolveFast_unsolvable()
+	{
+		String boardString = "{123456789456789123789123456234567891567891234891234567345678912678912345912345660}";
+		SudokuBoard board = new SudokuBoard(boardString);
+		SudokuSolver solver = new SudokuDancingLinksSolver(board);
+
+		solver.solveFast();
+
+		Assert.assertEquals(boardString, board.toString());
+	}
+
+	@Test
+	public void testCountSolutions_unique()
+	{
+		SudokuBoard board = new SudokuBoard("{002689300849000020060470000170890402490020071206041089000054060080000195007918200}");
+		SudokuDancingLinksSolver solver = new SudokuDancingLinksSolver(board);
+
+		int solutionCount = solver.countSolutions(2);
+
+		Assert.assertEquals(1, solutionCount);
+	}
+
+	@Test
+	public void testCountSolutions_limit()
+	{
+		SudokuBoard board = new SudokuBoard();
+		SudokuDancingLinksSolver solver = new SudokuDancingLinksSolver(board);
+
+		int solutionCount = solver.countSolutions(5);
+
+		Assert.assertEquals(5, solutionCount);
+		Assert.assertEquals(new SudokuBoard().toString(), board.toString());
+	}
+}
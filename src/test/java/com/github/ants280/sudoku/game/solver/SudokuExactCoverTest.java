@@ -0,0 +1,109 @@
+package com.github.ants280.sudoku.game.solver;
+
+import com.github.ants280.sudoku.game.SudokuGeometry;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SudokuExactCoverTest
+{
+	@Test
+	public void testSolve_emptyFourCount()
+	{
+		SudokuExactCover exactCover
+				= new SudokuExactCover(SudokuGeometry.of(2));
+
+		int solutionCount = exactCover.solve(new int[16], null, 1000);
+
+		Assert.assertEquals(288, solutionCount);
+	}
+
+	@Test
+	public void testSolve_sixteen()
+	{
+		SudokuGeometry geometry = SudokuGeometry.of(4);
+		SudokuExactCover exactCover = new SudokuExactCover(geometry);
+		int[] expectedSolution = createSolution(geometry);
+		int[] values = expectedSolution.clone();
+		for (int i = 0; i < values.length; i += 2)
+		{
+			values[i] = 0;
+		}
+		int[] solution = new int[values.length];
+
+		int solutionCount = exactCover.solve(values, solution, 1);
+
+		Assert.assertEquals(1, solutionCount);
+		for (int i = 1; i < values.length; i += 2)
+		{
+			Assert.assertEquals(values[i], solution[i]);
+		}
+		assertValid(geometry, solution);
+	}
+
+	@Test
+	public void testSolve_conflictingValues()
+	{
+		SudokuExactCover exactCover = new SudokuExactCover(SudokuGeometry.NINE);
+		int[] values = new int[81];
+		values[0] = 5;
+		values[80] = 5;
+		values[8] = 5;
+
+		int solutionCount = exactCover.solve(values, null, 1);
+
+		Assert.assertEquals(0, solutionCount);
+	}
+
+	@Test
+	public void testSolve_reused()
+	{
+		SudokuExactCover exactCover = new SudokuExactCover(SudokuGeometry.of(2));
+		int[] values = new int[16];
+		values[0] = 1;
+		values[1] = 1;
+
+		Assert.assertEquals(0, exactCover.solve(values, null, 1000));
+		Assert.assertEquals(288, exactCover.solve(new int[16], null, 1000));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testSolve_wrongCellCount()
+	{
+		SudokuExactCover exactCover = new SudokuExactCover(SudokuGeometry.NINE);
+
+		exactCover.solve(new int[16], null, 1);
+
+		Assert.fail("Expected exception to be thrown.");
+	}
+
+	private static int[] createSolution(SudokuGeometry geometry)
+	{
+		int boxSize = geometry.getBoxSize();
+		int size = geometry.getSize();
+		int[] solution = new int[geometry.getCellCount()];
+		for (int r = 0; r < size; r++)
+		{
+			for (int c = 0; c < size; c++)
+			{
+				solution[r * size + c]
+						= (boxSize * (r % boxSize) + r / boxSize + c) % size + 1;
+			}
+		}
+		return solution;
+	}
+
+	private static void assertValid(SudokuGeometry geometry, int[] solution)
+	{
+		for (int sectionIndex = 0;
+				sectionIndex < geometry.getSectionCount();
+				sectionIndex++)
+		{
+			int sectionValues = 0;
+			for (int cellIndex : geometry.getSectionCells(sectionIndex))
+			{
+				sectionValues |= 1 << (solution[cellIndex] - 1);
+			}
+			Assert.assertEquals(geometry.getAllValues(), sectionValues);
+		}
+	}
+}
@@ -0,0 +1,183 @@
+package com.github.ants280.sudoku.game.solver;
+
+import com.github.ants280.sudoku.game.SectionType;
+import com.github.ants280.sudoku.game.SudokuBoard;
+import com.github.ants280.sudoku.game.SudokuBoardState;
+import com.github.ants280.sudoku.game.SudokuCell;
+import com.github.ants280.sudoku.game.SudokuSections;
+import com.github.ants280.sudoku.game.SudokuValue;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SudokuLogicSolverTest
+{
+	private static final List<String> BOARD_STRINGS = Arrays.asList(
+			"{370095000600080090008300007000010050160000034040060000700002900020030008000950042}",
+			"{002689300849000020060470000170890402490020071206041089000054060080000195007918200}",
+			// Not solved by the plugins:
+			"{700082000000041503103005000002030098000020000390010700000700302801290000000150009}");
+
+	@Test
+	public void testMakeMove_sameMovesAsNewSolvers()
+	{
+		String boardString = "{370095000600080090008300007000010050160000034040060000700002900020030008000950042}";
+		List<String> moveDescriptions = new ArrayList<>();
+		SudokuBoard board = new SudokuBoard(boardString);
+		SudokuSolver solver = new SudokuLogicSolver(board, moveDescriptions::add);
+		solver.initialize();
+		List<String> newSolverMoveDescriptions = new ArrayList<>();
+		SudokuBoard newSolverBoard = new SudokuBoard(boardString);
+		new SudokuLogicSolver(newSolverBoard, null).initialize();
+
+		while (solver.makeMove())
+		{
+			// Each new solver searches all the sections:
+			Assert.assertTrue(new SudokuLogicSolver(
+					newSolverBoard,
+					newSolverMoveDescriptions::add)
+					.makeMove());
+		}
+
+		Assert.assertTrue(board.isSolved());
+		Assert.assertEquals(newSolverMoveDescriptions, moveDescriptions);
+	}
+
+	@Test
+	public void testMakeMove_changeOutsideSolver()
+	{
+		SudokuBoard board = new SudokuBoard();
+		SudokuSolver solver = new SudokuLogicSolver(board, null);
+		solver.initialize();
+		SudokuCell sudokuCell = board.getSudokuCells(SectionType.ROW, 4).get(4);
+
+		boolean moveMadeBeforeChange = solver.makeMove();
+		for (SudokuValue value : SudokuValue.values())
+		{
+			if (value != SudokuValue.VALUE_5)
+			{
+				sudokuCell.togglePossibleValue(value);
+			}
+		}
+		boolean moveMadeAfterChange = solver.makeMove();
+
+		Assert.assertFalse(moveMadeBeforeChange);
+		Assert.assertTrue(moveMadeAfterChange);
+		Assert.assertEquals(SudokuValue.VALUE_5, sudokuCell.getValue());
+	}
+
+	@Test
+	public void testSolveFast_adaptiveSameBoardAsStrict()
+	{
+		for (String boardString : BOARD_STRINGS)
+		{
+			SudokuBoard strictBoard = new SudokuBoard(boardString);
+			SudokuSolver strictSolver = new SudokuLogicSolver(
+					strictBoard,
+					null,
+					PluginSchedule.STRICT);
+			SudokuBoard adaptiveBoard = new SudokuBoard(boardString);
+			SudokuSolver adaptiveSolver = new SudokuLogicSolver(
+					adaptiveBoard,
+					null,
+					PluginSchedule.ADAPTIVE);
+			strictSolver.initialize();
+			adaptiveSolver.initialize();
+
+			strictSolver.solveFast();
+			adaptiveSolver.solveFast();
+
+			this.assertSameBoard(strictBoard, adaptiveBoard);
+		}
+	}
+
+	@Test
+	public void testSolveFast_bulkMovesSameBoard()
+	{
+		for (String boardString : BOARD_STRINGS)
+		{
+			List<String> moveDescriptions = new ArrayList<>();
+			SudokuBoard board = new SudokuBoard(boardString);
+			SudokuSolver solver
+					= new SudokuLogicSolver(board, moveDescriptions::add);
+			List<String> bulkMoveDescriptions = new ArrayList<>();
+			SudokuBoard bulkMovesBoard = new SudokuBoard(boardString);
+			SudokuLogicSolver bulkMovesSolver = new SudokuLogicSolver(
+					bulkMovesBoard,
+					bulkMoveDescriptions::add);
+			bulkMovesSolver.setBulkMoves(true);
+			solver.initialize();
+			bulkMovesSolver.initialize();
+
+			solver.solveFast();
+			bulkMovesSolver.solveFast();
+
+			this.assertSameBoard(board, bulkMovesBoard);
+			Assert.assertFalse(bulkMoveDescriptions.isEmpty());
+		}
+	}
+
+	@Test
+	public void testSolveFast_bulkMovesFewerPasses()
+	{
+		// Each pass which makes moves commits one batch:
+		AtomicInteger passCount = new AtomicInteger();
+		SudokuBoard board = new SudokuBoard(BOARD_STRINGS.get(1));
+		board.addBatchCommittedConsumer(event -> passCount.incrementAndGet());
+		SudokuLogicSolver solver = new SudokuLogicSolver(board, null);
+		AtomicInteger bulkMovesPassCount = new AtomicInteger();
+		SudokuBoard bulkMovesBoard = new SudokuBoard(BOARD_STRINGS.get(1));
+		bulkMovesBoard.addBatchCommittedConsumer(
+				event -> bulkMovesPassCount.incrementAndGet());
+		SudokuLogicSolver bulkMovesSolver
+				= new SudokuLogicSolver(bulkMovesBoard, null);
+		bulkMovesSolver.setBulkMoves(true);
+		solver.initialize();
+		bulkMovesSolver.initialize();
+		passCount.set(0);
+		bulkMovesPassCount.set(0);
+
+		solver.solveFast();
+		bulkMovesSolver.solveFast();
+
+		Assert.assertTrue(
+				passCount + " vs " + bulkMovesPassCount,
+				bulkMovesPassCount.get() * 2 < passCount.get());
+	}
+
+	@Test
+	public void testMakeMove_bulkMovesSingleMove()
+	{
+		List<String> moveDescriptions = new ArrayList<>();
+		SudokuLogicSolver solver = new SudokuLogicSolver(
+				new SudokuBoard(BOARD_STRINGS.get(0)),
+				moveDescriptions::add);
+		solver.setBulkMoves(true);
+		solver.initialize();
+
+		Assert.assertTrue(solver.makeMove());
+		Assert.assertEquals(1, moveDescriptions.size());
+	}
+
+	private void assertSameBoard(SudokuBoard expected, SudokuBoard actual)
+	{
+		SudokuBoardState expectedBoardState = expected.getBoardState();
+		SudokuBoardState actualBoardState = actual.getBoardState();
+		for (int i = 0; i < SudokuSections.CELL_COUNT; i++)
+		{
+			Assert.assertEquals(
+					expectedBoardState.getValue(i),
+					actualBoardState.getValue(i));
+			// The possible values of cells with values depend on the moves:
+			if (expectedBoardState.getValue(i) == 0)
+			{
+				Assert.assertEquals(
+						expectedBoardState.getPossibleValues(i),
+						actualBoardState.getPossibleValues(i));
+			}
+		}
+	}
+}
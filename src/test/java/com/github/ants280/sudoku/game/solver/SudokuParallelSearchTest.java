@@ -0,0 +1,186 @@
+package com.github.ants280.sudoku.game.solver;
+
+import com.github.ants280.sudoku.game.SudokuBoardParser;
+import com.github.ants280.sudoku.game.SudokuGeometry;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.TimeUnit;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class SudokuParallelSearchTest
+{
+	private static final String HARD_BOARD = "003070600000159020900000005700000010006040900040000006400000002070362000009080700";
+	// A board with 7632 solutions:
+	private static final String SPARSE_BOARD = "000000000000000000000000000170890402490020071206041089000054060080000195007918200";
+	private static ForkJoinPool singleThreadPool;
+	private static ForkJoinPool fourThreadPool;
+
+	@BeforeClass
+	public static void setUpClass()
+	{
+		singleThreadPool = new ForkJoinPool(1);
+		fourThreadPool = new ForkJoinPool(4);
+	}
+
+	@AfterClass
+	public static void tearDownClass()
+	{
+		singleThreadPool.shutdown();
+		fourThreadPool.shutdown();
+	}
+
+	@Test
+	public void testSolve_sameAsSequential()
+	{
+		for (String boardString : new String[]
+		{
+			HARD_BOARD, SPARSE_BOARD, new String(new char[81]).replace('\0', '0')
+		})
+		{
+			int[] values = parse(boardString);
+			int[] expectedSolution = new int[81];
+			Assert.assertTrue(new SudokuBitmaskSearch(SudokuGeometry.NINE)
+					.solve(values, expectedSolution));
+
+			for (ForkJoinPool pool : new ForkJoinPool[]
+			{
+				singleThreadPool, fourThreadPool
+			})
+			{
+				SudokuParallelSearch search = new SudokuParallelSearch(
+						SudokuGeometry.NINE,
+						pool,
+						SudokuParallelSearch.DEFAULT_SPLIT_DEPTH);
+				int[] actualSolution = new int[81];
+
+				SearchResult result = search.solve(
+						values,
+						actualSolution,
+						SearchLimits.NONE);
+
+				Assert.assertEquals(SearchResult.SOLVED, result);
+				Assert.assertArrayEquals(expectedSolution, actualSolution);
+			}
+		}
+	}
+
+	@Test
+	public void testCountSolutions_sameAsSequential()
+	{
+		int[] values = parse(SPARSE_BOARD);
+		int expectedSolutionCount = new SudokuBitmaskSearch(SudokuGeometry.NINE)
+				.countSolutions(values, 10000);
+		Assert.assertEquals(7632, expectedSolutionCount);
+
+		for (int splitDepth = 0; splitDepth <= 4; splitDepth++)
+		{
+			SudokuParallelSearch search = new SudokuParallelSearch(
+					SudokuGeometry.NINE,
+					fourThreadPool,
+					splitDepth);
+
+			Assert.assertEquals(
+					expectedSolutionCount,
+					search.countSolutions(values, 10000));
+			Assert.assertEquals(10, search.countSolutions(values, 10));
+		}
+	}
+
+	@Test
+	public void testCountSolutions_emptyFour()
+	{
+		SudokuParallelSearch search = new SudokuParallelSearch(
+				SudokuGeometry.of(2),
+				fourThreadPool,
+				6);
+
+		int solutionCount = search.countSolutions(new int[16], 1000);
+
+		Assert.assertEquals(288, solutionCount);
+	}
+
+	@Test
+	public void testSolve_unsolvable()
+	{
+		SudokuParallelSearch search = new SudokuParallelSearch(
+				SudokuGeometry.NINE,
+				fourThreadPool,
+				SudokuParallelSearch.DEFAULT_SPLIT_DEPTH);
+		int[] values = parse("123456780000000000000000000000000000000000000000000000000000000000000000000000009");
+
+		SearchResult result = search.solve(
+				values,
+				new int[81],
+				SearchLimits.NONE);
+
+		Assert.assertEquals(SearchResult.UNSOLVABLE, result);
+	}
+
+	@Test
+	public void testSolve_cancelled()
+	{
+		SudokuParallelSearch search = new SudokuParallelSearch(
+				SudokuGeometry.NINE,
+				fourThreadPool,
+				SudokuParallelSearch.DEFAULT_SPLIT_DEPTH);
+		CancellationToken cancellationToken = new CancellationToken();
+		cancellationToken.cancel();
+
+		SearchResult result = search.solve(
+				parse(HARD_BOARD),
+				new int[81],
+				new SearchLimits(
+						SearchLimits.UNLIMITED,
+						SearchLimits.UNLIMITED,
+						TimeUnit.NANOSECONDS,
+						cancellationToken));
+
+		Assert.assertEquals(SearchResult.ABORTED, result);
+	}
+
+	@Test
+	public void testSolve_reusesThreadSearches()
+	{
+		SudokuBitmaskSearch threadSearch = singleThreadPool.invoke(ForkJoinTask
+				.adapt(() -> SudokuParallelSearch.getSearch(SudokuGeometry.NINE)));
+
+		for (int i = 0; i < 3; i++)
+		{
+			new SudokuParallelSearch(
+					SudokuGeometry.NINE,
+					singleThreadPool,
+					SudokuParallelSearch.DEFAULT_SPLIT_DEPTH)
+					.solve(parse(HARD_BOARD), new int[81], SearchLimits.NONE);
+		}
+
+		Assert.assertSame(
+				threadSearch,
+				singleThreadPool.invoke(ForkJoinTask.adapt(
+						() -> SudokuParallelSearch.getSearch(
+								SudokuGeometry.NINE))));
+		Assert.assertNotSame(
+				SudokuParallelSearch.getSearch(SudokuGeometry.NINE),
+				SudokuParallelSearch.getSearch(SudokuGeometry.of(2)));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testConstructor_invalidSplitDepth()
+	{
+		SudokuParallelSearch search = new SudokuParallelSearch(
+				SudokuGeometry.NINE,
+				fourThreadPool,
+				-1);
+
+		Assert.fail("Expected exception to be thrown: " + search);
+	}
+
+	private static int[] parse(String boardString)
+	{
+		int[] values = new int[81];
+		SudokuBoardParser.parse(boardString, SudokuGeometry.NINE, values);
+		return values;
+	}
+}
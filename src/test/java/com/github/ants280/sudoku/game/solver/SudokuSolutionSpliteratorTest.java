@@ -0,0 +1,205 @@
+package com.github.ants280.sudoku.game.solver;
+
+import com.github.ants280.sudoku.game.SudokuBoardParser;
+import com.github.ants280.sudoku.game.SudokuGeometry;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SudokuSolutionSpliteratorTest
+{
+	// A board with 7632 solutions:
+	private static final String SPARSE_BOARD = "000000000000000000000000000170890402490020071206041089000054060080000195007918200";
+
+	@Test
+	public void testTryAdvance_allSolutions()
+	{
+		List<int[]> solutions = collect(new SudokuSolutionSpliterator(
+				SudokuGeometry.NINE,
+				parse(SPARSE_BOARD)));
+
+		Assert.assertEquals(7632, solutions.size());
+		Assert.assertEquals(
+				solutions.size(),
+				solutions.stream().map(Arrays::toString).distinct().count());
+		int[] values = parse(SPARSE_BOARD);
+		for (int[] solution : solutions)
+		{
+			assertSolution(SudokuGeometry.NINE, values, solution);
+		}
+	}
+
+	@Test
+	public void testTryAdvance_unsolvable()
+	{
+		int[] values = parse("123456780000000000000000000000000000000000000000000000000000000000000000000000009");
+
+		List<int[]> solutions = collect(new SudokuSolutionSpliterator(
+				SudokuGeometry.NINE,
+				values));
+
+		Assert.assertTrue(solutions.isEmpty());
+	}
+
+	@Test
+	public void testTryAdvance_solvedBoard()
+	{
+		int[] values = parse("123456789456789123789123456234567891567891234891234567345678912678912345912345678");
+
+		List<int[]> solutions = collect(new SudokuSolutionSpliterator(
+				SudokuGeometry.NINE,
+				values));
+
+		Assert.assertEquals(1, solutions.size());
+		Assert.assertArrayEquals(values, solutions.get(0));
+	}
+
+	@Test
+	public void testTrySplit_beforeAdvance()
+	{
+		SudokuGeometry geometry = SudokuGeometry.of(2);
+		Spliterator<int[]> spliterator
+				= new SudokuSolutionSpliterator(geometry, new int[16]);
+
+		List<String> solutions = splitAll(spliterator);
+
+		Assert.assertEquals(288, solutions.size());
+		Assert.assertEquals(
+				toStrings(collect(new SudokuSolutionSpliterator(
+						geometry,
+						new int[16]))),
+				solutions);
+	}
+
+	@Test
+	public void testTrySplit_afterAdvance()
+	{
+		int[] values = parse(SPARSE_BOARD);
+		List<String> expectedSolutions = toStrings(collect(
+				new SudokuSolutionSpliterator(SudokuGeometry.NINE, values)));
+		Spliterator<int[]> spliterator
+				= new SudokuSolutionSpliterator(SudokuGeometry.NINE, values);
+		List<int[]> actualSolutions = new ArrayList<>();
+		for (int i = 0; i < 100; i++)
+		{
+			Assert.assertTrue(spliterator.tryAdvance(actualSolutions::add));
+		}
+
+		Spliterator<int[]> prefix = spliterator.trySplit();
+
+		Assert.assertNotNull(prefix);
+		prefix.forEachRemaining(actualSolutions::add);
+		spliterator.forEachRemaining(actualSolutions::add);
+		Assert.assertEquals(expectedSolutions, toStrings(actualSolutions));
+	}
+
+	@Test
+	public void testStream_parallel()
+	{
+		int[] values = parse(SPARSE_BOARD);
+		List<String> expectedSolutions = toStrings(collect(
+				new SudokuSolutionSpliterator(SudokuGeometry.NINE, values)));
+
+		List<String> actualSolutions = StreamSupport.stream(
+				new SudokuSolutionSpliterator(SudokuGeometry.NINE, values),
+				true)
+				.map(Arrays::toString)
+				.collect(Collectors.toList());
+
+		Assert.assertEquals(expectedSolutions, actualSolutions);
+	}
+
+	@Test
+	public void testStream_limit()
+	{
+		long solutionCount = StreamSupport.stream(
+				new SudokuSolutionSpliterator(
+						SudokuGeometry.NINE,
+						new int[81]),
+				false)
+				.limit(5)
+				.count();
+
+		Assert.assertEquals(5, solutionCount);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testConstructor_wrongCellCount()
+	{
+		Spliterator<int[]> spliterator
+				= new SudokuSolutionSpliterator(SudokuGeometry.NINE, new int[16]);
+
+		Assert.fail("Expected exception to be thrown: " + spliterator);
+	}
+
+	/**
+	 * Splits the spliterator as far as it goes, and returns the solutions of
+	 * the parts in order.
+	 */
+	private static List<String> splitAll(Spliterator<int[]> spliterator)
+	{
+		Spliterator<int[]> prefix = spliterator.trySplit();
+		List<String> solutions = new ArrayList<>();
+		if (prefix != null)
+		{
+			solutions.addAll(splitAll(prefix));
+			solutions.addAll(splitAll(spliterator));
+		}
+		else
+		{
+			solutions.addAll(toStrings(collect(spliterator)));
+		}
+		return solutions;
+	}
+
+	private static List<int[]> collect(Spliterator<int[]> spliterator)
+	{
+		List<int[]> solutions = new ArrayList<>();
+		spliterator.forEachRemaining(solutions::add);
+		return solutions;
+	}
+
+	private static List<String> toStrings(List<int[]> solutions)
+	{
+		return solutions.stream()
+				.map(Arrays::toString)
+				.collect(Collectors.toList());
+	}
+
+	private static void assertSolution(
+			SudokuGeometry geometry,
+			int[] values,
+			int[] solution)
+	{
+		for (int i = 0; i < values.length; i++)
+		{
+			if (values[i] != 0)
+			{
+				Assert.assertEquals(values[i], solution[i]);
+			}
+		}
+		for (int sectionIndex = 0;
+				sectionIndex < geometry.getSectionCount();
+				sectionIndex++)
+		{
+			int sectionValues = 0;
+			for (int cellIndex : geometry.getSectionCells(sectionIndex))
+			{
+				sectionValues |= 1 << (solution[cellIndex] - 1);
+			}
+			Assert.assertEquals(geometry.getAllValues(), sectionValues);
+		}
+	}
+
+	private static int[] parse(String boardString)
+	{
+		int[] values = new int[81];
+		SudokuBoardParser.parse(boardString, SudokuGeometry.NINE, values);
+		return values;
+	}
+}
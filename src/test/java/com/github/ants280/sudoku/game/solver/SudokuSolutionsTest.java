@@ -0,0 +1,143 @@
+package com.github.ants280.sudoku.game.solver;
+
+import com.github.ants280.sudoku.game.SudokuBoard;
+import com.github.ants280.sudoku.game.SudokuBoardState;
+import com.github.ants280.sudoku.game.SudokuGeometry;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SudokuSolutionsTest
+{
+	private static final String UNIQUE_BOARD = "{002689300849000020060470000170890402490020071206041089000054060080000195007918200}";
+
+	@Test
+	public void testCountSolutions_unique()
+	{
+		SudokuBoard board = new SudokuBoard(UNIQUE_BOARD);
+
+		int solutionCount = SudokuSolutions.countSolutions(board, 10);
+
+		Assert.assertEquals(1, solutionCount);
+	}
+
+	@Test
+	public void testCountSolutions_stopsAtLimit()
+	{
+		SudokuBoard board = new SudokuBoard();
+
+		int solutionCount = SudokuSolutions.countSolutions(board, 10);
+
+		Assert.assertEquals(10, solutionCount);
+	}
+
+	@Test
+	public void testCountSolutions_emptyFour()
+	{
+		SudokuBoardState boardState = SudokuGeometry.of(2).createBoardState();
+
+		int solutionCount = SudokuSolutions.countSolutions(boardState, 1000);
+
+		Assert.assertEquals(288, solutionCount);
+	}
+
+	@Test
+	public void testCountSolutions_matchesDancingLinks()
+	{
+		// The unique board without its first seven values:
+		SudokuBoard board = new SudokuBoard("{000000000849000020060470000170890402490020071206041089000054060080000195007918200}");
+
+		int actualSolutionCount = SudokuSolutions.countSolutions(board, 1000);
+		int expectedSolutionCount
+				= new SudokuDancingLinksSolver(board).countSolutions(1000);
+
+		Assert.assertTrue(actualSolutionCount > 1);
+		Assert.assertEquals(expectedSolutionCount, actualSolutionCount);
+	}
+
+	@Test
+	public void testCountSolutions_unsolvable()
+	{
+		SudokuBoard board = new SudokuBoard("{123456789456789123789123456234567891567891234891234567345678912678912345912345660}");
+
+		int solutionCount = SudokuSolutions.countSolutions(board, 2);
+
+		Assert.assertEquals(0, solutionCount);
+	}
+
+	@Test
+	public void testHasUniqueSolution()
+	{
+		Assert.assertTrue(SudokuSolutions.hasUniqueSolution(
+				new SudokuBoard(UNIQUE_BOARD)));
+		Assert.assertFalse(SudokuSolutions.hasUniqueSolution(
+				new SudokuBoard()));
+		Assert.assertFalse(SudokuSolutions.hasUniqueSolution(
+				new SudokuBoard("{123456789456789123789123456234567891567891234891234567345678912678912345912345660}")));
+	}
+
+	@Test
+	public void testSearch_abortedKeepsCount()
+	{
+		SudokuBitmaskSearch search = new SudokuBitmaskSearch(SudokuGeometry.NINE);
+		SearchLimits limits = new SearchLimits(
+				200,
+				SearchLimits.UNLIMITED,
+				TimeUnit.NANOSECONDS,
+				null);
+
+		SearchResult result = search.search(
+				new int[81],
+				null,
+				Integer.MAX_VALUE,
+				limits);
+
+		Assert.assertEquals(SearchResult.ABORTED, result);
+		Assert.assertTrue(search.getSolutionCount() > 0);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testSearch_invalidLimit()
+	{
+		SudokuBitmaskSearch search = new SudokuBitmaskSearch(SudokuGeometry.NINE);
+
+		search.search(new int[81], null, 0, SearchLimits.NONE);
+
+		Assert.fail("Expected exception to be thrown.");
+	}
+
+	@Test
+	public void testStream()
+	{
+		// The unique board without its first seven values:
+		SudokuBoard board = new SudokuBoard("{000000000849000020060470000170890402490020071206041089000054060080000195007918200}");
+
+		List<SudokuBoard> solutions = SudokuSolutions.stream(board)
+				.collect(Collectors.toList());
+
+		Assert.assertEquals(
+				SudokuSolutions.countSolutions(board, 1000),
+				solutions.size());
+		for (SudokuBoard solution : solutions)
+		{
+			Assert.assertTrue(solution.isSolved());
+			Assert.assertTrue(solution.getAllSudokuCells().get(9).isLocked());
+			Assert.assertFalse(solution.getAllSudokuCells().get(0).isLocked());
+		}
+		Assert.assertFalse(board.isSolved());
+	}
+
+	@Test
+	public void testStreamValues_limit()
+	{
+		List<int[]> solutions = SudokuSolutions
+				.streamValues(SudokuGeometry.of(4).createBoardState())
+				.limit(3)
+				.collect(Collectors.toList());
+
+		Assert.assertEquals(3, solutions.size());
+		Assert.assertEquals(256, solutions.get(0).length);
+	}
+}
@@ -0,0 +1,160 @@
+package com.github.ants280.sudoku.game.solver;
+
+import com.github.ants280.sudoku.game.SudokuBoard;
+import com.github.ants280.sudoku.game.solver.plugins.CullPossibleValuesSudokuSolverPlugin;
+import com.github.ants280.sudoku.game.solver.plugins.LastPossibleValueInSectionSudokuSolverPlugin;
+import com.github.ants280.sudoku.game.solver.plugins.OnlyPossibleValueSudokuSolverPlugin;
+import com.github.ants280.sudoku.game.solver.plugins.SetPossibleValuesSudokuSolverPlugin;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SudokuSolverMetricsTest
+{
+	private static final String BOARD_STRING
+			= "{605040902001090003020015600900004800000060000008100009006430080500080200807020306}";
+
+	@Test
+	public void testGetPluginMetrics()
+	{
+		SudokuSolverMetrics metrics = SudokuSolverMetrics.getInstance();
+		metrics.reset();
+		List<String> moveDescriptions = new ArrayList<>();
+		SudokuBoard board = new SudokuBoard(BOARD_STRING);
+		SudokuSolver solver
+				= new SudokuLogicSolver(board, moveDescriptions::add);
+		solver.initialize();
+		solver.solveFast();
+
+		List<SudokuSolverPluginMetricsSnapshot> snapshots
+				= metrics.getPluginMetrics();
+
+		Assert.assertTrue(board.isSolved());
+		long successCount = 0L;
+		for (SudokuSolverPluginMetricsSnapshot snapshot : snapshots)
+		{
+			successCount += snapshot.getSuccessCount();
+			Assert.assertTrue(
+					snapshot.toString(),
+					snapshot.getSuccessCount() <= snapshot.getCallCount());
+		}
+		Assert.assertEquals(moveDescriptions.size(), successCount);
+		SudokuSolverPluginMetricsSnapshot onlyPossibleValueSnapshot
+				= getSnapshot(
+				snapshots,
+				OnlyPossibleValueSudokuSolverPlugin.class);
+		Assert.assertTrue(onlyPossibleValueSnapshot.getCallCount() > 0L);
+		Assert.assertTrue(onlyPossibleValueSnapshot.getNanos() > 0L);
+		Assert.assertTrue(onlyPossibleValueSnapshot.getCellsScanned() > 0L);
+		Assert.assertTrue(getSnapshot(
+				snapshots,
+				SetPossibleValuesSudokuSolverPlugin.class).getSuccessCount() > 0L);
+	}
+
+	@Test
+	public void testReset()
+	{
+		SudokuSolverMetrics metrics = SudokuSolverMetrics.getInstance();
+		SudokuSolver solver
+				= new SudokuLogicSolver(new SudokuBoard(BOARD_STRING), null);
+		solver.initialize();
+		solver.makeMove();
+
+		metrics.reset();
+
+		for (SudokuSolverPluginMetricsSnapshot snapshot
+				: metrics.getPluginMetrics())
+		{
+			Assert.assertEquals(0L, snapshot.getCallCount());
+			Assert.assertEquals(0L, snapshot.getSuccessCount());
+			Assert.assertEquals(0L, snapshot.getNanos());
+			Assert.assertEquals(0L, snapshot.getCellsScanned());
+		}
+	}
+
+	@Test
+	public void testRegisterMBean() throws JMException
+	{
+		SudokuSolverMetrics.registerMBean();
+		SudokuSolverMetrics.registerMBean();
+		SudokuSolver solver
+				= new SudokuLogicSolver(new SudokuBoard(BOARD_STRING), null);
+		solver.initialize();
+		solver.makeMove();
+		MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+		ObjectName objectName = new ObjectName(SudokuSolverMetrics.OBJECT_NAME);
+
+		CompositeData[] pluginMetrics = (CompositeData[]) mBeanServer
+				.getAttribute(objectName, "PluginMetrics");
+
+		Assert.assertTrue(pluginMetrics.length >= 5);
+		boolean found = false;
+		for (CompositeData compositeData : pluginMetrics)
+		{
+			if (OnlyPossibleValueSudokuSolverPlugin.class.getName()
+					.equals(compositeData.get("pluginName")))
+			{
+				found = true;
+				Assert.assertTrue((Long) compositeData.get("callCount") > 0L);
+			}
+		}
+		Assert.assertTrue(found);
+	}
+
+	@Test
+	public void testGetPluginMetrics_cellsScanned()
+	{
+		SudokuSolverMetrics metrics = SudokuSolverMetrics.getInstance();
+		metrics.reset();
+		SudokuSolver solver
+				= new SudokuLogicSolver(new SudokuBoard(BOARD_STRING), null);
+		solver.initialize();
+		solver.solveFast();
+
+		SudokuSolverPluginMetricsSnapshot snapshot = getSnapshot(
+				metrics.getPluginMetrics(),
+				LastPossibleValueInSectionSudokuSolverPlugin.class);
+
+		// The hidden single kernel reads every cell at least once a call:
+		Assert.assertTrue(snapshot.getCallCount() > 0L);
+		Assert.assertTrue(
+				snapshot.toString(),
+				snapshot.getCellsScanned() >= 81L * snapshot.getCallCount());
+	}
+
+	@Test
+	public void testGetPluginMetrics_directCallsNotRecorded()
+	{
+		SudokuSolverMetrics metrics = SudokuSolverMetrics.getInstance();
+		SudokuBoard board = new SudokuBoard(BOARD_STRING);
+		new SudokuLogicSolver(board, null).initialize();
+		SudokuSolverPlugin solverPlugin
+				= new CullPossibleValuesSudokuSolverPlugin(board, null);
+		metrics.reset();
+
+		solverPlugin.makeMove();
+
+		SudokuSolverPluginMetricsSnapshot snapshot = getSnapshot(
+				metrics.getPluginMetrics(),
+				CullPossibleValuesSudokuSolverPlugin.class);
+		Assert.assertEquals(0L, snapshot.getCallCount());
+		Assert.assertEquals(0L, snapshot.getCellsScanned());
+	}
+
+	private static SudokuSolverPluginMetricsSnapshot getSnapshot(
+			List<SudokuSolverPluginMetricsSnapshot> snapshots,
+			Class<? extends SudokuSolverPlugin> pluginClass)
+	{
+		return snapshots.stream()
+				.filter(snapshot -> snapshot.getPluginName()
+						.equals(pluginClass.getName()))
+				.findFirst()
+				.orElseThrow(() -> new AssertionError(pluginClass));
+	}
+}
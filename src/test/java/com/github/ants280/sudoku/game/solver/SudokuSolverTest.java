@@ -102,4 +102,83 @@ public class SudokuSolverTest
 
 		Assert.assertEquals(expectedSolved, actualSolved);
 	}
+
+	@Test
+	public void testSolveFast_bruteForceMostConstrained()
+	{
+		SudokuBoard board = new SudokuBoard(boardString);
+		board.setListenersEnabled(false);
+		SudokuSolver solver = new SudokuBruteForceSolver(
+				board,
+				SearchMode.MOST_CONSTRAINED);
+		solver.solveFast();
+
+		boolean actualSolved = board.isSolved();
+		boolean expectedSolved
+				= solvableType.isExpectedSolvable(SolvableType.BRUTE_FORCE);
+
+		Assert.assertEquals(expectedSolved, actualSolved);
+	}
+
+	@Test
+	public void testSolveFast_bruteForceParallel()
+	{
+		SudokuBoard board = new SudokuBoard(boardString);
+		board.setListenersEnabled(false);
+		SudokuSolver solver = new SudokuBruteForceSolver(
+				board,
+				SearchMode.PARALLEL);
+		solver.solveFast();
+
+		boolean actualSolved = board.isSolved();
+		boolean expectedSolved
+				= solvableType.isExpectedSolvable(SolvableType.BRUTE_FORCE);
+
+		Assert.assertEquals(expectedSolved, actualSolved);
+	}
+
+	@Test
+	public void testSolveFast_conflictLearning()
+	{
+		SudokuBoard board = new SudokuBoard(boardString);
+		board.setListenersEnabled(false);
+		SudokuSolver solver = new SudokuConflictLearningSolver(board);
+		solver.solveFast();
+
+		boolean actualSolved = board.isSolved();
+		boolean expectedSolved
+				= solvableType.isExpectedSolvable(SolvableType.BRUTE_FORCE);
+
+		Assert.assertEquals(expectedSolved, actualSolved);
+	}
+
+	@Test
+	public void testSolveFast_dancingLinks()
+	{
+		SudokuBoard board = new SudokuBoard(boardString);
+		board.setListenersEnabled(false);
+		SudokuSolver solver = new SudokuDancingLinksSolver(board);
+		solver.solveFast();
+
+		boolean actualSolved = board.isSolved();
+		boolean expectedSolved
+				= solvableType.isExpectedSolvable(SolvableType.BRUTE_FORCE);
+
+		Assert.assertEquals(expectedSolved, actualSolved);
+	}
+
+	@Test
+	public void testCountSolutions()
+	{
+		SudokuBoard board = new SudokuBoard(boardString);
+
+		int actualSolutionCount = SudokuSolutions.countSolutions(board, 2);
+		int expectedSolutionCount
+				= new SudokuDancingLinksSolver(board).countSolutions(2);
+
+		Assert.assertEquals(expectedSolutionCount, actualSolutionCount);
+		Assert.assertEquals(
+				solvableType.isExpectedSolvable(SolvableType.BRUTE_FORCE),
+				actualSolutionCount > 0);
+	}
 }
@@ -0,0 +1,131 @@
+package com.github.ants280.sudoku.game.solver.plugins;
+
+import com.github.ants280.sudoku.game.SectionType;
+import com.github.ants280.sudoku.game.SudokuBoard;
+import com.github.ants280.sudoku.game.SudokuCell;
+import com.github.ants280.sudoku.game.SudokuSections;
+import com.github.ants280.sudoku.game.SudokuValue;
+import com.github.ants280.sudoku.game.solver.SudokuLogicSolver;
+import com.github.ants280.sudoku.game.solver.SudokuSolverPlugin;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LastPossibleValueInSectionSudokuSolverPluginTest
+{
+	@Test
+	public void testMakeMove_firstCellLowestValue()
+	{
+		SudokuBoard board = createBoard();
+		// 2 and 4 can only go in the last cell of row 1, 7 in the last cell
+		// of row 2:
+		removePossibleValue(board, 0, SudokuValue.VALUE_4);
+		removePossibleValue(board, 0, SudokuValue.VALUE_2);
+		removePossibleValue(board, 1, SudokuValue.VALUE_7);
+		List<String> moveDescriptions = new ArrayList<>();
+		SudokuSolverPlugin solverPlugin = createSolverPlugin(
+				board,
+				moveDescriptions);
+
+		boolean moveMade = solverPlugin.makeMove();
+
+		Assert.assertTrue(moveMade);
+		Assert.assertEquals(
+				Arrays.asList("Setting value of cell at [r,c]=[1,9] to 2 "
+						+ "because it is the last place "
+						+ "in one of the sections the cell is in "
+						+ "that a 2 can go."),
+				moveDescriptions);
+		Assert.assertEquals(
+				SudokuValue.VALUE_2,
+				getSudokuCell(board, 0, 8).getValue());
+		Assert.assertNull(getSudokuCell(board, 1, 8).getValue());
+	}
+
+	@Test
+	public void testMakeMove_outsideSectionMask()
+	{
+		SudokuBoard board = createBoard();
+		removePossibleValue(board, 0, SudokuValue.VALUE_4);
+		SudokuSolverPlugin solverPlugin = createSolverPlugin(board, null);
+		// Column 9 and group 3 have the cell, but 4 is possible elsewhere in
+		// them:
+		int sectionMask
+				= 1 << SudokuSections.getSectionIndex(SectionType.COLUMN, 8)
+				| 1 << SudokuSections.getSectionIndex(SectionType.GROUP, 2);
+
+		boolean moveMade = solverPlugin.makeMove(sectionMask);
+
+		Assert.assertFalse(moveMade);
+		Assert.assertNull(getSudokuCell(board, 0, 8).getValue());
+	}
+
+	@Test
+	public void testMakeMoves()
+	{
+		SudokuBoard board = createBoard();
+		removePossibleValue(board, 0, SudokuValue.VALUE_4);
+		removePossibleValue(board, 1, SudokuValue.VALUE_7);
+		List<String> moveDescriptions = new ArrayList<>();
+		SudokuSolverPlugin solverPlugin = createSolverPlugin(
+				board,
+				moveDescriptions);
+
+		int moveCount
+				= solverPlugin.makeMoves(SudokuSolverPlugin.ALL_SECTIONS);
+
+		Assert.assertEquals(2, moveCount);
+		Assert.assertEquals(2, moveDescriptions.size());
+		Assert.assertEquals(
+				SudokuValue.VALUE_4,
+				getSudokuCell(board, 0, 8).getValue());
+		Assert.assertEquals(
+				SudokuValue.VALUE_7,
+				getSudokuCell(board, 1, 8).getValue());
+	}
+
+	private static SudokuBoard createBoard()
+	{
+		SudokuBoard board = new SudokuBoard();
+		new SudokuLogicSolver(board, null).initialize();
+		return board;
+	}
+
+	/**
+	 * Removes the possible value from all but the last cell of the row.
+	 */
+	private static void removePossibleValue(
+			SudokuBoard board,
+			int rowIndex,
+			SudokuValue value)
+	{
+		for (int columnIndex = 0; columnIndex < 8; columnIndex++)
+		{
+			getSudokuCell(board, rowIndex, columnIndex)
+					.togglePossibleValue(value);
+		}
+	}
+
+	private static SudokuCell getSudokuCell(
+			SudokuBoard board,
+			int rowIndex,
+			int columnIndex)
+	{
+		return board.getSudokuCells(SectionType.ROW, rowIndex)
+				.get(columnIndex);
+	}
+
+	private static SudokuSolverPlugin createSolverPlugin(
+			SudokuBoard board,
+			List<String> moveDescriptions)
+	{
+		return new LastPossibleValueInSectionSudokuSolverPlugin(
+				board,
+				moveDescriptions == null ? null : moveDescriptions::add,
+				(sudokuCell, value) ->
+				{
+				});
+	}
+}
@@ -0,0 +1,37 @@
+package com.github.ants280.sudoku.game.solver.plugins;
+
+import com.github.ants280.sudoku.game.SectionType;
+import com.github.ants280.sudoku.game.SudokuBoard;
+import com.github.ants280.sudoku.game.SudokuCell;
+import com.github.ants280.sudoku.game.SudokuValue;
+import com.github.ants280.sudoku.game.solver.SudokuLogicSolver;
+import com.github.ants280.sudoku.game.solver.SudokuSolverPlugin;
+import java.util.Arrays;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SetPossibleValuesSudokuSolverPluginTest
+{
+	@Test
+	public void testMakeMove_twoEmptyCells()
+	{
+		SudokuBoard board = new SudokuBoard("{"
+				+ "123456789456789123789123456234567891567891234"
+				+ "891234567345678912678912345912345600}");
+		new SudokuLogicSolver(board, null).initialize();
+		SudokuCell sudokuCell = board.getSudokuCells(SectionType.ROW, 8).get(7);
+		// 7 and 8 are possible in the cell, but only 8 in the last cell:
+		sudokuCell.togglePossibleValue(SudokuValue.VALUE_8);
+		SudokuSolverPlugin solverPlugin
+				= new SetPossibleValuesSudokuSolverPlugin(board, null);
+
+		boolean canMakeMove = solverPlugin.canMakeMove(2, 1);
+		boolean moveMade = solverPlugin.makeMove();
+
+		Assert.assertTrue(canMakeMove);
+		Assert.assertTrue(moveMade);
+		Assert.assertEquals(
+				Arrays.asList(SudokuValue.VALUE_7),
+				Arrays.asList(sudokuCell.getPossibleValues().toArray()));
+	}
+}
@@ -0,0 +1,348 @@
+package com.github.ants280.sudoku.game.store;
+
+import com.github.ants280.sudoku.game.PackedSudokuBoardState;
+import com.github.ants280.sudoku.game.SudokuBoardParser;
+import com.github.ants280.sudoku.game.SudokuBoardState;
+import com.github.ants280.sudoku.game.SudokuGeometry;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class PuzzleStoreTest
+{
+	private static final String PUZZLE
+			= "003020600"
+			+ "900305001"
+			+ "001806400"
+			+ "008102900"
+			+ "700000008"
+			+ "006708200"
+			+ "002609500"
+			+ "800203009"
+			+ "005010300";
+	private static final String SOLUTION
+			= "483921657"
+			+ "967345821"
+			+ "251876493"
+			+ "548132976"
+			+ "729564138"
+			+ "136798245"
+			+ "372689514"
+			+ "814253769"
+			+ "695417382";
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	@Test
+	public void testGetPuzzle() throws IOException
+	{
+		Path path = this.writeStore(false, 0, 3);
+
+		try (PuzzleStore puzzleStore = PuzzleStore.open(path))
+		{
+			byte[] values = new byte[81];
+			puzzleStore.getPuzzle(1, values);
+
+			Assert.assertEquals(3, puzzleStore.size());
+			Assert.assertFalse(puzzleStore.hasSolutions());
+			Assert.assertArrayEquals(getValues(PUZZLE), values);
+			Assert.assertEquals(
+					PuzzleStore.HEADER_LENGTH + 3 * 41,
+					Files.size(path));
+		}
+	}
+
+	@Test
+	public void testGetPuzzle_boardState() throws IOException
+	{
+		Path path = this.writeStore(false, 0, 1);
+
+		try (PuzzleStore puzzleStore = PuzzleStore.open(path))
+		{
+			SudokuBoardState boardState = new PackedSudokuBoardState();
+			boardState.setPossibleValues(0, 3);
+			puzzleStore.getPuzzle(0, boardState);
+
+			Assert.assertEquals(PUZZLE, SudokuBoardParser.format(boardState));
+			Assert.assertEquals(0, boardState.getPossibleValues(0));
+			Assert.assertTrue(boardState.isLocked(2));
+			Assert.assertFalse(boardState.isLocked(0));
+		}
+	}
+
+	@Test
+	public void testGetSolutionAndMetadata() throws IOException
+	{
+		Path path = this.writeStore(true, 4, 3);
+
+		try (PuzzleStore puzzleStore = PuzzleStore.open(path))
+		{
+			byte[] puzzleValues = new byte[81];
+			byte[] solutionValues = new byte[81];
+			byte[] metadata = new byte[4];
+			puzzleStore.getPuzzle(2, puzzleValues);
+			puzzleStore.getSolution(2, solutionValues);
+			puzzleStore.getMetadata(2, metadata);
+
+			Assert.assertTrue(puzzleStore.hasSolutions());
+			Assert.assertEquals(4, puzzleStore.getMetadataLength());
+			Assert.assertArrayEquals(getValues(PUZZLE), puzzleValues);
+			Assert.assertArrayEquals(getValues(SOLUTION), solutionValues);
+			Assert.assertArrayEquals(new byte[]
+			{
+				2, 0, 0, 0
+			}, metadata);
+		}
+	}
+
+	@Test
+	public void testCursor() throws IOException
+	{
+		Path path = this.writeStore(false, 1, 3);
+
+		try (PuzzleStore puzzleStore = PuzzleStore.open(path))
+		{
+			PuzzleStore.Cursor cursor = puzzleStore.cursor();
+			SudokuBoardState boardState = new PackedSudokuBoardState();
+			byte[] metadata = new byte[1];
+			int count = 0;
+			while (cursor.next())
+			{
+				cursor.readPuzzle(boardState);
+				cursor.readMetadata(metadata);
+
+				Assert.assertEquals(count, cursor.getIndex());
+				Assert.assertEquals(count, metadata[0]);
+				Assert.assertEquals(
+						PUZZLE,
+						SudokuBoardParser.format(boardState));
+				count++;
+			}
+
+			Assert.assertEquals(3, count);
+			Assert.assertFalse(cursor.next());
+		}
+	}
+
+	@Test
+	public void testCursor_seek() throws IOException
+	{
+		Path path = this.writeStore(false, 1, 3);
+
+		try (PuzzleStore puzzleStore = PuzzleStore.open(path))
+		{
+			PuzzleStore.Cursor cursor = puzzleStore.cursor();
+			byte[] metadata = new byte[1];
+
+			cursor.seek(2);
+			boolean moved = cursor.next();
+			cursor.readMetadata(metadata);
+
+			Assert.assertTrue(moved);
+			Assert.assertEquals(2, metadata[0]);
+			Assert.assertFalse(cursor.next());
+		}
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void testGetPuzzle_invalidIndex() throws IOException
+	{
+		Path path = this.writeStore(false, 0, 1);
+
+		try (PuzzleStore puzzleStore = PuzzleStore.open(path))
+		{
+			puzzleStore.getPuzzle(1, new byte[81]);
+
+			Assert.fail("Expected exception to be thrown.");
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testGetSolution_noSolutions() throws IOException
+	{
+		Path path = this.writeStore(false, 0, 1);
+
+		try (PuzzleStore puzzleStore = PuzzleStore.open(path))
+		{
+			puzzleStore.getSolution(0, new byte[81]);
+
+			Assert.fail("Expected exception to be thrown.");
+		}
+	}
+
+	@Test(expected = IOException.class)
+	public void testOpen_notStore() throws IOException
+	{
+		Path path = temporaryFolder.newFile().toPath();
+		Files.write(path, PUZZLE.getBytes("US-ASCII"));
+
+		PuzzleStore.open(path);
+
+		Assert.fail("Expected exception to be thrown.");
+	}
+
+	@Test(expected = IOException.class)
+	public void testOpen_truncated() throws IOException
+	{
+		Path path = this.writeStore(false, 0, 2);
+		byte[] bytes = Files.readAllBytes(path);
+		Files.write(path, Arrays.copyOf(bytes, bytes.length - 1));
+
+		PuzzleStore.open(path);
+
+		Assert.fail("Expected exception to be thrown.");
+	}
+
+	@Test
+	public void testOpen_empty() throws IOException
+	{
+		Path path = this.writeStore(true, 0, 0);
+
+		try (PuzzleStore puzzleStore = PuzzleStore.open(path))
+		{
+			Assert.assertEquals(0, puzzleStore.size());
+			Assert.assertFalse(puzzleStore.cursor().next());
+		}
+	}
+
+	@Test
+	public void testGetPuzzle_corruptValue() throws IOException
+	{
+		Path path = this.writeStore(false, 0, 3);
+		byte[] bytes = Files.readAllBytes(path);
+		int recordLength = PuzzleStore.PACKED_BOARD_LENGTH;
+		// Cell 0 of record 1 is 10, and cell 80 of record 2 is 15:
+		bytes[PuzzleStore.HEADER_LENGTH + recordLength] = (byte) 0xA0;
+		bytes[PuzzleStore.HEADER_LENGTH + 3 * recordLength - 1] = (byte) 0xF0;
+		Files.write(path, bytes);
+
+		try (PuzzleStore puzzleStore = PuzzleStore.open(path))
+		{
+			SudokuBoardState boardState = new PackedSudokuBoardState();
+			puzzleStore.getPuzzle(0L, boardState);
+			try
+			{
+				puzzleStore.getPuzzle(1L, boardState);
+				Assert.fail("Expected exception to be thrown.");
+			}
+			catch (IllegalStateException ex)
+			{
+				Assert.assertEquals(
+						"Invalid value 10 in record 1 at cell 0",
+						ex.getMessage());
+			}
+			// The board state is not changed by the corrupt record:
+			Assert.assertEquals(PUZZLE, SudokuBoardParser.format(boardState));
+
+			PuzzleStore.Cursor cursor = puzzleStore.cursor();
+			cursor.seek(2L);
+			Assert.assertTrue(cursor.next());
+			try
+			{
+				cursor.readPuzzle(new byte[81]);
+				Assert.fail("Expected exception to be thrown.");
+			}
+			catch (IllegalStateException ex)
+			{
+				Assert.assertEquals(
+						"Invalid value 15 in record 2 at cell 80",
+						ex.getMessage());
+			}
+		}
+	}
+
+	@Test
+	public void testAdd_invalidRecordNotAdded() throws IOException
+	{
+		Path path = temporaryFolder.newFile().toPath();
+		byte[] invalidSolution = getValues(SOLUTION);
+		invalidSolution[80] = 10;
+		try (PuzzleStoreWriter writer = new PuzzleStoreWriter(path, true, 0))
+		{
+			this.assertAddFails(writer, new byte[80], getValues(SOLUTION));
+			this.assertAddFails(writer, getValues(PUZZLE), invalidSolution);
+			byte[] invalidPuzzle = getValues(PUZZLE);
+			invalidPuzzle[3] = -1;
+			this.assertAddFails(writer, invalidPuzzle, getValues(SOLUTION));
+			writer.add(getValues(PUZZLE), getValues(SOLUTION), null);
+
+			Assert.assertEquals(1L, writer.size());
+		}
+
+		try (PuzzleStore puzzleStore = PuzzleStore.open(path))
+		{
+			byte[] values = new byte[81];
+			Assert.assertEquals(1L, puzzleStore.size());
+			puzzleStore.getPuzzle(0L, values);
+			Assert.assertArrayEquals(getValues(PUZZLE), values);
+			puzzleStore.getSolution(0L, values);
+			Assert.assertArrayEquals(getValues(SOLUTION), values);
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testAdd_boardStateNotNineByNine() throws IOException
+	{
+		Path path = temporaryFolder.newFile().toPath();
+		try (PuzzleStoreWriter writer = new PuzzleStoreWriter(path, false, 0))
+		{
+			writer.add(SudokuGeometry.of(2).createBoardState(), null, null);
+
+			Assert.fail("Expected the 4x4 board to be rejected.");
+		}
+	}
+
+	private void assertAddFails(
+			PuzzleStoreWriter writer,
+			byte[] puzzle,
+			byte[] solution)
+			throws IOException
+	{
+		try
+		{
+			writer.add(puzzle, solution, null);
+			Assert.fail("Expected the record to be rejected.");
+		}
+		catch (IllegalArgumentException ex)
+		{
+			// Expected.
+		}
+	}
+
+	private Path writeStore(
+			boolean hasSolutions,
+			int metadataLength,
+			int size)
+			throws IOException
+	{
+		Path path = temporaryFolder.newFile().toPath();
+		try (PuzzleStoreWriter writer
+				= new PuzzleStoreWriter(path, hasSolutions, metadataLength))
+		{
+			for (int i = 0; i < size; i++)
+			{
+				writer.add(
+						getValues(PUZZLE),
+						hasSolutions ? getValues(SOLUTION) : null,
+						metadataLength == 0 ? null : new byte[]
+						{
+							(byte) i
+						});
+			}
+		}
+		return path;
+	}
+
+	private static byte[] getValues(String board)
+	{
+		byte[] values = new byte[81];
+		SudokuBoardParser.parse(board, values);
+		return values;
+	}
+}
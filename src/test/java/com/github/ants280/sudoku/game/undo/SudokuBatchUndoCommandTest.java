@@ -0,0 +1,79 @@
+package com.github.ants280.sudoku.game.undo;
+
+import com.github.ants280.sudoku.game.SudokuBatchEvent;
+import com.github.ants280.sudoku.game.SudokuBoard;
+import com.github.ants280.sudoku.game.SudokuCell;
+import static com.github.ants280.sudoku.game.SectionType.*;
+import static com.github.ants280.sudoku.game.SudokuValue.*;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SudokuBatchUndoCommandTest
+{
+	@Test
+	public void testUndo()
+	{
+		SudokuBoard board = new SudokuBoard();
+		List<SudokuBatchEvent> batchEvents = new ArrayList<>();
+		board.addBatchCommittedConsumer(batchEvents::add);
+		SudokuCell sudokuCell1 = board.getSudokuCells(ROW, 0).get(0);
+		SudokuCell sudokuCell2 = board.getSudokuCells(ROW, 0).get(1);
+		board.beginBatch();
+		sudokuCell1.setValue(VALUE_1);
+		sudokuCell1.setValue(VALUE_2);
+		sudokuCell2.togglePossibleValue(VALUE_3);
+		board.commit();
+		SudokuBatchUndoCommand command
+				= new SudokuBatchUndoCommand(batchEvents.get(0));
+
+		command.undo();
+
+		Assert.assertNull(sudokuCell1.getValue());
+		Assert.assertFalse(sudokuCell2.hasPossibleValue(VALUE_3));
+		Assert.assertEquals(2, batchEvents.size());
+	}
+
+	@Test
+	public void testRedo()
+	{
+		SudokuBoard board = new SudokuBoard();
+		List<SudokuBatchEvent> batchEvents = new ArrayList<>();
+		board.addBatchCommittedConsumer(batchEvents::add);
+		SudokuCell sudokuCell1 = board.getSudokuCells(ROW, 0).get(0);
+		SudokuCell sudokuCell2 = board.getSudokuCells(ROW, 0).get(1);
+		board.beginBatch();
+		sudokuCell1.setValue(VALUE_1);
+		sudokuCell1.setValue(VALUE_2);
+		sudokuCell2.togglePossibleValue(VALUE_3);
+		board.commit();
+		SudokuBatchUndoCommand command
+				= new SudokuBatchUndoCommand(batchEvents.get(0));
+
+		command.undo();
+		command.redo();
+
+		Assert.assertEquals(VALUE_2, sudokuCell1.getValue());
+		Assert.assertTrue(sudokuCell2.hasPossibleValue(VALUE_3));
+	}
+
+	@Test
+	public void testGetSudokuCell()
+	{
+		SudokuBoard board = new SudokuBoard();
+		List<SudokuBatchEvent> batchEvents = new ArrayList<>();
+		board.addBatchCommittedConsumer(batchEvents::add);
+		SudokuCell sudokuCell1 = board.getSudokuCells(ROW, 0).get(0);
+		SudokuCell sudokuCell2 = board.getSudokuCells(ROW, 0).get(1);
+		board.beginBatch();
+		sudokuCell2.togglePossibleValue(VALUE_3);
+		sudokuCell1.setValue(VALUE_1);
+		board.commit();
+
+		SudokuBatchUndoCommand command
+				= new SudokuBatchUndoCommand(batchEvents.get(0));
+
+		Assert.assertSame(sudokuCell1, command.getSudokuCell());
+	}
+}